@@ -0,0 +1,68 @@
+package com.studyshare.platform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dedicated worker pools for background work, each with a bounded queue so a
+ * burst is rejected early instead of piling up in memory or on the servlet threads.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor uploadExecutor(@Value("${uploads.async.workers:4}") int workers,
+                                                 @Value("${uploads.async.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor thumbnailExecutor(@Value("${thumbnails.workers:2}") int workers,
+                                                    @Value("${thumbnails.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("thumbnail-");
+        return executor;
+    }
+
+    /**
+     * Text extraction is CPU-bound, so by default it gets one worker per core.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor textExtractionExecutor(@Value("${text-extraction.workers:0}") int workers,
+                                                         @Value("${text-extraction.queue-capacity:500}") int queueCapacity) {
+        int size = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("text-");
+        return executor;
+    }
+
+    /**
+     * Reconciliation queues one task per key partition up front, so the queue
+     * is sized for the largest layout (64 buckets of 256 prefixes plus the flat
+     * prefixes) rather than for bursts.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reconcileExecutor(@Value("${reconcile.parallelism:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(20_000);
+        executor.setThreadNamePrefix("reconcile-");
+        return executor;
+    }
+}
@@ -0,0 +1,158 @@
+package com.studyshare.platform.controller;
+
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.service.ContentService;
+import com.studyshare.platform.service.ResourceActivityService;
+import com.studyshare.platform.storage.ObjectContent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Streams resource content with HTTP validators and single byte ranges, so
+ * viewers such as pdf.js can fetch only the pages they render. Multi-range
+ * requests are answered with the whole file, which RFC 9110 allows.
+ * {@code ?download=true} serves the file as an attachment and counts a download.
+ */
+@Controller
+public class ContentController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofHours(1)).cachePrivate().getHeaderValue();
+
+    private final ContentService contentService;
+    private final ResourceActivityService activityService;
+
+    public ContentController(ContentService contentService, ResourceActivityService activityService) {
+        this.contentService = contentService;
+        this.activityService = activityService;
+    }
+
+    @GetMapping("/resources/{id}/content")
+    public void content(@PathVariable Long id,
+                        @RequestParam(defaultValue = "false") boolean download,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Resource resource = contentService.getResource(id);
+        String eTag = ContentService.eTag(resource);
+        long lastModified = ContentService.lastModified(resource);
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        long size = resource.getFileSize();
+        long start = 0;
+        long end = size - 1;
+        HttpRange range = requestedRange(request, eTag, lastModified);
+        if (range != null) {
+            start = range.getRangeStart(size);
+            end = range.getRangeEnd(size);
+            if (start >= size || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long length = end - start + 1;
+        response.setContentType(resource.getFileType());
+        response.setContentLengthLong(length);
+        ContentDisposition.Builder disposition = download ? ContentDisposition.attachment() : ContentDisposition.inline();
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition
+                .filename(resource.getFileName(), StandardCharsets.UTF_8)
+                .build().toString());
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (download && start == 0) {
+            activityService.recordDownload(id);
+        }
+
+        try (ObjectContent body = contentService.open(resource, start, length)) {
+            // Let Tomcat hand local files to the kernel with sendfile once the response is committed.
+            Optional<Path> file = body.localFile();
+            if (file.isPresent() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.get().toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, body.offset());
+                request.setAttribute(SENDFILE_END, body.offset() + body.length());
+                return;
+            }
+            body.transferTo(response.getOutputStream());
+        }
+    }
+
+    @GetMapping("/resources/{id}/thumbnail/{width}")
+    public void thumbnail(@PathVariable Long id, @PathVariable int width,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Resource resource = contentService.getResource(id);
+        String eTag = ContentService.eTag(resource);
+        String thumbnailTag = eTag.substring(0, eTag.length() - 1) + "-" + width + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(thumbnailTag, ContentService.lastModified(resource))) {
+            return;
+        }
+        try (ObjectContent body = contentService.openThumbnail(resource, width)) {
+            response.setContentType("image/jpeg");
+            response.setContentLengthLong(body.length());
+            if (!"HEAD".equals(request.getMethod())) {
+                body.transferTo(response.getOutputStream());
+            }
+        }
+    }
+
+    /**
+     * The single range to serve, or null for the whole file: no or malformed
+     * Range header, several ranges, or an If-Range validator that no longer matches.
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String eTag, long lastModified) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !ifRangeMatches(request, eTag, lastModified)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.studyshare.platform.controller;
 
 import com.studyshare.platform.model.User;
-import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.service.ResourceCounterService;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -10,17 +10,17 @@ import org.springframework.web.bind.annotation.GetMapping;
 @Controller
 public class HomeController {
 
-    private final ResourceRepository resourceRepository;
+    private final ResourceCounterService counterService;
 
-    public HomeController(ResourceRepository resourceRepository) {
-        this.resourceRepository = resourceRepository;
+    public HomeController(ResourceCounterService counterService) {
+        this.counterService = counterService;
     }
 
     @GetMapping("/")
     public String home(@AuthenticationPrincipal User user, Model model) {
         model.addAttribute("user", user);
-        model.addAttribute("totalResources", resourceRepository.count());
-        model.addAttribute("myResources", resourceRepository.countByUploader(user));
+        model.addAttribute("totalResources", counterService.totalResources());
+        model.addAttribute("myResources", counterService.resourcesBy(user));
         return "home";
     }
 }
@@ -2,6 +2,7 @@ package com.studyshare.platform.controller;
 
 import com.studyshare.platform.model.Resource;
 import com.studyshare.platform.service.PreviewService;
+import com.studyshare.platform.service.ResourceActivityService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,15 +14,18 @@ import org.springframework.web.bind.annotation.RequestMapping;
 public class PreviewController {
 
     private final PreviewService previewService;
+    private final ResourceActivityService activityService;
 
-    public PreviewController(PreviewService previewService) {
+    public PreviewController(PreviewService previewService, ResourceActivityService activityService) {
         this.previewService = previewService;
+        this.activityService = activityService;
     }
 
     @GetMapping("/{id}")
     public String previewResource(@PathVariable Long id, Model model) {
         Resource resource = previewService.getResourceById(id);
-        String fileUrl = previewService.generateFileUrl(resource.getS3Key());
+        String fileUrl = previewService.contentUrl(resource.getId());
+        activityService.recordView(id);
 
         model.addAttribute("resource", resource);
         model.addAttribute("fileUrl", fileUrl);
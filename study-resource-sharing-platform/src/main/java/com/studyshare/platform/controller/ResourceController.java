@@ -1,9 +1,21 @@
 package com.studyshare.platform.controller;
 
-import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.dto.CursorPage;
+import com.studyshare.platform.dto.Facets;
+import com.studyshare.platform.dto.ResourceCard;
+import com.studyshare.platform.dto.SearchResults;
 import com.studyshare.platform.model.User;
+import com.studyshare.platform.search.QueryParser;
+import com.studyshare.platform.search.Suggestion;
+import com.studyshare.platform.service.PreviewService;
 import com.studyshare.platform.service.ResourceService;
-import org.springframework.data.domain.Page;
+import com.studyshare.platform.service.StreamingUploadService;
+import com.studyshare.platform.service.SuggestService;
+import com.studyshare.platform.service.UploadJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -11,17 +23,34 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.List;
+import java.util.Map;
+
 @Controller
 public class ResourceController {
 
     private final ResourceService resourceService;
+    private final PreviewService previewService;
+    private final StreamingUploadService streamingUploadService;
+    private final UploadJobService uploadJobService;
+    private final SuggestService suggestService;
+
+    @Value("${uploads.direct-enabled:false}")
+    private boolean directUploads;
 
-    public ResourceController(ResourceService resourceService) {
+    public ResourceController(ResourceService resourceService, PreviewService previewService,
+                              StreamingUploadService streamingUploadService, UploadJobService uploadJobService,
+                              SuggestService suggestService) {
         this.resourceService = resourceService;
+        this.previewService = previewService;
+        this.streamingUploadService = streamingUploadService;
+        this.uploadJobService = uploadJobService;
+        this.suggestService = suggestService;
     }
 
     @GetMapping("/upload")
-    public String uploadPage() {
+    public String uploadPage(Model model) {
+        model.addAttribute("directUploads", directUploads);
         return "upload";
     }
 
@@ -33,46 +62,108 @@ public class ResourceController {
                                  @AuthenticationPrincipal User user,
                                  RedirectAttributes redirectAttributes) {
         try {
-            resourceService.uploadResource(file, title, description, tags, user);
-            redirectAttributes.addFlashAttribute("success", "Resource uploaded successfully!");
+            uploadJobService.submit(file, title, description, tags, user);
+            redirectAttributes.addFlashAttribute("success", "Upload accepted! It will appear in your files once processed.");
         } catch (IllegalArgumentException e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
             return "redirect:/upload";
+        } catch (TaskRejectedException e) {
+            redirectAttributes.addFlashAttribute("error", "The server is busy with other uploads. Please try again in a minute.");
+            return "redirect:/upload";
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Upload failed. Please try again.");
             return "redirect:/upload";
         }
-        return "redirect:/resources";
+        return "redirect:/my-resources";
+    }
+
+    @PostMapping("/resources/upload/stream")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> streamUpload(HttpServletRequest request,
+                                                            @AuthenticationPrincipal User user) {
+        try {
+            Long id = streamingUploadService.upload(request, user).getId();
+            return ResponseEntity.ok(Map.of("id", id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Upload failed. Please try again."));
+        }
     }
 
     @GetMapping("/resources")
-    public String listResources(@RequestParam(defaultValue = "0") int page,
+    public String listResources(@RequestParam(defaultValue = "") String cursor,
                                 @RequestParam(defaultValue = "") String search,
                                 @RequestParam(defaultValue = "") String tag,
+                                @RequestParam(defaultValue = "") String sort,
                                 Model model) {
-        Page<Resource> resourcePage;
+        CursorPage<ResourceCard> resourcePage;
         int pageSize = 12;
+        // Facets count the same result set: the search's own matches, the tag, or everything.
+        String tagQuery = "tag:\"" + tag.replace("\"", "") + "\"";
+        Facets facets = null;
 
         if (!search.isBlank()) {
-            resourcePage = resourceService.searchResources(search, page, pageSize);
+            try {
+                SearchResults results = resourceService.searchResources(withinTag(search, tag, tagQuery), cursor, pageSize);
+                resourcePage = results.page();
+                facets = results.facets();
+            } catch (IllegalArgumentException e) {
+                model.addAttribute("error", e.getMessage());
+                resourcePage = new CursorPage<>(List.of(), null, 0);
+            }
             model.addAttribute("search", search);
+            model.addAttribute("tag", tag);
+            if (cursor.isBlank() && resourcePage.totalItems() == 0) {
+                model.addAttribute("didYouMean", resourceService.didYouMean(search));
+            }
         } else if (!tag.isBlank()) {
-            resourcePage = resourceService.getResourcesByTag(tag, page, pageSize);
+            resourcePage = resourceService.getResourcesByTag(tag, cursor, pageSize);
             model.addAttribute("tag", tag);
+            facets = resourceService.getFacets(tagQuery);
+        } else if (sort.equals("trending")) {
+            resourcePage = resourceService.getTrendingResources(cursor, pageSize);
+            model.addAttribute("sort", sort);
+            facets = resourceService.getFacets("");
         } else {
-            resourcePage = resourceService.getAllResources(page, pageSize);
+            resourcePage = resourceService.getAllResources(cursor, pageSize);
+            facets = resourceService.getFacets("");
         }
 
-        model.addAttribute("resources", resourcePage.getContent());
-        model.addAttribute("currentPage", page);
-        model.addAttribute("totalPages", resourcePage.getTotalPages());
-        model.addAttribute("totalItems", resourcePage.getTotalElements());
+        model.addAttribute("resources", resourcePage.items());
+        model.addAttribute("fileUrls", previewService.generateFileUrls(resourcePage.items()));
+        model.addAttribute("nextCursor", resourcePage.nextCursor());
+        model.addAttribute("firstPage", cursor.isBlank());
+        model.addAttribute("totalItems", resourcePage.totalItems());
+        if (facets != null) {
+            model.addAttribute("facets", facets);
+        }
         return "resources";
     }
 
+    /**
+     * Within a tag, the search runs as a structured query with a tag: filter.
+     * The search is grouped so the filter applies to all of it, since OR binds
+     * looser than the implied AND; it must parse on its own first so that a
+     * stray parenthesis cannot close the group early.
+     */
+    private static String withinTag(String search, String tag, String tagQuery) {
+        if (tag.isBlank()) return search;
+        QueryParser.parse(search);
+        return "(" + search + ") " + tagQuery;
+    }
+
+    @GetMapping("/resources/suggest")
+    @ResponseBody
+    public List<Suggestion> suggest(@RequestParam(defaultValue = "") String q,
+                                    @RequestParam(defaultValue = "8") int limit) {
+        return suggestService.suggest(q, limit);
+    }
+
     @GetMapping("/my-resources")
     public String myResources(@AuthenticationPrincipal User user, Model model) {
         model.addAttribute("resources", resourceService.getResourcesByUser(user));
+        model.addAttribute("uploadJobs", uploadJobService.getJobsByUser(user));
         return "my-resources";
     }
 
@@ -0,0 +1,152 @@
+package com.studyshare.platform.controller;
+
+import com.studyshare.platform.exception.ResourceNotFoundException;
+import com.studyshare.platform.model.UploadSession;
+import com.studyshare.platform.model.User;
+import com.studyshare.platform.service.DirectUploadService;
+import com.studyshare.platform.service.DirectUploadService.DirectUploadTicket;
+import com.studyshare.platform.service.ResumableUploadService;
+import com.studyshare.platform.service.UploadJob;
+import com.studyshare.platform.service.UploadJobService;
+import com.studyshare.platform.service.ResumableUploadService.OffsetMismatchException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * JSON API for resumable uploads:
+ * <pre>
+ * POST   /uploads                         create a session, returns id and chunkSize
+ * GET    /uploads/{id}                    current offset (also sent as Upload-Offset)
+ * PUT    /uploads/{id}?offset=N           raw chunk bytes starting at N
+ * POST   /uploads/{id}/complete           finish and create the resource
+ * DELETE /uploads/{id}                    abandon the upload
+ *
+ * POST   /uploads/direct                  presigned PUT for a browser-to-S3 upload
+ * POST   /uploads/direct/{id}/complete    verify the S3 object and create the resource
+ *
+ * GET    /uploads/jobs/{id}               progress of a background form upload
+ * </pre>
+ */
+@RestController
+@RequestMapping("/uploads")
+public class UploadSessionController {
+
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+
+    private final ResumableUploadService uploadService;
+    private final DirectUploadService directUploadService;
+    private final UploadJobService uploadJobService;
+
+    public UploadSessionController(ResumableUploadService uploadService, DirectUploadService directUploadService,
+                                   UploadJobService uploadJobService) {
+        this.uploadService = uploadService;
+        this.directUploadService = directUploadService;
+        this.uploadJobService = uploadJobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> create(@RequestParam("title") String title,
+                                                      @RequestParam(value = "description", required = false) String description,
+                                                      @RequestParam("tags") String tags,
+                                                      @RequestParam("fileName") String fileName,
+                                                      @RequestParam("contentType") String contentType,
+                                                      @RequestParam("size") long size,
+                                                      @AuthenticationPrincipal User user) {
+        UploadSession session = uploadService.create(title, description, tags, fileName, contentType, size, user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(status(session));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> status(@PathVariable String id, @AuthenticationPrincipal User user) {
+        UploadSession session = uploadService.get(id, user);
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, Long.toString(session.getReceivedBytes()))
+                .body(status(session));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> appendChunk(@PathVariable String id,
+                                                           @RequestParam("offset") long offset,
+                                                           HttpServletRequest request,
+                                                           @AuthenticationPrincipal User user) throws IOException {
+        long length = request.getContentLengthLong();
+        if (length <= 0) {
+            return ResponseEntity.status(HttpStatus.LENGTH_REQUIRED)
+                    .body(Map.of("error", "Chunk requests need a Content-Length"));
+        }
+        UploadSession session = uploadService.appendChunk(id, offset, request.getInputStream(), length, user);
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, Long.toString(session.getReceivedBytes()))
+                .body(status(session));
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<Map<String, Object>> complete(@PathVariable String id, @AuthenticationPrincipal User user)
+            throws IOException {
+        return ResponseEntity.ok(Map.of("id", uploadService.complete(id, user).getId()));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable String id, @AuthenticationPrincipal User user) {
+        uploadService.cancel(id, user);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/direct")
+    public ResponseEntity<DirectUploadTicket> createDirect(@RequestParam("title") String title,
+                                                           @RequestParam(value = "description", required = false) String description,
+                                                           @RequestParam("tags") String tags,
+                                                           @RequestParam("fileName") String fileName,
+                                                           @RequestParam("contentType") String contentType,
+                                                           @RequestParam("size") long size,
+                                                           @AuthenticationPrincipal User user) {
+        DirectUploadTicket ticket = directUploadService.create(title, description, tags, fileName, contentType, size, user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ticket);
+    }
+
+    @PostMapping("/direct/{id}/complete")
+    public ResponseEntity<Map<String, Object>> completeDirect(@PathVariable String id, @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(Map.of("id", directUploadService.complete(id, user).getId()));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<UploadJob> jobStatus(@PathVariable String id, @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(uploadJobService.getJob(id, user));
+    }
+
+    @ExceptionHandler(OffsetMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleOffsetMismatch(OffsetMismatchException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(UPLOAD_OFFSET, Long.toString(e.getExpectedOffset()))
+                .body(Map.of("error", e.getMessage(), "offset", e.getExpectedOffset()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleNotFound(ResourceNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(SecurityException.class)
+    public ResponseEntity<Map<String, Object>> handleForbidden(SecurityException e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
+    }
+
+    private static Map<String, Object> status(UploadSession session) {
+        return Map.of(
+                "id", session.getId(),
+                "offset", session.getReceivedBytes(),
+                "size", session.getFileSize(),
+                "chunkSize", session.getChunkSize());
+    }
+}
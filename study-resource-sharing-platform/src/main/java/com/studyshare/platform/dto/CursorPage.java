@@ -0,0 +1,26 @@
+package com.studyshare.platform.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(List<T> items, String nextCursor, long totalItems) {
+
+    /**
+     * Builds a page from {@code size + 1} fetched rows; the extra row only signals that a next page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, PageCursor> cursorOf, long totalItems) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, totalItems);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)).encode(), totalItems);
+    }
+
+    public <R> CursorPage<R> map(Function<List<T>, List<R>> loader) {
+        return new CursorPage<>(loader.apply(items), nextCursor, totalItems);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.studyshare.platform.dto;
+
+import java.util.List;
+
+/**
+ * Live counts for the browse page: resources per file type, top tags and top
+ * uploaders within the current result set.
+ */
+public record Facets(List<Facet> types, List<Facet> tags, List<Facet> uploaders) {
+
+    /**
+     * A facet value as shown, the search clause that narrows to it, and its count.
+     */
+    public record Facet(String label, String filter, int count) {
+    }
+
+    public boolean isEmpty() {
+        return types.isEmpty() && tags.isEmpty() && uploaders.isEmpty();
+    }
+}
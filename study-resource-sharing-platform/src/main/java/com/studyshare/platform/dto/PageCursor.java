@@ -0,0 +1,38 @@
+package com.studyshare.platform.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Opaque seek position: the sort key and id of the last item on the previous page.
+ */
+public record PageCursor(long key, long id) {
+
+    public static PageCursor of(LocalDateTime uploadDate, long id) {
+        long micros = uploadDate.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + uploadDate.getNano() / 1_000;
+        return new PageCursor(micros, id);
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int sep = value.indexOf(':');
+            return new PageCursor(Long.parseLong(value.substring(0, sep)), Long.parseLong(value.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public LocalDateTime keyAsDateTime() {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(key, 1_000_000L),
+                (int) Math.floorMod(key, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
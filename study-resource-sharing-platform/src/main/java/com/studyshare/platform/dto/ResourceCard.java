@@ -0,0 +1,66 @@
+package com.studyshare.platform.dto;
+
+import com.studyshare.platform.model.Resource;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read model for listing pages: the card columns plus the uploader's name, loaded in one query.
+ */
+@Getter
+public class ResourceCard {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String tags;
+    private final String fileType;
+    private final Long fileSize;
+    private final String s3Key;
+    private final LocalDateTime uploadDate;
+    private final int downloadCount;
+    private final String uploaderName;
+    private final List<String> tagList;
+    private final String thumbnailWidths;
+
+    public ResourceCard(Long id, String title, String description, String tags, String fileType,
+                        Long fileSize, String s3Key, LocalDateTime uploadDate, int downloadCount, String uploaderName,
+                        String thumbnailWidths) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.tags = tags;
+        this.fileType = fileType;
+        this.fileSize = fileSize;
+        this.s3Key = s3Key;
+        this.uploadDate = uploadDate;
+        this.downloadCount = downloadCount;
+        this.uploaderName = uploaderName;
+        this.tagList = Resource.splitTags(tags);
+        this.thumbnailWidths = thumbnailWidths;
+    }
+
+    /**
+     * The smallest stored thumbnail, or null while none has been generated.
+     */
+    public String getThumbnailUrl() {
+        if (thumbnailWidths == null || thumbnailWidths.isEmpty()) return null;
+        int comma = thumbnailWidths.indexOf(',');
+        String width = comma < 0 ? thumbnailWidths : thumbnailWidths.substring(0, comma);
+        return "/resources/" + id + "/thumbnail/" + width;
+    }
+
+    public String getFormattedFileSize() {
+        return Resource.formatFileSize(fileSize);
+    }
+
+    public boolean isPdf() {
+        return Resource.isPdf(fileType);
+    }
+
+    public boolean isImage() {
+        return Resource.isImage(fileType);
+    }
+}
@@ -0,0 +1,8 @@
+package com.studyshare.platform.dto;
+
+/**
+ * A page of search results with the facet counts over everything the search
+ * matched, taken from the same candidate set.
+ */
+public record SearchResults(CursorPage<ResourceCard> page, Facets facets) {
+}
@@ -0,0 +1,114 @@
+package com.studyshare.platform.media;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Accumulates extracted pages as deflated UTF-8, separated by form feeds, so
+ * only the compressed form is held while a document is read. Pages past
+ * {@code maxChars} are dropped and the text is marked truncated.
+ */
+public final class CompressedText {
+
+    public static final char PAGE_BREAK = '\f';
+
+    private final int maxChars;
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final Writer writer = new OutputStreamWriter(new DeflaterOutputStream(bytes, deflater, 8192), StandardCharsets.UTF_8);
+    private int pages;
+    private int chars;
+    private boolean truncated;
+
+    public CompressedText(int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * Appends one page; returns false once the limit is reached and the caller should stop.
+     */
+    public boolean addPage(CharSequence page) {
+        if (truncated) return false;
+        int room = maxChars - chars;
+        int length = Math.min(page.length(), room);
+        try {
+            if (pages > 0) writer.write(PAGE_BREAK);
+            for (int i = 0; i < length; i++) {
+                char c = page.charAt(i);
+                writer.write(c == PAGE_BREAK ? '\n' : c);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        pages++;
+        chars += length;
+        truncated = length < page.length() || chars >= maxChars;
+        return !truncated;
+    }
+
+    public int remaining() {
+        return maxChars - chars;
+    }
+
+    public int pageCount() {
+        return pages;
+    }
+
+    public int charCount() {
+        return chars;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Finishes the stream and returns the compressed bytes.
+     */
+    public byte[] toByteArray() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    public static String inflate(byte[] compressed) {
+        try (Reader reader = new InputStreamReader(
+                new InflaterInputStream(new ByteArrayInputStream(compressed)), StandardCharsets.UTF_8)) {
+            StringWriter text = new StringWriter(compressed.length * 3);
+            reader.transferTo(text);
+            return text.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static List<String> pages(String text) {
+        List<String> pages = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i) == PAGE_BREAK) {
+                pages.add(text.substring(start, i));
+                start = i + 1;
+            }
+        }
+        return pages;
+    }
+}
@@ -0,0 +1,185 @@
+package com.studyshare.platform.media;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streams the text out of PDF, DOCX, PPTX and plain text files one page (or
+ * slide) at a time. Nothing holds a whole document: PDF objects are cached in a
+ * temp file, Office XML is read with StAX straight from the zip entry, and the
+ * sink can stop the read once it has enough.
+ */
+public final class TextExtractor {
+
+    public static final String PDF = "application/pdf";
+    public static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    public static final String PPTX = "application/vnd.openxmlformats-officedocument.presentationml.presentation";
+    public static final String TEXT = "text/plain";
+    private static final Set<String> SUPPORTED = Set.of(PDF, DOCX, PPTX, TEXT);
+
+    private static final String WORD_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String DRAWING_NS = "http://schemas.openxmlformats.org/drawingml/2006/main";
+    private static final Pattern SLIDE = Pattern.compile("ppt/slides/slide(\\d+)\\.xml");
+    private static final int TEXT_PAGE_CHARS = 4000;
+
+    private static final XMLInputFactory XML = newXmlFactory();
+
+    private TextExtractor() {
+    }
+
+    public static boolean supports(String fileType) {
+        return SUPPORTED.contains(fileType);
+    }
+
+    public static void extract(Path file, String fileType, CompressedText sink) throws IOException {
+        switch (fileType) {
+            case PDF -> extractPdf(file, sink);
+            case DOCX -> extractDocx(file, sink);
+            case PPTX -> extractPptx(file, sink);
+            case TEXT -> extractText(file, sink);
+            default -> throw new IllegalArgumentException("No text extractor for " + fileType);
+        }
+    }
+
+    private static void extractPdf(Path file, CompressedText sink) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+            for (int page = 1; page <= document.getNumberOfPages(); page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                if (!sink.addPage(stripper.getText(document))) return;
+            }
+        }
+    }
+
+    /**
+     * Word files carry no real pagination; the page breaks Word last rendered
+     * and explicit ones are used instead.
+     */
+    private static void extractDocx(Path file, CompressedText sink) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry body = zip.getEntry("word/document.xml");
+            if (body == null) throw new IOException("Not a Word document");
+            try (InputStream in = zip.getInputStream(body)) {
+                readXml(in, WORD_NS, true, sink);
+            }
+        }
+    }
+
+    private static void extractPptx(Path file, CompressedText sink) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            SortedMap<Integer, ZipEntry> slides = new TreeMap<>();
+            zip.stream().forEach(entry -> {
+                Matcher matcher = SLIDE.matcher(entry.getName());
+                if (matcher.matches()) {
+                    slides.put(Integer.parseInt(matcher.group(1)), entry);
+                }
+            });
+            for (ZipEntry slide : slides.values()) {
+                try (InputStream in = zip.getInputStream(slide)) {
+                    if (!readXml(in, DRAWING_NS, false, sink)) return;
+                }
+            }
+        }
+    }
+
+    private static void extractText(Path file, CompressedText sink) throws IOException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), decoder))) {
+            StringBuilder page = new StringBuilder(TEXT_PAGE_CHARS + 256);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                page.append(line).append('\n');
+                if (page.length() >= TEXT_PAGE_CHARS) {
+                    if (!sink.addPage(page)) return;
+                    page.setLength(0);
+                }
+            }
+            if (!page.isEmpty()) sink.addPage(page);
+        }
+    }
+
+    /**
+     * Collects {@code <t>} runs in {@code namespace}, ending a line at each
+     * paragraph. With {@code pageBreaks}, Word page breaks start a new page;
+     * otherwise the whole part is one page. Returns false if the sink is full.
+     */
+    private static boolean readXml(InputStream in, String namespace, boolean pageBreaks, CompressedText sink)
+            throws IOException {
+        StringBuilder page = new StringBuilder();
+        try {
+            XMLStreamReader xml = XML.createXMLStreamReader(in);
+            try {
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT && namespace.equals(xml.getNamespaceURI())) {
+                        switch (xml.getLocalName()) {
+                            case "t" -> page.append(xml.getElementText());
+                            case "tab" -> page.append('\t');
+                            case "br" -> {
+                                if (pageBreaks && "page".equals(xml.getAttributeValue(WORD_NS, "type"))) {
+                                    if (!sink.addPage(page)) return false;
+                                    page.setLength(0);
+                                } else {
+                                    page.append('\n');
+                                }
+                            }
+                            case "lastRenderedPageBreak" -> {
+                                if (pageBreaks && !page.isEmpty()) {
+                                    if (!sink.addPage(page)) return false;
+                                    page.setLength(0);
+                                }
+                            }
+                            default -> {
+                            }
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT && "p".equals(xml.getLocalName())
+                            && namespace.equals(xml.getNamespaceURI())) {
+                        page.append('\n');
+                    }
+                    // A single page can't outgrow what the sink would keep anyway.
+                    if (page.length() > sink.remaining() && !sink.addPage(page)) return false;
+                }
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed document XML: " + e.getMessage(), e);
+        }
+        return sink.addPage(page);
+    }
+
+    private static XMLInputFactory newXmlFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
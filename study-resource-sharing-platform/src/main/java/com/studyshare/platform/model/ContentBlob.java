@@ -0,0 +1,47 @@
+package com.studyshare.platform.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored object identified by the SHA-256 of its content. Resources with the
+ * same content share one object; {@code refCount} counts them so the object is
+ * removed only when the last one is deleted.
+ */
+@Entity
+@Table(name = "content_blobs", indexes = {
+    @Index(name = "idx_content_blob_s3_key", columnList = "s3_key")
+})
+@Getter @Setter @NoArgsConstructor
+public class ContentBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String sha256;
+
+    @Column(name = "s3_key", nullable = false, length = 512)
+    private String s3Key;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public ContentBlob(String sha256, String s3Key, long fileSize) {
+        this.sha256 = sha256;
+        this.s3Key = s3Key;
+        this.fileSize = fileSize;
+        this.refCount = 1;
+    }
+}
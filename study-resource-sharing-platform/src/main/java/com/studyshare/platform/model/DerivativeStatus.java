@@ -0,0 +1,11 @@
+package com.studyshare.platform.model;
+
+/**
+ * Progress of content derived from a resource's file in the background.
+ */
+public enum DerivativeStatus {
+    PENDING,
+    READY,
+    FAILED,
+    UNSUPPORTED
+}
@@ -0,0 +1,55 @@
+package com.studyshare.platform.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * An upload the browser sends straight to S3 with a presigned PUT. The row
+ * records what was authorized so finalize can check the object against it.
+ */
+@Entity
+@Table(name = "direct_uploads", indexes = {
+    @Index(name = "idx_direct_upload_created", columnList = "created_at")
+})
+@Getter @Setter @NoArgsConstructor
+public class DirectUpload {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "uploader_id", nullable = false)
+    private Long uploaderId;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(nullable = false)
+    private String tags;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "file_type", nullable = false, length = 100)
+    private String fileType;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(name = "s3_key", nullable = false, length = 512)
+    private String s3Key;
+
+    // Set by the single finalize call that claimed the upload.
+    @Column(nullable = false)
+    private boolean completing;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,42 @@
+package com.studyshare.platform.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * An S3 object waiting to be removed by the deletion drainer.
+ */
+@Entity
+@Table(name = "pending_deletes", indexes = {
+    @Index(name = "idx_pending_delete_next_attempt", columnList = "next_attempt_at, id")
+})
+@Getter @Setter @NoArgsConstructor
+public class PendingDelete {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "s3_key", nullable = false, length = 512)
+    private String s3Key;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public PendingDelete(String s3Key) {
+        this.s3Key = s3Key;
+    }
+}
@@ -1,17 +1,22 @@
 package com.studyshare.platform.model;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Entity
 @Table(name = "resources", indexes = {
     @Index(name = "idx_resource_title", columnList = "title"),
-    @Index(name = "idx_resource_tags", columnList = "tags"),
-    @Index(name = "idx_resource_upload_date", columnList = "uploadDate")
+    @Index(name = "idx_resource_upload_date_id", columnList = "upload_date, id"),
+    @Index(name = "idx_resource_s3_key", columnList = "s3_key")
 })
 @Getter @Setter @NoArgsConstructor
 public class Resource {
@@ -29,6 +34,19 @@ public class Resource {
     @Column(nullable = false)
     private String tags;
 
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+        name = "resource_tags",
+        joinColumns = @JoinColumn(name = "resource_id"),
+        inverseJoinColumns = @JoinColumn(name = "tag_id"),
+        indexes = @Index(name = "idx_resource_tags_tag", columnList = "tag_id")
+    )
+    private Set<Tag> tagSet = new HashSet<>();
+
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private List<String> tagList;
+
     @Column(name = "file_name", nullable = false)
     private String fileName;
 
@@ -44,28 +62,73 @@ public class Resource {
     @Column(name = "s3_url", nullable = false, length = 512)
     private String s3Url;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "upload_date", nullable = false)
     private LocalDateTime uploadDate = LocalDateTime.now();
 
     @Column(name = "download_count", nullable = false)
     private int downloadCount = 0;
 
+    @Column(name = "view_count", nullable = false)
+    private int viewCount = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "thumbnail_status", length = 16)
+    private DerivativeStatus thumbnailStatus;
+
+    @Column(name = "thumbnail_widths", length = 32)
+    private String thumbnailWidths;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "text_status", length = 16)
+    private DerivativeStatus textStatus;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "uploader_id", nullable = false)
     private User uploader;
 
+    public void setTags(String tags) {
+        this.tags = tags;
+        this.tagList = null;
+    }
+
+    public List<String> getTagList() {
+        if (tagList == null) {
+            tagList = splitTags(tags);
+        }
+        return tagList;
+    }
+
     public String getFormattedFileSize() {
+        return formatFileSize(fileSize);
+    }
+
+    public boolean isPdf() {
+        return isPdf(fileType);
+    }
+
+    public boolean isImage() {
+        return isImage(fileType);
+    }
+
+    public static List<String> splitTags(String tags) {
+        return tags == null || tags.isBlank() ? List.of() : Arrays.asList(tags.split(","));
+    }
+
+    public static String formatFileSize(Long fileSize) {
         if (fileSize == null) return "Unknown";
         if (fileSize < 1024) return fileSize + " B";
         if (fileSize < 1024 * 1024) return String.format("%.1f KB", fileSize / 1024.0);
         return String.format("%.1f MB", fileSize / (1024.0 * 1024));
     }
 
-    public boolean isPdf() {
+    public static boolean isPdf(String fileType) {
         return fileType != null && fileType.equals("application/pdf");
     }
 
-    public boolean isImage() {
+    public static boolean isImage(String fileType) {
         return fileType != null && fileType.startsWith("image/");
     }
 }
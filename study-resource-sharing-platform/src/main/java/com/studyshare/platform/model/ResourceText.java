@@ -0,0 +1,57 @@
+package com.studyshare.platform.model;
+
+import com.studyshare.platform.media.CompressedText;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Text extracted from a resource's file, deflated and kept out of the
+ * {@code resources} row so listing queries never load it. Pages are separated
+ * by form feeds.
+ */
+@Entity
+@Table(name = "resource_texts")
+@Getter @Setter @NoArgsConstructor
+public class ResourceText {
+
+    @Id
+    @Column(name = "resource_id")
+    private Long resourceId;
+
+    @Column(name = "page_count", nullable = false)
+    private int pageCount;
+
+    @Column(name = "char_count", nullable = false)
+    private int charCount;
+
+    @Column(nullable = false)
+    private boolean truncated;
+
+    @Lob
+    @Column(nullable = false, length = 16_777_215)
+    private byte[] content;
+
+    @Column(name = "extracted_at", nullable = false)
+    private LocalDateTime extractedAt = LocalDateTime.now();
+
+    public ResourceText(Long resourceId, CompressedText text) {
+        this.resourceId = resourceId;
+        this.pageCount = text.pageCount();
+        this.charCount = text.charCount();
+        this.truncated = text.isTruncated();
+        this.content = text.toByteArray();
+    }
+
+    public String text() {
+        return CompressedText.inflate(content);
+    }
+
+    public List<String> pages() {
+        return CompressedText.pages(text());
+    }
+}
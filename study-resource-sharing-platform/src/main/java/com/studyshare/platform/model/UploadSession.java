@@ -0,0 +1,97 @@
+package com.studyshare.platform.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A resumable upload in progress. Each accepted chunk is one S3 multipart part;
+ * the part ETags are kept here so the upload can be completed from any node.
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = {
+    @Index(name = "idx_upload_session_updated", columnList = "updated_at")
+})
+@Getter @Setter @NoArgsConstructor
+public class UploadSession {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Version
+    private Long version;
+
+    @Column(name = "uploader_id", nullable = false)
+    private Long uploaderId;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(nullable = false)
+    private String tags;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "file_type", nullable = false, length = 100)
+    private String fileType;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private long chunkSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private long receivedBytes;
+
+    @Column(name = "s3_key", nullable = false, length = 512)
+    private String s3Key;
+
+    @Column(name = "s3_upload_id", nullable = false, length = 1024)
+    private String s3UploadId;
+
+    // Set by the single complete call that claimed the session.
+    @Column(nullable = false)
+    private boolean completing;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "upload_session_parts", joinColumns = @JoinColumn(name = "session_id"))
+    @OrderBy("partNumber")
+    private List<UploadPart> parts = new ArrayList<>();
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public boolean isComplete() {
+        return receivedBytes == fileSize;
+    }
+
+    @Embeddable
+    @Getter @Setter @NoArgsConstructor
+    public static class UploadPart {
+
+        @Column(name = "part_number", nullable = false)
+        private int partNumber;
+
+        @Column(name = "etag", nullable = false, length = 128)
+        private String eTag;
+
+        public UploadPart(int partNumber, String eTag) {
+            this.partNumber = partNumber;
+            this.eTag = eTag;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.studyshare.platform.repository;
+
+import com.studyshare.platform.model.ContentBlob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ContentBlobRepository extends JpaRepository<ContentBlob, Long> {
+
+    Optional<ContentBlob> findBySha256(String sha256);
+
+    @Query("SELECT DISTINCT b.s3Key FROM ContentBlob b WHERE b.s3Key LIKE :prefix AND b.s3Key > :after ORDER BY b.s3Key")
+    List<String> findS3KeysAfter(@Param("prefix") String prefix, @Param("after") String after, Pageable pageable);
+
+    boolean existsByS3KeyStartingWith(String prefix);
+
+    @Query("SELECT b.s3Key FROM ContentBlob b WHERE b.s3Key IN :keys")
+    List<String> findS3KeysIn(@Param("keys") Collection<String> keys);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ContentBlob b SET b.refCount = b.refCount + 1 WHERE b.sha256 = :sha256")
+    int incrementRefs(@Param("sha256") String sha256);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ContentBlob b SET b.refCount = b.refCount - 1 WHERE b.sha256 = :sha256 AND b.refCount > 0")
+    int decrementRefs(@Param("sha256") String sha256);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ContentBlob b WHERE b.sha256 = :sha256 AND b.refCount = 0")
+    int deleteIfUnreferenced(@Param("sha256") String sha256);
+}
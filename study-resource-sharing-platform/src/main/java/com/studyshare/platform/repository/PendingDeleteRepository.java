@@ -0,0 +1,13 @@
+package com.studyshare.platform.repository;
+
+import com.studyshare.platform.model.PendingDelete;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PendingDeleteRepository extends JpaRepository<PendingDelete, Long> {
+
+    List<PendingDelete> findByNextAttemptAtLessThanEqualOrderByIdAsc(LocalDateTime now, Pageable pageable);
+}
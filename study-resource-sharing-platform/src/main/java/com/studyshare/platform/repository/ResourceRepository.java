@@ -1,29 +1,95 @@
 package com.studyshare.platform.repository;
 
+import com.studyshare.platform.dto.ResourceCard;
+import com.studyshare.platform.model.DerivativeStatus;
 import com.studyshare.platform.model.Resource;
-import com.studyshare.platform.model.User;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface ResourceRepository extends JpaRepository<Resource, Long> {
 
-    Page<Resource> findAllByOrderByUploadDateDesc(Pageable pageable);
+    String SELECT_CARD = "SELECT new com.studyshare.platform.dto.ResourceCard(" +
+            "r.id, r.title, r.description, r.tags, r.fileType, r.fileSize, r.s3Key, r.uploadDate, r.downloadCount, " +
+            "COALESCE(u.displayName, u.username), r.thumbnailWidths) FROM Resource r JOIN r.uploader u ";
 
-    List<Resource> findByUploaderOrderByUploadDateDesc(User uploader);
+    @Query(SELECT_CARD + "ORDER BY r.uploadDate DESC, r.id DESC")
+    List<ResourceCard> findNewestCards(Pageable pageable);
 
-    @Query("SELECT r FROM Resource r WHERE " +
-           "LOWER(r.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(r.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(r.tags) LIKE LOWER(CONCAT('%', :query, '%'))")
-    Page<Resource> search(@Param("query") String query, Pageable pageable);
+    @Query(SELECT_CARD + "WHERE r.uploadDate <= :uploadDate AND " +
+           "(r.uploadDate < :uploadDate OR r.id < :id) ORDER BY r.uploadDate DESC, r.id DESC")
+    List<ResourceCard> findNewestCardsBefore(@Param("uploadDate") LocalDateTime uploadDate, @Param("id") long id, Pageable pageable);
 
-    @Query("SELECT r FROM Resource r WHERE LOWER(r.tags) LIKE LOWER(CONCAT('%', :tag, '%'))")
-    Page<Resource> findByTag(@Param("tag") String tag, Pageable pageable);
+    @Query(SELECT_CARD + "WHERE u.id = :uploaderId ORDER BY r.uploadDate DESC, r.id DESC")
+    List<ResourceCard> findCardsByUploader(@Param("uploaderId") Long uploaderId);
 
-    long countByUploader(User uploader);
+    @Query(SELECT_CARD + "WHERE r.id IN :ids")
+    List<ResourceCard> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "uploader")
+    Optional<Resource> findWithUploaderById(Long id);
+
+    List<Resource> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT r FROM Resource r WHERE r.tagSet IS EMPTY AND r.id > :afterId ORDER BY r.id")
+    List<Resource> findUntaggedAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT r.s3Key FROM Resource r WHERE r.s3Key LIKE :prefix AND r.s3Key > :after ORDER BY r.s3Key")
+    List<String> findS3KeysAfter(@Param("prefix") String prefix, @Param("after") String after, Pageable pageable);
+
+    boolean existsByS3KeyStartingWith(String prefix);
+
+    @Query("SELECT r.s3Key FROM Resource r WHERE r.s3Key IN :keys")
+    List<String> findS3KeysIn(@Param("keys") Collection<String> keys);
+
+    @Query("SELECT r.id FROM Resource r WHERE (r.thumbnailStatus IS NULL OR r.thumbnailStatus = :status) " +
+           "AND r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsByThumbnailStatusAfter(@Param("status") DerivativeStatus status, @Param("afterId") long afterId,
+                                             Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Resource r SET r.thumbnailStatus = :status, r.thumbnailWidths = :widths WHERE r.id = :id")
+    int updateThumbnails(@Param("id") Long id, @Param("status") DerivativeStatus status, @Param("widths") String widths);
+
+    @Query("SELECT r.id FROM Resource r WHERE (r.textStatus IS NULL OR r.textStatus = :status) " +
+           "AND r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsByTextStatusAfter(@Param("status") DerivativeStatus status, @Param("afterId") long afterId,
+                                        Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Resource r SET r.textStatus = :status WHERE r.id = :id")
+    int updateTextStatus(@Param("id") Long id, @Param("status") DerivativeStatus status);
+
+    @Query("SELECT r.uploader.id AS uploaderId, COUNT(r) AS total FROM Resource r GROUP BY r.uploader.id")
+    List<UploaderCount> countGroupedByUploader();
+
+    default List<ResourceCard> findCardsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        return findCardsByIdIn(ids).stream()
+                .sorted(Comparator.comparing(card -> rank.get(card.getId())))
+                .toList();
+    }
+
+    interface UploaderCount {
+        Long getUploaderId();
+        long getTotal();
+    }
 }
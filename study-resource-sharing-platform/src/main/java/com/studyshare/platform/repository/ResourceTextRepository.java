@@ -0,0 +1,16 @@
+package com.studyshare.platform.repository;
+
+import com.studyshare.platform.model.ResourceText;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ResourceTextRepository extends JpaRepository<ResourceText, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ResourceText t WHERE t.resourceId = :resourceId")
+    int deleteByResourceId(@Param("resourceId") Long resourceId);
+}
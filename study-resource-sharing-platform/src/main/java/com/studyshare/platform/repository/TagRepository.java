@@ -0,0 +1,13 @@
+package com.studyshare.platform.repository;
+
+import com.studyshare.platform.model.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TagRepository extends JpaRepository<Tag, Long> {
+    Optional<Tag> findByName(String name);
+    List<Tag> findByNameIn(Collection<String> names);
+}
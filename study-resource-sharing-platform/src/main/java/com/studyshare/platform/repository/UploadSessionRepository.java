@@ -0,0 +1,32 @@
+package com.studyshare.platform.repository;
+
+import com.studyshare.platform.model.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    @Query("SELECT u.s3Key FROM UploadSession u")
+    List<String> findAllS3Keys();
+
+    List<UploadSession> findByUpdatedAtBefore(LocalDateTime cutoff);
+
+    /**
+     * Marks the row as being completed; 0 when another request already has it.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession u SET u.completing = true WHERE u.id = :id AND u.completing = false")
+    int claim(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession u SET u.completing = false WHERE u.id = :id")
+    int unclaim(@Param("id") String id);
+}
@@ -0,0 +1,251 @@
+package com.studyshare.platform.search;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Resource ids posted under exact-match attributes (file type, tag, uploader
+ * and upload month), plus per-resource columns of upload day and file size for
+ * range checks. Posting keys are prefixed by attribute, e.g. {@code tag:calculus}.
+ * Postings are {@link RoaringBitmap}s, so filters combine as bitmap ANDs and
+ * facet counts are intersection cardinalities rather than per-request GROUP BYs.
+ */
+public class AttributeIndex {
+
+    private final Map<String, RoaringBitmap> postings = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] ids = new long[16];
+    private int[] days = new int[16];
+    private long[] sizes = new long[16];
+    private int count;
+
+    public static String typeKey(String fileType) {
+        return "type:" + fileType;
+    }
+
+    public static String tagKey(String tag) {
+        return "tag:" + tag;
+    }
+
+    public static String uploaderKey(long uploaderId) {
+        return "by:" + uploaderId;
+    }
+
+    public static String monthKey(YearMonth month) {
+        return "month:" + month;
+    }
+
+    public void add(long id, Attributes attributes) {
+        lock.writeLock().lock();
+        try {
+            for (String key : attributes.keys()) {
+                postings.computeIfAbsent(key, k -> new RoaringBitmap()).add(id);
+            }
+            all.add(id);
+            int pos = Arrays.binarySearch(ids, 0, count, id);
+            if (pos < 0) {
+                pos = -pos - 1;
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                    days = Arrays.copyOf(days, count * 2);
+                    sizes = Arrays.copyOf(sizes, count * 2);
+                }
+                System.arraycopy(ids, pos, ids, pos + 1, count - pos);
+                System.arraycopy(days, pos, days, pos + 1, count - pos);
+                System.arraycopy(sizes, pos, sizes, pos + 1, count - pos);
+                count++;
+            }
+            ids[pos] = id;
+            days[pos] = (int) attributes.uploaded().toEpochDay();
+            sizes[pos] = attributes.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id, Attributes attributes) {
+        lock.writeLock().lock();
+        try {
+            for (String key : attributes.keys()) {
+                RoaringBitmap bitmap = postings.get(key);
+                if (bitmap != null && bitmap.remove(id) && bitmap.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+            all.remove(id);
+            int pos = Arrays.binarySearch(ids, 0, count, id);
+            if (pos >= 0) {
+                System.arraycopy(ids, pos + 1, ids, pos, count - pos - 1);
+                System.arraycopy(days, pos + 1, days, pos, count - pos - 1);
+                System.arraycopy(sizes, pos + 1, sizes, pos, count - pos - 1);
+                count--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int count(String key) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap bitmap = postings.get(key);
+            return bitmap == null ? 0 : bitmap.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids posted under {@code key}, ascending.
+     */
+    public long[] ids(String key) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap bitmap = postings.get(key);
+            return bitmap == null ? new long[0] : bitmap.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String key, long id) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap bitmap = postings.get(key);
+            return bitmap != null && bitmap.contains(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids posted under any of {@code keys}, as a new bitmap.
+     */
+    public RoaringBitmap union(Collection<String> keys) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = new RoaringBitmap();
+            for (String key : keys) {
+                RoaringBitmap bitmap = postings.get(key);
+                if (bitmap != null) result = result.or(bitmap);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of {@code base} that are also posted under any of {@code keys}, as a new bitmap.
+     */
+    public RoaringBitmap intersect(RoaringBitmap base, Collection<String> keys) {
+        lock.readLock().lock();
+        try {
+            if (keys.size() == 1) {
+                RoaringBitmap bitmap = postings.get(keys.iterator().next());
+                return bitmap == null ? new RoaringBitmap() : base.and(bitmap);
+            }
+            RoaringBitmap result = new RoaringBitmap();
+            for (String key : keys) {
+                RoaringBitmap bitmap = postings.get(key);
+                if (bitmap != null) result = result.or(base.and(bitmap));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code limit} values under {@code prefix} (e.g. {@code "tag:"}) with the
+     * most ids in {@code within}, or in the whole index when it is null; ties by value.
+     */
+    public List<FacetCount> facet(String prefix, RoaringBitmap within, int limit) {
+        List<FacetCount> counts = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, RoaringBitmap> entry : postings.entrySet()) {
+                if (!entry.getKey().startsWith(prefix)) continue;
+                int count = within == null ? entry.getValue().cardinality() : within.andCardinality(entry.getValue());
+                if (count > 0) {
+                    counts.add(new FacetCount(entry.getKey().substring(prefix.length()), count));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        counts.sort(Comparator.comparingInt(FacetCount::count).reversed().thenComparing(FacetCount::value));
+        return counts.size() > limit ? List.copyOf(counts.subList(0, limit)) : counts;
+    }
+
+    /**
+     * Every indexed id, ascending.
+     */
+    public long[] all() {
+        lock.readLock().lock();
+        try {
+            return Arrays.copyOf(ids, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Upload date as an epoch day, or {@link Integer#MIN_VALUE} if the id is unknown.
+     */
+    public int uploadDay(long id) {
+        lock.readLock().lock();
+        try {
+            int pos = Arrays.binarySearch(ids, 0, count, id);
+            return pos < 0 ? Integer.MIN_VALUE : days[pos];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * File size in bytes, or -1 if the id is unknown.
+     */
+    public long fileSize(long id) {
+        lock.readLock().lock();
+        try {
+            int pos = Arrays.binarySearch(ids, 0, count, id);
+            return pos < 0 ? -1 : sizes[pos];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Attributes(String fileType, long uploaderId, List<String> tags, LocalDate uploaded, long size) {
+
+        List<String> keys() {
+            String[] keys = new String[3 + tags.size()];
+            keys[0] = typeKey(fileType);
+            keys[1] = uploaderKey(uploaderId);
+            keys[2] = monthKey(YearMonth.from(uploaded));
+            for (int i = 0; i < tags.size(); i++) {
+                keys[3 + i] = tagKey(tags.get(i));
+            }
+            return Arrays.asList(keys);
+        }
+    }
+}
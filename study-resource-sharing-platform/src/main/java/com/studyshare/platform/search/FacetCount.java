@@ -0,0 +1,7 @@
+package com.studyshare.platform.search;
+
+/**
+ * An attribute value and how many resources in a result set carry it.
+ */
+public record FacetCount(String value, int count) {
+}
@@ -0,0 +1,80 @@
+package com.studyshare.platform.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, duplicate-free list of resource ids backed by a primitive array.
+ * Not thread-safe; callers guard access.
+ */
+public class IdList {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    public boolean add(long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return true;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) return false;
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+        return true;
+    }
+
+    public boolean remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) return false;
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        if (size > 16 && size < ids.length / 4) {
+            ids = Arrays.copyOf(ids, ids.length / 2);
+        }
+        return true;
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public long get(int index) {
+        return ids[index];
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns up to {@code limit} ids in descending order, starting below {@code beforeId}.
+     */
+    public long[] descendingBefore(long beforeId, int limit) {
+        int pos = Arrays.binarySearch(ids, 0, size, beforeId);
+        int from = (pos >= 0 ? pos : -pos - 1) - 1;
+        int count = Math.max(0, Math.min(limit, from + 1));
+        long[] page = new long[count];
+        for (int i = 0; i < count; i++) {
+            page[i] = ids[from - i];
+        }
+        return page;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+    }
+}
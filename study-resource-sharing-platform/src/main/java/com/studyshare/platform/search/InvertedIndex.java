@@ -0,0 +1,316 @@
+package com.studyshare.platform.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index ranked with BM25 over weighted fields (BM25F-style:
+ * field weights scale both term frequency and document length).
+ * Query terms missing from the vocabulary are expanded to their closest
+ * spellings, scored down by edit distance. Only terms that appear in some
+ * document's metadata (title, tags, description) are offered as spellings:
+ * extracted file text is full of typos, OCR noise and rare words that would
+ * make poor suggestions and an unbounded fuzzy vocabulary.
+ */
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MAX_EXPANSIONS = 3;
+
+    static final Comparator<ScoredDoc> RANKING = Comparator
+            .comparingDouble(ScoredDoc::score).reversed()
+            .thenComparing(Comparator.comparingLong(ScoredDoc::id).reversed());
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final TrigramIndex vocabulary = new TrigramIndex();
+    private final Map<String, Integer> spellableDocs = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private double totalLength;
+
+    public void add(long id, Map<SearchField, String> fields) {
+        Map<String, Float> freqs = new HashMap<>();
+        Set<String> spellable = new HashSet<>();
+        float length = 0;
+        for (Map.Entry<SearchField, String> field : fields.entrySet()) {
+            float weight = field.getKey().weight();
+            if (field.getKey().bounded()) {
+                Map<String, Integer> occurrences = new HashMap<>();
+                for (String token : Tokenizer.tokenize(field.getValue())) {
+                    if (occurrences.merge(token, 1, Integer::sum) <= SearchField.BOUNDED_MAX_OCCURRENCES) {
+                        freqs.merge(token, weight, Float::sum);
+                    }
+                }
+                continue;
+            }
+            for (String token : Tokenizer.tokenize(field.getValue())) {
+                freqs.merge(token, weight, Float::sum);
+                spellable.add(token);
+                length += weight;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            PostingList[] lists = new PostingList[freqs.size()];
+            int i = 0;
+            for (Map.Entry<String, Float> entry : freqs.entrySet()) {
+                PostingList list = postings.computeIfAbsent(entry.getKey(), PostingList::new);
+                list.put(id, entry.getValue(), length);
+                lists[i++] = list;
+            }
+            String[] spellings = spellable.toArray(new String[0]);
+            for (String term : spellings) {
+                if (spellableDocs.merge(term, 1, Integer::sum) == 1) {
+                    vocabulary.add(term);
+                }
+            }
+            documents.put(id, new Document(lists, spellings, length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} hits ranked after {@code after} (or from the top when null).
+     */
+    public SearchHits search(String query, ScoredDoc after, int limit) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty() || limit <= 0) return SearchHits.EMPTY;
+
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            if (docCount == 0) return SearchHits.EMPTY;
+            double avgLength = totalLength / docCount;
+
+            Map<Long, Float> scores = new HashMap<>();
+            scoreTerms(terms, avgLength, scores, false);
+            RoaringBitmap matches = new RoaringBitmap();
+            for (long id : scores.keySet()) {
+                matches.add(id);
+            }
+            return new SearchHits(topHits(scores, after, limit), scores.size(), matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks a precomputed candidate set (ascending ids) by the given terms;
+     * candidates matching none of them rank last with a score of zero.
+     */
+    public SearchHits rank(Collection<String> terms, long[] candidates, ScoredDoc after, int limit) {
+        if (candidates.length == 0 || limit <= 0) return SearchHits.EMPTY;
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = new HashMap<>(candidates.length * 2);
+            for (long id : candidates) {
+                scores.put(id, 0f);
+            }
+            if (!documents.isEmpty()) {
+                scoreTerms(terms, totalLength / documents.size(), scores, true);
+            }
+            return new SearchHits(topHits(scores, after, limit), candidates.length, RoaringBitmap.of(candidates));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The term itself if indexed, otherwise its closest spellings.
+     */
+    public List<String> spellings(String term) {
+        lock.readLock().lock();
+        try {
+            if (postings.containsKey(term)) return List.of(term);
+            return corrections(term).stream().map(TrigramIndex.Match::term).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int docFrequency(String term) {
+        lock.readLock().lock();
+        try {
+            PostingList list = postings.get(term);
+            return list == null ? 0 : list.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the documents containing {@code term}, ascending.
+     */
+    public long[] docs(String term) {
+        lock.readLock().lock();
+        try {
+            PostingList list = postings.get(term);
+            if (list == null) return new long[0];
+            long[] ids = new long[list.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = list.idAt(i);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String term, long id) {
+        lock.readLock().lock();
+        try {
+            PostingList list = postings.get(term);
+            return list != null && list.contains(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The query with each unknown term replaced by its closest spelling, or
+     * null when every term is known or nothing close enough exists.
+     */
+    public String correct(String query) {
+        List<String> terms = Tokenizer.tokenize(query);
+        lock.readLock().lock();
+        try {
+            boolean corrected = false;
+            List<String> words = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                List<TrigramIndex.Match> matches = postings.containsKey(term) ? List.of() : corrections(term);
+                words.add(matches.isEmpty() ? term : matches.get(0).term());
+                corrected |= !matches.isEmpty();
+            }
+            return corrected ? String.join(" ", words) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds each term's BM25 contribution to {@code scores}, spelling unknown
+     * terms as their closest matches. With {@code restrict}, only ids already
+     * in {@code scores} are scored.
+     */
+    private void scoreTerms(Collection<String> terms, double avgLength, Map<Long, Float> scores, boolean restrict) {
+        int docCount = documents.size();
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                score(list, 1f, docCount, avgLength, scores, restrict);
+                continue;
+            }
+            for (TrigramIndex.Match match : corrections(term)) {
+                score(postings.get(match.term()), 1f / (1 + match.distance()), docCount, avgLength, scores, restrict);
+            }
+        }
+    }
+
+    private static void score(PostingList list, float boost, int docCount, double avgLength,
+                              Map<Long, Float> scores, boolean restrict) {
+        double df = list.size();
+        double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+        for (int i = 0; i < list.size(); i++) {
+            if (restrict && !scores.containsKey(list.idAt(i))) continue;
+            float tf = list.freqAt(i);
+            double norm = K1 * (1 - B + B * list.lengthAt(i) / avgLength);
+            float score = (float) (boost * idf * tf * (K1 + 1) / (tf + norm));
+            scores.merge(list.idAt(i), score, Float::sum);
+        }
+    }
+
+    /**
+     * Closest known spellings of a term, nearest and most frequent first. Short
+     * terms get no expansion; one edit is allowed up to seven characters, two beyond.
+     */
+    private List<TrigramIndex.Match> corrections(String term) {
+        int maxEdits = term.length() < 4 ? 0 : term.length() < 8 ? 1 : 2;
+        List<TrigramIndex.Match> matches = new ArrayList<>(vocabulary.similar(term, maxEdits));
+        matches.sort(Comparator.comparingInt(TrigramIndex.Match::distance)
+                .thenComparing(match -> -postings.get(match.term()).size()));
+        return matches.size() > MAX_EXPANSIONS ? matches.subList(0, MAX_EXPANSIONS) : matches;
+    }
+
+    /**
+     * BM25 scores move whenever the corpus does, so a cursor's stored score is
+     * only used when its document no longer matches; otherwise the page starts
+     * after that document's current score.
+     */
+    private List<ScoredDoc> topHits(Map<Long, Float> scores, ScoredDoc after, int k) {
+        if (after != null && scores.containsKey(after.id())) {
+            after = new ScoredDoc(after.id(), scores.get(after.id()));
+        }
+        PriorityQueue<ScoredDoc> heap = new PriorityQueue<>(k + 1, RANKING.reversed());
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            ScoredDoc doc = new ScoredDoc(entry.getKey(), entry.getValue());
+            if (after != null && RANKING.compare(doc, after) <= 0) continue;
+            if (heap.size() < k) {
+                heap.add(doc);
+            } else if (RANKING.compare(doc, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(doc);
+            }
+        }
+        List<ScoredDoc> ranked = new ArrayList<>(heap);
+        ranked.sort(RANKING);
+        return ranked;
+    }
+
+    private void removeLocked(long id) {
+        Document existing = documents.remove(id);
+        if (existing == null) return;
+        for (PostingList list : existing.postings()) {
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(list.term());
+            }
+        }
+        for (String term : existing.spellable()) {
+            if (spellableDocs.merge(term, -1, Integer::sum) == 0) {
+                spellableDocs.remove(term);
+                vocabulary.remove(term);
+            }
+        }
+        totalLength -= existing.length();
+    }
+
+    /**
+     * A document's posting lists and the terms it contributes to the spelling
+     * vocabulary (those of its unbounded metadata fields).
+     */
+    private record Document(PostingList[] postings, String[] spellable, float length) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.studyshare.platform.search;
+
+import java.util.Arrays;
+
+/**
+ * Document ids in ascending order, each with its weighted term frequency and
+ * weighted document length.
+ * Not thread-safe; {@link InvertedIndex} guards access.
+ */
+class PostingList {
+
+    private final String term;
+    private long[] ids = new long[4];
+    private float[] freqs = new float[4];
+    private float[] lengths = new float[4];
+    private int size;
+
+    PostingList(String term) {
+        this.term = term;
+    }
+
+    String term() {
+        return term;
+    }
+
+    void put(long id, float freq, float length) {
+        if (size > 0 && ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size] = id;
+            freqs[size] = freq;
+            lengths[size] = length;
+            size++;
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            freqs[pos] = freq;
+            lengths[pos] = length;
+            return;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        System.arraycopy(freqs, insertAt, freqs, insertAt + 1, size - insertAt);
+        System.arraycopy(lengths, insertAt, lengths, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        freqs[insertAt] = freq;
+        lengths[insertAt] = length;
+        size++;
+    }
+
+    void remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) return;
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        System.arraycopy(freqs, pos + 1, freqs, pos, size - pos - 1);
+        System.arraycopy(lengths, pos + 1, lengths, pos, size - pos - 1);
+        size--;
+        if (size > 16 && size < ids.length / 4) {
+            resize(ids.length / 2);
+        }
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long idAt(int index) {
+        return ids[index];
+    }
+
+    float freqAt(int index) {
+        return freqs[index];
+    }
+
+    float lengthAt(int index) {
+        return lengths[index];
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            resize(size * 2);
+        }
+    }
+
+    private void resize(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        freqs = Arrays.copyOf(freqs, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+    }
+}
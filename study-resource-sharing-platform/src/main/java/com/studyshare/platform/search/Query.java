@@ -0,0 +1,53 @@
+package com.studyshare.platform.search;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsed form of a structured search, built by {@link QueryParser}.
+ */
+public sealed interface Query {
+
+    /**
+     * A single free-text token, matched against the inverted index.
+     */
+    record Term(String text) implements Query {
+    }
+
+    record FileType(Set<String> fileTypes) implements Query {
+    }
+
+    record Tag(String name) implements Query {
+    }
+
+    record Uploader(String username) implements Query {
+    }
+
+    /**
+     * Uploaded on or after {@code from} and before {@code until}; either may be null.
+     */
+    record Uploaded(LocalDate from, LocalDate until) implements Query {
+    }
+
+    /**
+     * File size in bytes, both bounds inclusive.
+     */
+    record Size(long min, long max) implements Query {
+    }
+
+    record And(List<Query> clauses) implements Query {
+    }
+
+    record Or(List<Query> clauses) implements Query {
+    }
+
+    record Not(Query clause) implements Query {
+    }
+
+    /**
+     * Matches everything; what an empty query parses to.
+     */
+    record All() implements Query {
+    }
+}
@@ -0,0 +1,290 @@
+package com.studyshare.platform.search;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the search box syntax:
+ * <pre>
+ * calculus type:pdf tag:"linear algebra" by:alice after:2026-01-01 size:&lt;5mb
+ * (notes OR slides) -tag:draft          NOT, AND and OR bind in that order; AND is implied
+ * </pre>
+ * Free-text words match any of them, as in plain search, while fields, groups
+ * and negations must all match; quoting words or joining them with an explicit
+ * {@code AND} makes each of them required.
+ * Fields: {@code type} (pdf, image, word, powerpoint, text), {@code tag},
+ * {@code by}, {@code after}, {@code before}, {@code on} (a day {@code yyyy-MM-dd}
+ * or a month {@code yyyy-MM}) and {@code size} ({@code >}, {@code >=},
+ * {@code <}, {@code <=} with B, KB, MB or GB). Unknown fields are read as text.
+ */
+public final class QueryParser {
+
+    private static final Map<String, Set<String>> FILE_TYPES = Map.of(
+            "pdf", Set.of("application/pdf"),
+            "image", Set.of("image/jpeg", "image/png", "image/gif", "image/webp"),
+            "word", Set.of("application/msword",
+                    "application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
+            "powerpoint", Set.of("application/vnd.ms-powerpoint",
+                    "application/vnd.openxmlformats-officedocument.presentationml.presentation"),
+            "text", Set.of("text/plain")
+    );
+    private static final Map<String, String> TYPE_ALIASES = Map.of(
+            "doc", "word", "docx", "word", "ppt", "powerpoint", "pptx", "powerpoint", "slides", "powerpoint",
+            "txt", "text", "jpg", "image", "png", "image");
+    private static final Pattern SIZE = Pattern.compile("(<=|>=|<|>)(\\d+(?:\\.\\d+)?)(b|kb|mb|gb)?");
+    private static final int MAX_DEPTH = 16;
+
+    private final List<String> tokens;
+    private int pos;
+    private int depth;
+
+    private QueryParser(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parses a query; throws {@link IllegalArgumentException} with a message fit for the user.
+     */
+    public static Query parse(String input) {
+        QueryParser parser = new QueryParser(lex(input == null ? "" : input));
+        if (parser.tokens.isEmpty()) return new Query.All();
+        Query query = parser.or();
+        if (parser.pos < parser.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected \"" + parser.tokens.get(parser.pos) + "\" in search");
+        }
+        return query;
+    }
+
+    /**
+     * The {@code type:} name (pdf, image, ...) covering a content type, or null.
+     */
+    public static String typeName(String fileType) {
+        for (Map.Entry<String, Set<String>> entry : FILE_TYPES.entrySet()) {
+            if (entry.getValue().contains(fileType)) return entry.getKey();
+        }
+        return null;
+    }
+
+    /**
+     * True when the query is only free-text terms, which plain ranked search handles.
+     */
+    public static boolean isPlainText(Query query) {
+        if (query instanceof Query.Term) return true;
+        return query instanceof Query.Or or && or.clauses().stream().allMatch(c -> c instanceof Query.Term);
+    }
+
+    private Query or() {
+        List<Query> clauses = new ArrayList<>();
+        addOr(clauses, and());
+        while (peek("OR")) {
+            pos++;
+            addOr(clauses, and());
+        }
+        return clauses.size() == 1 ? clauses.get(0) : new Query.Or(clauses);
+    }
+
+    private static void addOr(List<Query> clauses, Query clause) {
+        if (clause instanceof Query.Or nested) {
+            clauses.addAll(nested.clauses());
+        } else {
+            clauses.add(clause);
+        }
+    }
+
+    /**
+     * Loose words gather into one OR group, which is ANDed with the other clauses.
+     */
+    private Query and() {
+        List<Query> words = new ArrayList<>();
+        List<Query> clauses = new ArrayList<>();
+        Query lastWord = null;
+        do {
+            boolean required = peek("AND");
+            if (required) {
+                pos++;
+                if (lastWord != null) {
+                    words.remove(words.size() - 1);
+                    clauses.add(lastWord);
+                }
+            }
+            Query clause = unary();
+            lastWord = null;
+            if (!required && clause instanceof Query.Term) {
+                words.add(clause);
+                lastWord = clause;
+            } else if (!required && isPlainText(clause)) {
+                words.addAll(((Query.Or) clause).clauses());
+            } else if (clause instanceof Query.And nested
+                    && nested.clauses().stream().noneMatch(c -> c instanceof Query.Term)) {
+                clauses.addAll(nested.clauses());
+            } else if (!(clause instanceof Query.All)) {
+                clauses.add(clause);
+            }
+        } while (pos < tokens.size() && !peek("OR") && !peek(")"));
+        if (words.size() == 1) {
+            clauses.add(0, words.get(0));
+        } else if (words.size() > 1) {
+            clauses.add(0, new Query.Or(words));
+        }
+        if (clauses.isEmpty()) return new Query.All();
+        return clauses.size() == 1 ? clauses.get(0) : new Query.And(clauses);
+    }
+
+    private Query unary() {
+        if (peek("NOT") || peek("-")) {
+            pos++;
+            return new Query.Not(unary());
+        }
+        return primary();
+    }
+
+    private Query primary() {
+        if (pos >= tokens.size()) {
+            throw new IllegalArgumentException("Search ends where a term was expected");
+        }
+        String token = tokens.get(pos++);
+        if (token.equals("(")) {
+            if (++depth > MAX_DEPTH) throw new IllegalArgumentException("Search is nested too deeply");
+            Query inner = or();
+            if (!peek(")")) throw new IllegalArgumentException("Missing \")\" in search");
+            pos++;
+            depth--;
+            return inner;
+        }
+        if (token.equals(")")) throw new IllegalArgumentException("Unexpected \")\" in search");
+
+        int colon = token.indexOf(':');
+        if (colon > 0 && colon < token.length() - 1) {
+            Query field = field(token.substring(0, colon).toLowerCase(Locale.ROOT), unquote(token.substring(colon + 1)));
+            if (field != null) return field;
+        }
+        return text(unquote(token), token.startsWith("\""));
+    }
+
+    private static Query field(String name, String value) {
+        return switch (name) {
+            case "type" -> fileType(value);
+            case "tag" -> new Query.Tag(value.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " "));
+            case "by", "uploader" -> new Query.Uploader(value);
+            case "after" -> new Query.Uploaded(end(value), null);
+            case "before" -> new Query.Uploaded(null, start(value));
+            case "on" -> new Query.Uploaded(start(value), end(value));
+            case "size" -> size(value);
+            default -> null;
+        };
+    }
+
+    private static Query fileType(String value) {
+        String type = value.toLowerCase(Locale.ROOT);
+        Set<String> fileTypes = FILE_TYPES.get(TYPE_ALIASES.getOrDefault(type, type));
+        if (fileTypes == null) {
+            throw new IllegalArgumentException("Unknown type \"" + value + "\"; use pdf, image, word, powerpoint or text");
+        }
+        return new Query.FileType(fileTypes);
+    }
+
+    private static Query size(String value) {
+        Matcher matcher = SIZE.matcher(value.toLowerCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Write sizes like size:>10mb or size:<=500kb");
+        }
+        double number = Double.parseDouble(matcher.group(2));
+        long unit = switch (matcher.group(3) == null ? "b" : matcher.group(3)) {
+            case "kb" -> 1024L;
+            case "mb" -> 1024L * 1024;
+            case "gb" -> 1024L * 1024 * 1024;
+            default -> 1L;
+        };
+        long bytes = (long) (number * unit);
+        return switch (matcher.group(1)) {
+            case ">" -> new Query.Size(bytes + 1, Long.MAX_VALUE);
+            case ">=" -> new Query.Size(bytes, Long.MAX_VALUE);
+            case "<" -> new Query.Size(0, bytes - 1);
+            default -> new Query.Size(0, bytes);
+        };
+    }
+
+    /**
+     * The first day a date or month covers.
+     */
+    private static LocalDate start(String value) {
+        try {
+            return value.length() == 7 ? YearMonth.parse(value).atDay(1) : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Write dates as yyyy-MM-dd or yyyy-MM, not \"" + value + "\"");
+        }
+    }
+
+    /**
+     * The day after the last day a date or month covers.
+     */
+    private static LocalDate end(String value) {
+        LocalDate start = start(value);
+        return value.length() == 7 ? start.plusMonths(1) : start.plusDays(1);
+    }
+
+    /**
+     * The words of a quoted token are all required; those of a bare one, such
+     * as {@code color:red}, are loose like any other words.
+     */
+    private static Query text(String value, boolean quoted) {
+        List<String> words = Tokenizer.tokenize(value);
+        if (words.isEmpty()) return new Query.All();
+        if (words.size() == 1) return new Query.Term(words.get(0));
+        List<Query> terms = words.stream().<Query>map(Query.Term::new).toList();
+        return quoted ? new Query.And(terms) : new Query.Or(terms);
+    }
+
+    private boolean peek(String token) {
+        return pos < tokens.size() && tokens.get(pos).equals(token);
+    }
+
+    private static String unquote(String value) {
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+                ? value.substring(1, value.length() - 1)
+                : value;
+    }
+
+    /**
+     * Splits on whitespace, keeping quoted runs whole and parentheses and a
+     * leading minus as their own tokens.
+     */
+    static List<String> lex(String input) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < input.length()) {
+            char c = input.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else if (c == '-' && i + 1 < input.length() && !Character.isWhitespace(input.charAt(i + 1))) {
+                tokens.add("-");
+                i++;
+            } else {
+                int start = i;
+                boolean quoted = false;
+                while (i < input.length()) {
+                    char d = input.charAt(i);
+                    if (d == '"') {
+                        quoted = !quoted;
+                    } else if (!quoted && (Character.isWhitespace(d) || d == '(' || d == ')')) {
+                        break;
+                    }
+                    i++;
+                }
+                tokens.add(input.substring(start, i));
+            }
+        }
+        return tokens;
+    }
+}
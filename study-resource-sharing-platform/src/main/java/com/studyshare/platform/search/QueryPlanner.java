@@ -0,0 +1,434 @@
+package com.studyshare.platform.search;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Compiles a {@link Query} into a plan over the text and attribute indexes and
+ * runs it. Each leaf knows the size of its candidate set up front; a
+ * conjunction materializes only its smallest clause and checks the rest
+ * cheapest first, merging with a clause's ids when it is small enough and
+ * probing it id by id when it is not. Attribute clauses (type, tag, uploader)
+ * are bitmaps and combine as bitmap ANDs before any other clause is checked.
+ * Range clauses (size, unbounded dates) and negations only ever probe.
+ */
+public class QueryPlanner {
+
+    // Merge against a clause's ids when it is at most this many times larger than the running result.
+    private static final int MERGE_RATIO = 8;
+
+    private final InvertedIndex text;
+    private final AttributeIndex attributes;
+    private final Function<String, Optional<Long>> uploaderIds;
+
+    public QueryPlanner(InvertedIndex text, AttributeIndex attributes, Function<String, Optional<Long>> uploaderIds) {
+        this.text = text;
+        this.attributes = attributes;
+        this.uploaderIds = uploaderIds;
+    }
+
+    /**
+     * Ids matching the query, ascending.
+     */
+    public long[] execute(Query query) {
+        return plan(query).ids();
+    }
+
+    /**
+     * The free-text terms that count toward ranking: those not under a NOT.
+     */
+    public static List<String> rankingTerms(Query query) {
+        List<String> terms = new ArrayList<>();
+        collectTerms(query, terms);
+        return terms;
+    }
+
+    private static void collectTerms(Query query, List<String> terms) {
+        if (query instanceof Query.Term term) {
+            terms.add(term.text());
+        } else if (query instanceof Query.And and) {
+            and.clauses().forEach(clause -> collectTerms(clause, terms));
+        } else if (query instanceof Query.Or or) {
+            or.clauses().forEach(clause -> collectTerms(clause, terms));
+        }
+    }
+
+    Plan plan(Query query) {
+        if (query instanceof Query.Term term) {
+            return new TermPlan(text.spellings(term.text()));
+        } else if (query instanceof Query.FileType type) {
+            return new KeyPlan(type.fileTypes().stream().map(AttributeIndex::typeKey).toList());
+        } else if (query instanceof Query.Tag tag) {
+            return new KeyPlan(List.of(AttributeIndex.tagKey(tag.name())));
+        } else if (query instanceof Query.Uploader uploader) {
+            return new KeyPlan(uploaderIds.apply(uploader.username())
+                    .map(id -> List.of(AttributeIndex.uploaderKey(id)))
+                    .orElse(List.of()));
+        } else if (query instanceof Query.Uploaded uploaded) {
+            return new UploadedPlan(uploaded.from(), uploaded.until());
+        } else if (query instanceof Query.Size size) {
+            return new SizePlan(size.min(), size.max());
+        } else if (query instanceof Query.And and) {
+            return new AndPlan(and.clauses().stream().map(this::plan).toList());
+        } else if (query instanceof Query.Or or) {
+            return new OrPlan(or.clauses().stream().map(this::plan).toList());
+        } else if (query instanceof Query.Not not) {
+            return new NotPlan(plan(not.clause()));
+        }
+        return new AllPlan();
+    }
+
+    abstract static class Plan {
+
+        /**
+         * Upper bound on the number of matching ids.
+         */
+        abstract long estimate();
+
+        abstract long[] ids();
+
+        abstract boolean contains(long id);
+
+        /**
+         * Whether {@link #ids()} reads an index rather than scanning every id.
+         */
+        boolean indexed() {
+            return true;
+        }
+    }
+
+    private final class TermPlan extends Plan {
+        private final List<String> spellings;
+
+        TermPlan(List<String> spellings) {
+            this.spellings = spellings;
+        }
+
+        @Override
+        long estimate() {
+            long total = 0;
+            for (String spelling : spellings) total += text.docFrequency(spelling);
+            return total;
+        }
+
+        @Override
+        long[] ids() {
+            long[] ids = new long[0];
+            for (String spelling : spellings) ids = union(ids, text.docs(spelling));
+            return ids;
+        }
+
+        @Override
+        boolean contains(long id) {
+            for (String spelling : spellings) {
+                if (text.contains(spelling, id)) return true;
+            }
+            return false;
+        }
+    }
+
+    private final class KeyPlan extends Plan {
+        private final List<String> keys;
+
+        KeyPlan(List<String> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        long estimate() {
+            long total = 0;
+            for (String key : keys) total += attributes.count(key);
+            return total;
+        }
+
+        @Override
+        long[] ids() {
+            return bitmap().toArray();
+        }
+
+        RoaringBitmap bitmap() {
+            return attributes.union(keys);
+        }
+
+        @Override
+        boolean contains(long id) {
+            for (String key : keys) {
+                if (attributes.contains(key, id)) return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Bounded ranges read the upload-month postings and trim the edge months by
+     * day; an open start has no month list to read and scans instead.
+     */
+    private final class UploadedPlan extends Plan {
+        private final long fromDay;
+        private final long untilDay;
+        private final List<String> months = new ArrayList<>();
+
+        UploadedPlan(LocalDate from, LocalDate until) {
+            this.fromDay = from == null ? Long.MIN_VALUE : from.toEpochDay();
+            this.untilDay = until == null ? Long.MAX_VALUE : until.toEpochDay();
+            if (from != null) {
+                YearMonth last = YearMonth.from(until != null ? until.minusDays(1) : LocalDate.now().plusDays(1));
+                for (YearMonth month = YearMonth.from(from); !month.isAfter(last); month = month.plusMonths(1)) {
+                    months.add(AttributeIndex.monthKey(month));
+                }
+            }
+        }
+
+        @Override
+        boolean indexed() {
+            return fromDay != Long.MIN_VALUE;
+        }
+
+        @Override
+        long estimate() {
+            if (!indexed()) return attributes.size();
+            long total = 0;
+            for (String month : months) total += attributes.count(month);
+            return total;
+        }
+
+        @Override
+        long[] ids() {
+            if (!indexed()) return filter(attributes.all(), this);
+            long[] ids = new long[0];
+            for (String month : months) ids = union(ids, attributes.ids(month));
+            return filter(ids, this);
+        }
+
+        @Override
+        boolean contains(long id) {
+            int day = attributes.uploadDay(id);
+            return day != Integer.MIN_VALUE && day >= fromDay && day < untilDay;
+        }
+    }
+
+    private final class SizePlan extends Plan {
+        private final long min;
+        private final long max;
+
+        SizePlan(long min, long max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        boolean indexed() {
+            return false;
+        }
+
+        @Override
+        long estimate() {
+            return attributes.size();
+        }
+
+        @Override
+        long[] ids() {
+            return filter(attributes.all(), this);
+        }
+
+        @Override
+        boolean contains(long id) {
+            long size = attributes.fileSize(id);
+            return size >= 0 && size >= min && size <= max;
+        }
+    }
+
+    private final class AndPlan extends Plan {
+        private final List<Plan> clauses;
+
+        AndPlan(List<Plan> clauses) {
+            this.clauses = clauses;
+        }
+
+        @Override
+        long estimate() {
+            long min = Long.MAX_VALUE;
+            for (Plan clause : clauses) min = Math.min(min, clause.estimate());
+            return min;
+        }
+
+        @Override
+        long[] ids() {
+            List<Costed> ordered = new ArrayList<>(clauses.size());
+            for (Plan clause : clauses) ordered.add(new Costed(clause, clause.estimate()));
+            ordered.sort(Comparator.comparing((Costed c) -> !c.plan().indexed()).thenComparingLong(Costed::estimate));
+
+            long[] result;
+            if (ordered.get(0).plan() instanceof KeyPlan first) {
+                RoaringBitmap bitmap = first.bitmap();
+                List<Costed> rest = new ArrayList<>();
+                for (Costed next : ordered.subList(1, ordered.size())) {
+                    if (next.plan() instanceof KeyPlan key) {
+                        bitmap = attributes.intersect(bitmap, key.keys);
+                    } else {
+                        rest.add(next);
+                    }
+                }
+                result = bitmap.toArray();
+                ordered = rest;
+            } else {
+                result = ordered.get(0).plan().ids();
+                ordered = ordered.subList(1, ordered.size());
+            }
+            for (int i = 0; i < ordered.size() && result.length > 0; i++) {
+                Costed next = ordered.get(i);
+                result = next.plan().indexed() && next.estimate() <= (long) result.length * MERGE_RATIO
+                        ? intersect(result, next.plan().ids())
+                        : filter(result, next.plan());
+            }
+            return result;
+        }
+
+        @Override
+        boolean contains(long id) {
+            for (Plan clause : clauses) {
+                if (!clause.contains(id)) return false;
+            }
+            return true;
+        }
+    }
+
+    private final class OrPlan extends Plan {
+        private final List<Plan> clauses;
+
+        OrPlan(List<Plan> clauses) {
+            this.clauses = clauses;
+        }
+
+        @Override
+        boolean indexed() {
+            return clauses.stream().allMatch(Plan::indexed);
+        }
+
+        @Override
+        long estimate() {
+            long total = 0;
+            for (Plan clause : clauses) total += clause.estimate();
+            return Math.min(total, attributes.size());
+        }
+
+        @Override
+        long[] ids() {
+            long[] ids = new long[0];
+            for (Plan clause : clauses) ids = union(ids, clause.ids());
+            return ids;
+        }
+
+        @Override
+        boolean contains(long id) {
+            for (Plan clause : clauses) {
+                if (clause.contains(id)) return true;
+            }
+            return false;
+        }
+    }
+
+    private final class NotPlan extends Plan {
+        private final Plan clause;
+
+        NotPlan(Plan clause) {
+            this.clause = clause;
+        }
+
+        @Override
+        boolean indexed() {
+            return false;
+        }
+
+        @Override
+        long estimate() {
+            return attributes.size();
+        }
+
+        @Override
+        long[] ids() {
+            return filter(attributes.all(), this);
+        }
+
+        @Override
+        boolean contains(long id) {
+            return !clause.contains(id);
+        }
+    }
+
+    private final class AllPlan extends Plan {
+
+        @Override
+        boolean indexed() {
+            return false;
+        }
+
+        @Override
+        long estimate() {
+            return attributes.size();
+        }
+
+        @Override
+        long[] ids() {
+            return attributes.all();
+        }
+
+        @Override
+        boolean contains(long id) {
+            return true;
+        }
+    }
+
+    private record Costed(Plan plan, long estimate) {
+    }
+
+    static long[] filter(long[] ids, Plan plan) {
+        long[] kept = new long[ids.length];
+        int n = 0;
+        for (long id : ids) {
+            if (plan.contains(id)) kept[n++] = id;
+        }
+        return n == ids.length ? ids : Arrays.copyOf(kept, n);
+    }
+
+    static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    static long[] union(long[] a, long[] b) {
+        if (a.length == 0) return b;
+        if (b.length == 0) return a;
+        long[] out = new long[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                out[n++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                out[n++] = b[j++];
+            } else {
+                out[n++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
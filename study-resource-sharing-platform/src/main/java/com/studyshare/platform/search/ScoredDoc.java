@@ -0,0 +1,4 @@
+package com.studyshare.platform.search;
+
+public record ScoredDoc(long id, float score) {
+}
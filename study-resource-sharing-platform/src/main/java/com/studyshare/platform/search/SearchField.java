@@ -0,0 +1,30 @@
+package com.studyshare.platform.search;
+
+public enum SearchField {
+    TITLE(3.0f, false),
+    TAGS(2.0f, false),
+    DESCRIPTION(1.0f, false),
+    /**
+     * Text extracted from the file. It dwarfs the other fields, so it is left
+     * out of the length norm and each term counts only a few times.
+     */
+    CONTENT(0.5f, true);
+
+    static final int BOUNDED_MAX_OCCURRENCES = 3;
+
+    private final float weight;
+    private final boolean bounded;
+
+    SearchField(float weight, boolean bounded) {
+        this.weight = weight;
+        this.bounded = bounded;
+    }
+
+    public float weight() {
+        return weight;
+    }
+
+    boolean bounded() {
+        return bounded;
+    }
+}
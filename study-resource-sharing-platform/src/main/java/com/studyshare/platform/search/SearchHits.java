@@ -0,0 +1,12 @@
+package com.studyshare.platform.search;
+
+import java.util.List;
+
+/**
+ * A page of ranked hits, with every matching id in {@code matches} for facet
+ * counts; the bitmap is shared and must not be modified.
+ */
+public record SearchHits(List<ScoredDoc> hits, int totalHits, RoaringBitmap matches) {
+
+    public static final SearchHits EMPTY = new SearchHits(List.of(), 0, new RoaringBitmap());
+}
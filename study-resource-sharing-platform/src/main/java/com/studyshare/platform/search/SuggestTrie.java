@@ -0,0 +1,282 @@
+package com.studyshare.platform.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Weighted prefix completion over a radix trie: edges carry whole label runs
+ * and every node keeps the largest weight below it, so the top completions are
+ * found best-first without visiting the rest of the subtree. Terms are matched
+ * case- and whitespace-insensitively and suggested as first added. At most
+ * {@code maxTerms} terms are held; further new terms are refused.
+ */
+public class SuggestTrie {
+
+    static final int MAX_KEY_LENGTH = 60;
+    // Rough per-object costs on a 64-bit JVM with compressed oops.
+    private static final int NODE_BYTES = 32 + 16 + 16 + 4;
+    private static final int STRING_BYTES = 40;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparingInt(Candidate::weight).reversed()
+            .thenComparing(Candidate::terminal, Comparator.reverseOrder());
+
+    private final int maxTerms;
+    private final Node root = new Node(new char[0]);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int terms;
+    private int nodes = 1;
+    private long labelChars;
+    private long displayChars;
+
+    public SuggestTrie(int maxTerms) {
+        this.maxTerms = maxTerms;
+    }
+
+    public static String normalize(String text) {
+        return display(text).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Adds {@code weight} to a term, creating it if there is room. Returns the
+     * weight actually added: zero if the term was refused, less than asked
+     * once the term's weight saturates. Callers hand exactly that back to
+     * {@link #remove}.
+     */
+    public int add(String text, int weight) {
+        String key = normalize(text);
+        if (key.isEmpty() || weight <= 0) return 0;
+        lock.writeLock().lock();
+        try {
+            return insert(root, key, 0, display(text), weight);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Takes {@code weight} off a term, dropping it once nothing is left.
+     */
+    public void remove(String text, int weight) {
+        String key = normalize(text);
+        if (key.isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            delete(root, key, 0, weight);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The heaviest {@code limit} terms starting with {@code prefix}, heaviest first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) return List.of();
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int pos = 0;
+            while (pos < key.length()) {
+                int i = childIndex(node, key.charAt(pos));
+                if (i < 0) return List.of();
+                Node child = node.children[i];
+                int n = Math.min(child.label.length, key.length() - pos);
+                if (matching(child.label, key, pos) < n) return List.of();
+                node = child;
+                pos += n;
+            }
+
+            List<Suggestion> suggestions = new ArrayList<>(limit);
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+            queue.add(new Candidate(node, false, node.maxWeight));
+            while (!queue.isEmpty() && suggestions.size() < limit) {
+                Candidate next = queue.poll();
+                Node current = next.node();
+                if (next.terminal()) {
+                    suggestions.add(new Suggestion(current.display, current.weight));
+                    continue;
+                }
+                if (current.display != null) {
+                    queue.add(new Candidate(current, true, current.weight));
+                }
+                for (Node child : current.children) {
+                    queue.add(new Candidate(child, false, child.maxWeight));
+                }
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return terms;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap held by the trie, from running node and character counts.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) nodes * NODE_BYTES + labelChars * 2 + (long) terms * STRING_BYTES + displayChars * 2;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int insert(Node node, String key, int pos, String display, int weight) {
+        if (pos == key.length()) {
+            if (node.display == null) {
+                if (terms >= maxTerms) return 0;
+                node.display = display;
+                terms++;
+                displayChars += display.length();
+            }
+            int before = node.weight;
+            node.weight = (int) Math.min((long) node.weight + weight, Integer.MAX_VALUE);
+            node.maxWeight = Math.max(node.maxWeight, node.weight);
+            return node.weight - before;
+        }
+
+        int i = childIndex(node, key.charAt(pos));
+        if (i < 0) {
+            if (terms >= maxTerms) return 0;
+            Node leaf = new Node(key.substring(pos).toCharArray());
+            nodes++;
+            labelChars += leaf.label.length;
+            int at = -i - 1;
+            Node[] children = Arrays.copyOf(node.children, node.children.length + 1);
+            System.arraycopy(children, at, children, at + 1, node.children.length - at);
+            children[at] = leaf;
+            node.children = children;
+            int added = insert(leaf, key, key.length(), display, weight);
+            node.maxWeight = Math.max(node.maxWeight, leaf.maxWeight);
+            return added;
+        }
+
+        Node child = node.children[i];
+        int common = matching(child.label, key, pos);
+        if (common < child.label.length) {
+            // The key leaves the edge part-way, so it is a new term.
+            if (terms >= maxTerms) return 0;
+            Node split = new Node(Arrays.copyOf(child.label, common));
+            child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+            split.children = new Node[]{child};
+            split.maxWeight = child.maxWeight;
+            node.children[i] = split;
+            nodes++;
+            child = split;
+        }
+        int added = insert(child, key, pos + common, display, weight);
+        node.maxWeight = Math.max(node.maxWeight, child.maxWeight);
+        return added;
+    }
+
+    private boolean delete(Node node, String key, int pos, int weight) {
+        if (pos == key.length()) {
+            if (node.display == null) return false;
+            node.weight -= weight;
+            if (node.weight <= 0) {
+                node.weight = 0;
+                displayChars -= node.display.length();
+                node.display = null;
+                terms--;
+            }
+            recompute(node);
+            return true;
+        }
+
+        int i = childIndex(node, key.charAt(pos));
+        if (i < 0) return false;
+        Node child = node.children[i];
+        if (matching(child.label, key, pos) < child.label.length) return false;
+        if (!delete(child, key, pos + child.label.length, weight)) return false;
+
+        if (child.display == null && child.children.length == 0) {
+            Node[] children = new Node[node.children.length - 1];
+            System.arraycopy(node.children, 0, children, 0, i);
+            System.arraycopy(node.children, i + 1, children, i, children.length - i);
+            node.children = children.length == 0 ? NO_CHILDREN : children;
+            nodes--;
+            labelChars -= child.label.length;
+        } else if (child.display == null && child.children.length == 1) {
+            Node only = child.children[0];
+            char[] label = Arrays.copyOf(child.label, child.label.length + only.label.length);
+            System.arraycopy(only.label, 0, label, child.label.length, only.label.length);
+            only.label = label;
+            node.children[i] = only;
+            nodes--;
+        }
+        recompute(node);
+        return true;
+    }
+
+    private static void recompute(Node node) {
+        int max = node.weight;
+        for (Node child : node.children) {
+            max = Math.max(max, child.maxWeight);
+        }
+        node.maxWeight = max;
+    }
+
+    private static int childIndex(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char c = node.children[mid].label[0];
+            if (c < first) {
+                low = mid + 1;
+            } else if (c > first) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int matching(char[] label, String key, int pos) {
+        int n = Math.min(label.length, key.length() - pos);
+        for (int i = 0; i < n; i++) {
+            if (label[i] != key.charAt(pos + i)) return i;
+        }
+        return n;
+    }
+
+    private static String display(String text) {
+        if (text == null) return "";
+        String collapsed = text.strip().replaceAll("\\s+", " ");
+        return collapsed.length() > MAX_KEY_LENGTH ? collapsed.substring(0, MAX_KEY_LENGTH).strip() : collapsed;
+    }
+
+    private static final class Node {
+        char[] label;
+        Node[] children = NO_CHILDREN;
+        String display;
+        int weight;
+        int maxWeight;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    private record Candidate(Node node, boolean terminal, int weight) {
+    }
+}
@@ -0,0 +1,4 @@
+package com.studyshare.platform.search;
+
+public record Suggestion(String text, int weight) {
+}
@@ -0,0 +1,61 @@
+package com.studyshare.platform.search;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-tag posting lists of resource ids.
+ */
+public class TagIndex {
+
+    private final Map<String, IdList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(long id, Collection<String> tags) {
+        lock.writeLock().lock();
+        try {
+            for (String tag : tags) {
+                postings.computeIfAbsent(tag, t -> new IdList()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id, Collection<String> tags) {
+        lock.writeLock().lock();
+        try {
+            for (String tag : tags) {
+                IdList list = postings.get(tag);
+                if (list != null && list.remove(id) && list.isEmpty()) {
+                    postings.remove(tag);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int count(String tag) {
+        lock.readLock().lock();
+        try {
+            IdList list = postings.get(tag);
+            return list == null ? 0 : list.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] newestFirst(String tag, long beforeId, int limit) {
+        lock.readLock().lock();
+        try {
+            IdList list = postings.get(tag);
+            return list == null ? new long[0] : list.descendingBefore(beforeId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.studyshare.platform.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds vocabulary terms within a few edits of a misspelled one. Terms are
+ * posted under each padded trigram together with their length, so a lookup
+ * only reads the lists for lengths that could be within range. The survivors
+ * are checked with a bounded optimal string alignment distance, which counts
+ * an adjacent transposition ("cs011" for "cs101") as one edit.
+ * Not thread-safe; {@link InvertedIndex} guards access.
+ */
+class TrigramIndex {
+
+    private static final char PAD = '$';
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final Map<Long, TermList> grams = new HashMap<>();
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+    private String[] terms = new String[64];
+    private int nextId;
+
+    void add(String term) {
+        if (ids.containsKey(term)) return;
+        int id = freeIds.isEmpty() ? nextId++ : freeIds.pop();
+        if (id == terms.length) {
+            terms = Arrays.copyOf(terms, id * 2);
+        }
+        terms[id] = term;
+        ids.put(term, id);
+        for (long gram : grams(term)) {
+            grams.computeIfAbsent(gram, g -> new TermList()).add(id);
+        }
+    }
+
+    void remove(String term) {
+        Integer id = ids.remove(term);
+        if (id == null) return;
+        for (long gram : grams(term)) {
+            TermList list = grams.get(gram);
+            if (list != null && list.remove(id) && list.isEmpty()) {
+                grams.remove(gram);
+            }
+        }
+        terms[id] = null;
+        freeIds.push(id);
+    }
+
+    /**
+     * Terms within {@code maxEdits} of {@code term}, closest first.
+     */
+    List<Match> similar(String term, int maxEdits) {
+        if (maxEdits <= 0) return List.of();
+        String padded = padded(term);
+        Set<String> queryGrams = new LinkedHashSet<>();
+        for (int i = 0; i < padded.length() - 2; i++) {
+            queryGrams.add(padded.substring(i, i + 3));
+        }
+        List<Match> matches = new ArrayList<>();
+        int min = Math.max(1, term.length() - maxEdits);
+        int max = term.length() + maxEdits;
+        for (int length = min; length <= max; length++) {
+            // An edit breaks at most three trigrams and a transposition four, so
+            // a match shares at least this many with the query, counted from either side.
+            int required = Math.max(1, Math.max(queryGrams.size(), length) - 4 * maxEdits);
+            // Sparse: only terms sharing a trigram of this length are counted.
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (String gram : queryGrams) {
+                TermList list = grams.get(key(gram, length));
+                if (list == null) continue;
+                for (int i = 0; i < list.size(); i++) {
+                    shared.merge(list.get(i), 1, Integer::sum);
+                }
+            }
+            for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+                if (candidate.getValue() < required) continue;
+                int id = candidate.getKey();
+                int distance = distance(term, terms[id], maxEdits);
+                if (distance <= maxEdits) {
+                    matches.add(new Match(terms[id], distance));
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::term));
+        return matches;
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    /**
+     * Optimal string alignment distance, or {@code maxEdits + 1} once it is certain to exceed it.
+     */
+    static int distance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) return maxEdits + 1;
+        int[] twoBack = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, twoBack[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxEdits) return maxEdits + 1;
+            int[] recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static List<Long> grams(String term) {
+        String padded = padded(term);
+        List<Long> keys = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i < padded.length() - 2; i++) {
+            long key = key(padded.substring(i, i + 3), term.length());
+            if (!keys.contains(key)) keys.add(key);
+        }
+        return keys;
+    }
+
+    private static String padded(String term) {
+        return PAD + term + PAD;
+    }
+
+    private static long key(String gram, int length) {
+        return (long) length << 48 | (long) gram.charAt(0) << 32 | (long) gram.charAt(1) << 16 | gram.charAt(2);
+    }
+
+    record Match(String term, int distance) {
+    }
+
+    /**
+     * Sorted term ids for one trigram and length.
+     */
+    private static final class TermList {
+        private int[] ids = new int[2];
+        private int size;
+
+        void add(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) return;
+            int insertAt = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) return false;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        int get(int index) {
+            return ids[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
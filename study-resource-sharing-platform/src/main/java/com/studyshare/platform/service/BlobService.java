@@ -0,0 +1,71 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.ContentBlob;
+import com.studyshare.platform.repository.ContentBlobRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Reference counting for content-addressed objects. Every count change is a
+ * single conditional UPDATE/DELETE, so concurrent uploads and deletes of the
+ * same content never lose a reference.
+ */
+@Service
+public class BlobService {
+
+    private static final int MAX_REGISTER_ATTEMPTS = 3;
+
+    private final ContentBlobRepository blobRepository;
+
+    public BlobService(ContentBlobRepository blobRepository) {
+        this.blobRepository = blobRepository;
+    }
+
+    /**
+     * Takes a reference on existing content and returns its key, or empty when
+     * the content has not been stored yet.
+     */
+    public Optional<String> acquire(String sha256) {
+        if (blobRepository.incrementRefs(sha256) == 0) {
+            return Optional.empty();
+        }
+        return blobRepository.findBySha256(sha256).map(ContentBlob::getS3Key);
+    }
+
+    /**
+     * Records content that was just written under {@code s3Key}. If the same
+     * content was registered concurrently, a reference is taken on that blob
+     * instead and its key returned; the caller then owns a redundant object.
+     */
+    public String register(String sha256, String s3Key, long size) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return blobRepository.saveAndFlush(new ContentBlob(sha256, s3Key, size)).getS3Key();
+            } catch (DataIntegrityViolationException e) {
+                Optional<String> existing = acquire(sha256);
+                if (existing.isPresent()) {
+                    return existing.get();
+                }
+                if (attempt == MAX_REGISTER_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops a reference and returns the key to delete when it was the last one.
+     */
+    public Optional<String> release(String sha256) {
+        Optional<ContentBlob> blob = blobRepository.findBySha256(sha256);
+        if (blob.isEmpty() || blobRepository.decrementRefs(sha256) == 0) {
+            return Optional.empty();
+        }
+        if (blobRepository.deleteIfUnreferenced(sha256) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(blob.get().getS3Key());
+    }
+}
@@ -0,0 +1,64 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.exception.ResourceNotFoundException;
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.storage.DiskObjectCache;
+import com.studyshare.platform.storage.ObjectContent;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.ZoneId;
+
+/**
+ * Serves resource bytes through the application. Stored objects never change
+ * once written, so the validators come from the resource row and a conditional
+ * request is answered without touching storage. Reads go through the
+ * {@link DiskObjectCache}, so popular files are fetched from storage once.
+ */
+@Service
+public class ContentService {
+
+    private final ResourceRepository resourceRepository;
+    private final DiskObjectCache cache;
+
+    public ContentService(ResourceRepository resourceRepository, DiskObjectCache cache) {
+        this.resourceRepository = resourceRepository;
+        this.cache = cache;
+    }
+
+    public Resource getResource(Long id) {
+        return resourceRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Resource not found with ID: " + id));
+    }
+
+    public ObjectContent open(Resource resource, long offset, long length) throws IOException {
+        return cache.read(resource.getS3Key(), resource.getFileSize(), offset, length);
+    }
+
+    /**
+     * Opens a generated thumbnail, or fails with not-found when the resource has
+     * no thumbnail of that width.
+     */
+    public ObjectContent openThumbnail(Resource resource, int width) throws IOException {
+        String key = ThumbnailService.thumbnailKey(resource.getS3Key(), width);
+        if (!ThumbnailService.thumbnailKeys(resource).contains(key)) {
+            throw new ResourceNotFoundException("No " + width + "px thumbnail for resource " + resource.getId());
+        }
+        return cache.read(key);
+    }
+
+    /**
+     * Strong ETag: the content hash when known, which identical uploads share.
+     */
+    public static String eTag(Resource resource) {
+        String tag = resource.getContentHash() != null
+                ? resource.getContentHash()
+                : resource.getId() + "-" + resource.getFileSize();
+        return "\"" + tag + "\"";
+    }
+
+    public static long lastModified(Resource resource) {
+        return resource.getUploadDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
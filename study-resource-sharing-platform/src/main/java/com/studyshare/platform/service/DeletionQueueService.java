@@ -0,0 +1,125 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.PendingDelete;
+import com.studyshare.platform.repository.ContentBlobRepository;
+import com.studyshare.platform.repository.PendingDeleteRepository;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.storage.StorageBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Durable, batched object deletes. Callers only insert a pending_deletes row; a
+ * scheduled drainer hands up to 1000 keys at a time to the storage backend (one
+ * DeleteObjects call per bucket on S3) and retries failures with exponential backoff. Keys that are
+ * referenced again by the time they are drained (shared content re-uploaded)
+ * are skipped.
+ */
+@Service
+public class DeletionQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeletionQueueService.class);
+    private static final int BATCH_SIZE = 1000;
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final PendingDeleteRepository pendingDeleteRepository;
+    private final ResourceRepository resourceRepository;
+    private final ContentBlobRepository blobRepository;
+    private final StorageBackend storage;
+
+    public DeletionQueueService(PendingDeleteRepository pendingDeleteRepository,
+                                ResourceRepository resourceRepository,
+                                ContentBlobRepository blobRepository, StorageBackend storage) {
+        this.pendingDeleteRepository = pendingDeleteRepository;
+        this.resourceRepository = resourceRepository;
+        this.blobRepository = blobRepository;
+        this.storage = storage;
+    }
+
+    public void enqueue(String s3Key) {
+        pendingDeleteRepository.save(new PendingDelete(s3Key));
+    }
+
+    @Scheduled(initialDelayString = "${storage.delete-queue.drain-interval-ms:30000}",
+               fixedDelayString = "${storage.delete-queue.drain-interval-ms:30000}")
+    public void drain() {
+        List<PendingDelete> batch;
+        do {
+            batch = pendingDeleteRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(
+                    LocalDateTime.now(), PageRequest.of(0, BATCH_SIZE));
+            if (!batch.isEmpty()) {
+                deleteBatch(batch);
+            }
+        } while (batch.size() == BATCH_SIZE);
+    }
+
+    void deleteBatch(List<PendingDelete> batch) {
+        Set<String> keys = batch.stream().map(PendingDelete::getS3Key).collect(Collectors.toSet());
+        // A thumbnail stays while its original is referenced again.
+        Set<String> owners = new HashSet<>();
+        for (String key : keys) {
+            String original = ThumbnailService.originalKey(key);
+            owners.add(original != null ? original : key);
+        }
+        Set<String> referencedOwners = new HashSet<>(resourceRepository.findS3KeysIn(owners));
+        referencedOwners.addAll(blobRepository.findS3KeysIn(owners));
+        Set<String> referenced = keys.stream()
+                .filter(key -> referencedOwners.contains(key)
+                        || referencedOwners.contains(ThumbnailService.originalKey(key)))
+                .collect(Collectors.toSet());
+
+        Map<String, String> errors = storage.delete(keys.stream()
+                .filter(key -> !referenced.contains(key))
+                .toList());
+
+        List<PendingDelete> done = new ArrayList<>();
+        List<PendingDelete> failed = new ArrayList<>();
+        for (PendingDelete pending : batch) {
+            String error = errors.get(pending.getS3Key());
+            if (error == null) {
+                done.add(pending);
+            } else {
+                pending.setLastError(truncate(error));
+                failed.add(pending);
+            }
+        }
+        if (!done.isEmpty()) {
+            pendingDeleteRepository.deleteAllInBatch(done);
+        }
+        if (!failed.isEmpty()) {
+            retryLater(failed);
+        }
+        log.info("Drained {} pending deletes ({} skipped as still referenced, {} failed)",
+                done.size(), referenced.size(), failed.size());
+    }
+
+    private void retryLater(List<PendingDelete> pending) {
+        LocalDateTime now = LocalDateTime.now();
+        for (PendingDelete p : pending) {
+            p.setAttempts(p.getAttempts() + 1);
+            p.setNextAttemptAt(now.plus(backoff(p.getAttempts())));
+        }
+        pendingDeleteRepository.saveAll(pending);
+    }
+
+    private static String truncate(String error) {
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    static Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(30L << Math.min(attempts - 1, 10));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+}
@@ -0,0 +1,138 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.exception.ResourceNotFoundException;
+import com.studyshare.platform.model.DirectUpload;
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.model.User;
+import com.studyshare.platform.repository.DirectUploadRepository;
+import com.studyshare.platform.storage.ObjectInfo;
+import com.studyshare.platform.storage.SignedUrl;
+import com.studyshare.platform.storage.StorageBackend;
+import com.studyshare.platform.storage.StoredObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Browser-to-storage uploads. The server validates the metadata and issues a
+ * presigned PUT whose signature covers Content-Type and Content-Length, so the
+ * store rejects any other type or size; finalize then checks the stored object
+ * before the Resource row is written. Only backends that can sign URLs support this.
+ */
+@Service
+public class DirectUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(DirectUploadService.class);
+
+    private final DirectUploadRepository uploadRepository;
+    private final StorageBackend storage;
+    private final ResourceService resourceService;
+
+    @Value("${aws.s3.uploadUrlTtl:15m}")
+    private Duration uploadUrlTtl;
+
+    @Value("${spring.servlet.multipart.max-file-size}")
+    private DataSize maxFileSize;
+
+    public DirectUploadService(DirectUploadRepository uploadRepository, StorageBackend storage,
+                               ResourceService resourceService) {
+        this.uploadRepository = uploadRepository;
+        this.storage = storage;
+        this.resourceService = resourceService;
+    }
+
+    public DirectUploadTicket create(String title, String description, String tags,
+                                     String fileName, String contentType, long fileSize, User uploader) {
+        resourceService.validateMetadata(title, tags);
+        resourceService.validateContentType(contentType);
+        if (fileSize <= 0) {
+            throw new IllegalArgumentException("File cannot be empty");
+        }
+        if (fileSize > maxFileSize.toBytes()) {
+            throw new IllegalArgumentException("File too large! Maximum upload size is " + maxFileSize.toMegabytes() + "MB.");
+        }
+
+        String s3Key = resourceService.newObjectKey(fileName);
+        SignedUrl signed = storage.signedPutUrl(s3Key, contentType, fileSize, uploadUrlTtl)
+                .orElseThrow(() -> new IllegalArgumentException("Direct uploads are not supported by this storage backend"));
+
+        DirectUpload upload = new DirectUpload();
+        upload.setId(UUID.randomUUID().toString());
+        upload.setUploaderId(uploader.getId());
+        upload.setTitle(title.trim());
+        upload.setDescription(description != null ? description.trim() : "");
+        upload.setTags(tags);
+        upload.setFileName(fileName);
+        upload.setFileType(contentType);
+        upload.setFileSize(fileSize);
+        upload.setS3Key(s3Key);
+        uploadRepository.save(upload);
+
+        Map<String, String> headers = Map.of("Content-Type", contentType);
+        return new DirectUploadTicket(upload.getId(), signed.url(), headers);
+    }
+
+    public Resource complete(String id, User uploader) {
+        DirectUpload upload = uploadRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload not found: " + id));
+        if (!upload.getUploaderId().equals(uploader.getId())) {
+            throw new SecurityException("Not authorized to access this upload");
+        }
+        // Concurrent finalizes of one upload would each create a resource; only the claimant proceeds.
+        if (uploadRepository.claim(id) == 0) {
+            throw new IllegalArgumentException("This upload is already being finalized");
+        }
+
+        Resource saved;
+        try {
+            ObjectInfo stored = storage.stat(upload.getS3Key())
+                    .orElseThrow(() -> new IllegalArgumentException("The file has not been uploaded yet"));
+            if (stored.size() != upload.getFileSize() || !upload.getFileType().equals(stored.contentType())) {
+                resourceService.deleteObject(upload.getS3Key());
+                uploadRepository.delete(upload);
+                throw new IllegalArgumentException("Uploaded file does not match the declared size or type");
+            }
+
+            StoredObject object = new StoredObject(upload.getS3Key(), upload.getFileName(),
+                    upload.getFileType(), upload.getFileSize());
+            saved = resourceService.saveMetadata(object, upload.getTitle(), upload.getDescription(),
+                    upload.getTags(), uploader);
+        } catch (RuntimeException e) {
+            uploadRepository.unclaim(id);
+            throw e;
+        }
+        uploadRepository.delete(upload);
+        log.info("Finalized direct upload {}: {}", id, upload.getS3Key());
+        return saved;
+    }
+
+    /**
+     * Removes uploads that were never finalized, along with any object the
+     * browser managed to store.
+     */
+    @Scheduled(fixedDelayString = "${uploads.cleanup-interval-ms:3600000}")
+    public void expireAbandonedUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(uploadUrlTtl.multipliedBy(2));
+        List<DirectUpload> abandoned = uploadRepository.findByCreatedAtBefore(cutoff);
+        for (DirectUpload upload : abandoned) {
+            resourceService.deleteObject(upload.getS3Key());
+            uploadRepository.delete(upload);
+        }
+        if (!abandoned.isEmpty()) {
+            log.info("Expired {} abandoned direct uploads", abandoned.size());
+        }
+    }
+
+
+    public record DirectUploadTicket(String id, String url, Map<String, String> headers) {
+    }
+}
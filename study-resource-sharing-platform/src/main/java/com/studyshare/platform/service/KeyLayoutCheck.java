@@ -0,0 +1,41 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.repository.ContentBlobRepository;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.storage.KeyLayout;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refuses to start when stored keys name a bucket that is no longer listed in
+ * {@code storage.layout.buckets}. Such keys could not be read, deleted or
+ * reconciled, so a shrunk bucket list is reported before any traffic arrives.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class KeyLayoutCheck implements ApplicationRunner {
+
+    private final KeyLayout keyLayout;
+    private final ResourceRepository resourceRepository;
+    private final ContentBlobRepository blobRepository;
+
+    public KeyLayoutCheck(KeyLayout keyLayout, ResourceRepository resourceRepository,
+                          ContentBlobRepository blobRepository) {
+        this.keyLayout = keyLayout;
+        this.resourceRepository = resourceRepository;
+        this.blobRepository = blobRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String marker : keyLayout.unconfiguredBucketMarkers()) {
+            if (resourceRepository.existsByS3KeyStartingWith(marker) || blobRepository.existsByS3KeyStartingWith(marker)) {
+                throw new IllegalStateException("Stored keys start with " + marker + " but storage.layout.buckets lists only "
+                        + keyLayout.bucketCount() + " bucket(s). Buckets can only be appended; restore the removed entries.");
+            }
+        }
+    }
+}
@@ -1,42 +1,90 @@
 package com.studyshare.platform.service;
 
+import com.studyshare.platform.dto.ResourceCard;
 import com.studyshare.platform.exception.ResourceNotFoundException;
 import com.studyshare.platform.model.Resource;
 import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.storage.SignedUrl;
+import com.studyshare.platform.storage.StorageBackend;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetUrlRequest;
-import software.amazon.awssdk.services.s3.presigner.S3Presigner;
-import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
-import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class PreviewService {
 
+    private static final int MAX_CACHED_URLS = 10_000;
+
     private final ResourceRepository resourceRepository;
-    private final S3Client s3Client;
+    private final StorageBackend storage;
+    private final ConcurrentHashMap<String, CachedUrl> urlCache = new ConcurrentHashMap<>();
 
-    @Value("${aws.s3.bucketName}")
-    private String bucketName;
+    @Value("${aws.s3.presignedUrlTtl:15m}")
+    private Duration urlTtl;
 
-    public PreviewService(S3Client s3Client, ResourceRepository resourceRepository) {
-        this.s3Client = s3Client;
+    public PreviewService(StorageBackend storage, ResourceRepository resourceRepository) {
+        this.storage = storage;
         this.resourceRepository = resourceRepository;
     }
 
     public Resource getResourceById(Long id) {
-        return resourceRepository.findById(id)
+        return resourceRepository.findWithUploaderById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found with ID: " + id));
     }
 
-    public String generateFileUrl(String s3Key) {
-        return s3Client.utilities().getUrl(GetUrlRequest.builder()
-                .bucket(bucketName)
-                .key(s3Key)
-                .build()).toString();
+    /**
+     * A signed URL for the object, or the application's own content endpoint when
+     * the storage backend cannot sign URLs.
+     */
+    public String generateFileUrl(Long resourceId, String s3Key) {
+        Instant now = Instant.now();
+        CachedUrl cached = urlCache.get(s3Key);
+        if (cached != null && now.isBefore(cached.refreshAt())) {
+            return cached.url();
+        }
+        Optional<SignedUrl> presigned = storage.signedGetUrl(s3Key, urlTtl);
+        if (presigned.isEmpty()) {
+            return contentUrl(resourceId);
+        }
+        CachedUrl signed = cache(presigned.get(), now);
+        if (urlCache.size() >= MAX_CACHED_URLS) {
+            urlCache.values().removeIf(url -> !now.isBefore(url.refreshAt()));
+            if (urlCache.size() >= MAX_CACHED_URLS) {
+                urlCache.clear();
+            }
+        }
+        urlCache.put(s3Key, signed);
+        return signed.url();
+    }
+
+    /**
+     * The application's own content endpoint, which supports ranges and conditional requests.
+     */
+    public String contentUrl(Long resourceId) {
+        return "/resources/" + resourceId + "/content";
+    }
+
+    public Map<Long, String> generateFileUrls(Collection<ResourceCard> resources) {
+        Map<Long, String> urls = new HashMap<>();
+        for (ResourceCard resource : resources) {
+            urls.put(resource.getId(), generateFileUrl(resource.getId(), resource.getS3Key()));
+        }
+        return urls;
+    }
+
+    private CachedUrl cache(SignedUrl signed, Instant now) {
+        // Stop handing out a URL once less than a fifth of its lifetime remains.
+        Instant refreshAt = signed.expiration().minus(urlTtl.dividedBy(5));
+        return new CachedUrl(signed.url(), refreshAt.isAfter(now) ? refreshAt : now);
+    }
+
+    private record CachedUrl(String url, Instant refreshAt) {
     }
 }
@@ -0,0 +1,302 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.repository.ContentBlobRepository;
+import com.studyshare.platform.repository.DirectUploadRepository;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.repository.UploadSessionRepository;
+import com.studyshare.platform.storage.KeyHashSet;
+import com.studyshare.platform.storage.KeyLayout;
+import com.studyshare.platform.storage.KeyLayout.Partition;
+import com.studyshare.platform.storage.ObjectInfo;
+import com.studyshare.platform.storage.StorageBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Finds stored objects no row refers to (orphans) and rows whose object is gone
+ * (missing). The key space is split into partitions: every hashed prefix of
+ * the {@link KeyLayout}, plus the first hex digit after each flat prefix
+ * ({@code reconcile.prefixes}) under every layout root. Partitions are
+ * reconciled in parallel, each holding only its own keys as sorted 64-bit hashes, so memory is bounded by
+ * the largest partition times the parallelism rather than by the bucket size.
+ * <p>
+ * The database reads and the listing of a partition are not one snapshot, so
+ * uploads and deletes that land mid-run would look like drift. Every candidate
+ * is therefore re-checked before it is reported: an orphan must still have no
+ * row, and a missing object must still have a row and still be absent.
+ */
+@Service
+public class ReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationService.class);
+    private static final int DB_PAGE_SIZE = 5000;
+    private static final int MAX_SAMPLES = 100;
+    private static final String HEX = "0123456789abcdef";
+    private static final int RECHECK_BATCH = 1000;
+
+    private final StorageBackend storage;
+    private final ResourceRepository resourceRepository;
+    private final ContentBlobRepository blobRepository;
+    private final UploadSessionRepository sessionRepository;
+    private final DirectUploadRepository directUploadRepository;
+    private final DeletionQueueService deletionQueue;
+    private final KeyLayout keyLayout;
+    private final ThreadPoolTaskExecutor executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile Report lastReport;
+
+    @Value("${reconcile.prefixes:uploads/,blobs/}")
+    private List<String> prefixes;
+
+    @Value("${reconcile.grace-period:24h}")
+    private Duration gracePeriod;
+
+    @Value("${reconcile.delete-orphans:false}")
+    private boolean deleteOrphans;
+
+    public ReconciliationService(StorageBackend storage, ResourceRepository resourceRepository,
+                                 ContentBlobRepository blobRepository, UploadSessionRepository sessionRepository,
+                                 DirectUploadRepository directUploadRepository, DeletionQueueService deletionQueue,
+                                 KeyLayout keyLayout,
+                                 @Qualifier("reconcileExecutor") ThreadPoolTaskExecutor executor) {
+        this.storage = storage;
+        this.resourceRepository = resourceRepository;
+        this.blobRepository = blobRepository;
+        this.sessionRepository = sessionRepository;
+        this.directUploadRepository = directUploadRepository;
+        this.deletionQueue = deletionQueue;
+        this.keyLayout = keyLayout;
+        this.executor = executor;
+    }
+
+    public Report getLastReport() {
+        return lastReport;
+    }
+
+    @Scheduled(cron = "${reconcile.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        reconcile();
+    }
+
+    public Report reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Reconciliation already running, skipping");
+            return lastReport;
+        }
+        try {
+            Instant cutoff = Instant.now().minus(gracePeriod);
+            Set<String> inFlight = new HashSet<>(sessionRepository.findAllS3Keys());
+            inFlight.addAll(directUploadRepository.findAllS3Keys());
+
+            Report report = new Report();
+            List<Future<?>> tasks = new ArrayList<>();
+            try {
+                for (Partition partition : partitions()) {
+                    tasks.add(executor.submit(() -> reconcilePartition(partition, cutoff, inFlight, report)));
+                }
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+            } catch (Exception e) {
+                log.error("Reconciliation failed: {}", e.getMessage(), e);
+                tasks.forEach(task -> task.cancel(true));
+                return lastReport;
+            }
+            log.info("Reconciled {} objects against {} keys: {} orphaned, {} missing",
+                    report.getObjects(), report.getKeys(), report.getOrphans(), report.getMissing());
+            lastReport = report;
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<Partition> partitions() {
+        List<Partition> partitions = new ArrayList<>(keyLayout.partitions());
+        for (String root : keyLayout.roots()) {
+            for (String prefix : prefixes) {
+                for (char digit : HEX.toCharArray()) {
+                    String partition = root + prefix + digit;
+                    partitions.add(new Partition(keyLayout.bucketFor(partition), partition));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    void reconcilePartition(Partition partition, Instant cutoff, Set<String> inFlight, Report report) {
+        KeyHashSet known = new KeyHashSet();
+        long keys = forEachKnownKey(partition.prefix(), known::add);
+        known.seal();
+
+        KeyHashSet stored = new KeyHashSet();
+        AtomicLong objects = new AtomicLong();
+        List<String> orphans = new ArrayList<>();
+        storage.list(partition.prefix(), (ObjectInfo object) -> {
+            objects.incrementAndGet();
+            stored.add(object.key());
+            if (!known.contains(owner(object.key())) && !inFlight.contains(owner(object.key()))
+                    && object.lastModified().isBefore(cutoff)) {
+                orphans.add(object.key());
+                if (orphans.size() == RECHECK_BATCH) {
+                    reportOrphans(orphans, report);
+                }
+            }
+        });
+        reportOrphans(orphans, report);
+        stored.seal();
+
+        List<String> missing = new ArrayList<>();
+        forEachKnownKey(partition.prefix(), key -> {
+            if (!stored.contains(key)) {
+                missing.add(key);
+                if (missing.size() == RECHECK_BATCH) {
+                    reportMissing(missing, report);
+                }
+            }
+        });
+        reportMissing(missing, report);
+        report.scanned(objects.get(), keys);
+    }
+
+    private static String owner(String key) {
+        String original = ThumbnailService.originalKey(key);
+        return original != null ? original : key;
+    }
+
+    /**
+     * Reports the candidates whose owner still has no row; a row written since
+     * the partition's keys were read means the object was adopted mid-run.
+     */
+    private void reportOrphans(List<String> candidates, Report report) {
+        if (candidates.isEmpty()) return;
+        Set<String> referenced = referencedKeys(candidates.stream().map(ReconciliationService::owner).toList());
+        for (String key : candidates) {
+            if (!referenced.contains(owner(key))) {
+                report.orphan(key);
+                if (deleteOrphans) {
+                    deletionQueue.enqueue(key);
+                }
+            }
+        }
+        candidates.clear();
+    }
+
+    /**
+     * Reports the candidates that still have a row and whose object is still
+     * absent; uploads finished after the listing and deletes committed during
+     * the run are neither.
+     */
+    private void reportMissing(List<String> candidates, Report report) {
+        if (candidates.isEmpty()) return;
+        Set<String> referenced = referencedKeys(candidates);
+        for (String key : candidates) {
+            if (referenced.contains(key) && storage.stat(key).isEmpty()) {
+                report.missing(key);
+            }
+        }
+        candidates.clear();
+    }
+
+    private Set<String> referencedKeys(List<String> keys) {
+        Set<String> referenced = new HashSet<>(resourceRepository.findS3KeysIn(keys));
+        referenced.addAll(blobRepository.findS3KeysIn(keys));
+        return referenced;
+    }
+
+    private long forEachKnownKey(String partition, Consumer<String> consumer) {
+        long count = 0;
+        Pageable page = PageRequest.of(0, DB_PAGE_SIZE);
+        String likePrefix = partition + "%";
+        for (KeySource source : List.<KeySource>of(resourceRepository::findS3KeysAfter, blobRepository::findS3KeysAfter)) {
+            String after = "";
+            List<String> batch;
+            do {
+                batch = source.keysAfter(likePrefix, after, page);
+                batch.forEach(consumer);
+                count += batch.size();
+                if (!batch.isEmpty()) after = batch.get(batch.size() - 1);
+            } while (batch.size() == DB_PAGE_SIZE);
+        }
+        return count;
+    }
+
+    @FunctionalInterface
+    private interface KeySource {
+        List<String> keysAfter(String prefix, String after, Pageable pageable);
+    }
+
+    /**
+     * Totals of one reconciliation run with up to 100 sample keys per kind.
+     */
+    public static class Report {
+
+        private final Instant startedAt = Instant.now();
+        private final List<String> orphanSamples = new ArrayList<>();
+        private final List<String> missingSamples = new ArrayList<>();
+        private long objects;
+        private long keys;
+        private long orphans;
+        private long missing;
+
+        synchronized void orphan(String key) {
+            if (orphans++ < MAX_SAMPLES) orphanSamples.add(key);
+        }
+
+        synchronized void missing(String key) {
+            if (missing++ < MAX_SAMPLES) missingSamples.add(key);
+        }
+
+        synchronized void scanned(long objects, long keys) {
+            this.objects += objects;
+            this.keys += keys;
+        }
+
+        public Instant getStartedAt() {
+            return startedAt;
+        }
+
+        public synchronized long getObjects() {
+            return objects;
+        }
+
+        public synchronized long getKeys() {
+            return keys;
+        }
+
+        public synchronized long getOrphans() {
+            return orphans;
+        }
+
+        public synchronized long getMissing() {
+            return missing;
+        }
+
+        public synchronized List<String> getOrphanSamples() {
+            return List.copyOf(orphanSamples);
+        }
+
+        public synchronized List<String> getMissingSamples() {
+            return List.copyOf(missingSamples);
+        }
+    }
+}
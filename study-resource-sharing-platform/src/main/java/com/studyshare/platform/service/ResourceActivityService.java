@@ -0,0 +1,115 @@
+package com.studyshare.platform.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Write-behind view and download counters. Requests only bump an in-memory
+ * delta in one of several lock stripes chosen by resource id; a scheduled
+ * flush swaps the stripes out and applies the summed deltas with one batched
+ * UPDATE in a single transaction, so a crash loses at most one flush interval
+ * of counts. A failed flush rolls back as a whole and puts its deltas back for
+ * the next attempt, so no row is ever counted twice. Every event also feeds
+ * the {@link TrendingService} score immediately.
+ */
+@Service
+public class ResourceActivityService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceActivityService.class);
+    private static final int STRIPE_BITS = 4;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+    private static final int VIEWS = 0;
+    private static final int DOWNLOADS = 1;
+    private static final String UPDATE_SQL =
+            "UPDATE resources SET view_count = view_count + ?, download_count = download_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TrendingService trendingService;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public ResourceActivityService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                   TrendingService trendingService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.trendingService = trendingService;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public void recordView(Long resourceId) {
+        record(resourceId, VIEWS, 1);
+        trendingService.recordView(resourceId);
+    }
+
+    public void recordDownload(Long resourceId) {
+        record(resourceId, DOWNLOADS, 1);
+        trendingService.recordDownload(resourceId);
+    }
+
+    @PreDestroy
+    @Scheduled(initialDelayString = "${counters.flush-interval-ms:5000}",
+               fixedDelayString = "${counters.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        // Sorted by id so concurrent flushers on other nodes lock rows in the same order.
+        Map<Long, long[]> deltas = new TreeMap<>();
+        for (Stripe stripe : stripes) {
+            for (Map.Entry<Long, long[]> entry : stripe.drain().entrySet()) {
+                long[] sum = deltas.computeIfAbsent(entry.getKey(), id -> new long[2]);
+                sum[VIEWS] += entry.getValue()[VIEWS];
+                sum[DOWNLOADS] += entry.getValue()[DOWNLOADS];
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        for (Map.Entry<Long, long[]> entry : deltas.entrySet()) {
+            batch.add(new Object[]{entry.getValue()[VIEWS], entry.getValue()[DOWNLOADS], entry.getKey()});
+        }
+        try {
+            transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, batch));
+            log.debug("Flushed activity counters for {} resources", deltas.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to flush activity counters for {} resources: {}", deltas.size(), e.getMessage());
+            for (Map.Entry<Long, long[]> entry : deltas.entrySet()) {
+                record(entry.getKey(), VIEWS, entry.getValue()[VIEWS]);
+                record(entry.getKey(), DOWNLOADS, entry.getValue()[DOWNLOADS]);
+            }
+        }
+    }
+
+    private void record(Long resourceId, int kind, long delta) {
+        if (delta == 0) return;
+        // Fibonacci hashing: the top bits of the product mix every bit of the id.
+        Stripe stripe = stripes[(int) ((resourceId * GOLDEN_RATIO) >>> (Long.SIZE - STRIPE_BITS))];
+        synchronized (stripe) {
+            stripe.counts.computeIfAbsent(resourceId, id -> new long[2])[kind] += delta;
+        }
+    }
+
+    private static final class Stripe {
+
+        private Map<Long, long[]> counts = new HashMap<>();
+
+        synchronized Map<Long, long[]> drain() {
+            Map<Long, long[]> drained = counts;
+            counts = new HashMap<>();
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.model.User;
+import com.studyshare.platform.repository.ResourceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resource counts for the dashboard, kept in memory so page views never hit the
+ * database. Counts are loaded with the other indexes, adjusted on upload and
+ * delete, and periodically corrected against the resources table.
+ */
+@Service
+public class ResourceCounterService implements ResourceIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceCounterService.class);
+
+    private final LongAdder total = new LongAdder();
+    private final ConcurrentHashMap<Long, LongAdder> byUploader = new ConcurrentHashMap<>();
+    private final ResourceRepository resourceRepository;
+
+    public ResourceCounterService(ResourceRepository resourceRepository) {
+        this.resourceRepository = resourceRepository;
+    }
+
+    @Override
+    public void add(Resource resource) {
+        total.increment();
+        byUploader.computeIfAbsent(resource.getUploader().getId(), id -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void remove(Resource resource) {
+        total.decrement();
+        LongAdder count = byUploader.get(resource.getUploader().getId());
+        if (count != null) {
+            count.decrement();
+        }
+    }
+
+    public long totalResources() {
+        return total.sum();
+    }
+
+    public long resourcesBy(User user) {
+        LongAdder count = byUploader.get(user.getId());
+        return count == null ? 0 : count.sum();
+    }
+
+    @Scheduled(initialDelayString = "${counters.reconcile-interval-ms:600000}",
+               fixedDelayString = "${counters.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        Map<Long, Long> actual = new HashMap<>();
+        long actualTotal = 0;
+        for (ResourceRepository.UploaderCount row : resourceRepository.countGroupedByUploader()) {
+            actual.put(row.getUploaderId(), row.getTotal());
+            actualTotal += row.getTotal();
+        }
+
+        long drift = correct(total, actualTotal);
+        for (Map.Entry<Long, LongAdder> entry : byUploader.entrySet()) {
+            drift += correct(entry.getValue(), actual.getOrDefault(entry.getKey(), 0L));
+        }
+        for (Map.Entry<Long, Long> entry : actual.entrySet()) {
+            if (!byUploader.containsKey(entry.getKey())) {
+                drift += correct(byUploader.computeIfAbsent(entry.getKey(), id -> new LongAdder()), entry.getValue());
+            }
+        }
+        byUploader.entrySet().removeIf(entry -> entry.getValue().sum() == 0 && !actual.containsKey(entry.getKey()));
+
+        if (drift != 0) {
+            log.warn("Reconciled resource counters, corrected a total drift of {}", drift);
+        }
+    }
+
+    private static long correct(LongAdder counter, long actual) {
+        long delta = actual - counter.sum();
+        if (delta != 0) {
+            counter.add(delta);
+        }
+        return Math.abs(delta);
+    }
+}
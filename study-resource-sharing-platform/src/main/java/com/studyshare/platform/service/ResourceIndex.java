@@ -0,0 +1,26 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.Resource;
+
+import java.util.List;
+
+/**
+ * An in-memory view over the resources table. Implementations are loaded once
+ * at startup by {@link ResourceIndexer} and then kept current as resources are
+ * saved and deleted.
+ */
+public interface ResourceIndex {
+
+    void add(Resource resource);
+
+    /**
+     * Adds one startup page of resources; override to batch per-page lookups.
+     */
+    default void addAll(List<Resource> resources) {
+        for (Resource resource : resources) {
+            add(resource);
+        }
+    }
+
+    void remove(Resource resource);
+}
@@ -0,0 +1,108 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.search.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Service
+public class ResourceIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceIndexer.class);
+    private static final int BATCH_SIZE = 1000;
+
+    private final ResourceRepository resourceRepository;
+    private final List<ResourceIndex> indexes;
+
+    public ResourceIndexer(ResourceRepository resourceRepository, List<ResourceIndex> indexes) {
+        this.resourceRepository = resourceRepository;
+        this.indexes = indexes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexes() {
+        long start = System.currentTimeMillis();
+        long lastId = 0;
+        long loaded = 0;
+        List<Resource> batch;
+        do {
+            batch = resourceRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, BATCH_SIZE));
+            List<Resource> indexable = batch.stream().filter(ResourceIndexer::indexable).toList();
+            for (ResourceIndex index : indexes) {
+                index.addAll(indexable);
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            loaded += indexable.size();
+        } while (batch.size() == BATCH_SIZE);
+        log.info("Loaded {} resources into {} indexes in {} ms", loaded, indexes.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Adds the resource to every index. Inside a transaction this waits for the
+     * commit, so a rollback never leaves a searchable ghost behind.
+     */
+    public void indexed(Resource resource) {
+        if (!indexable(resource)) return;
+        afterCommit(() -> {
+            for (ResourceIndex index : indexes) {
+                index.add(resource);
+            }
+        });
+    }
+
+    /**
+     * Adds the resource to {@code index} again after something that index
+     * reads, such as extracted text, changed; the other indexes are untouched.
+     */
+    public void reindexed(Resource resource, ResourceIndex index) {
+        if (!indexable(resource)) return;
+        afterCommit(() -> index.add(resource));
+    }
+
+    /**
+     * Removes the resource from every index once the surrounding transaction,
+     * if any, has committed; a rolled-back delete keeps it searchable.
+     */
+    public void removed(Resource resource) {
+        if (!RoaringBitmap.inRange(resource.getId())) return;
+        afterCommit(() -> {
+            for (ResourceIndex index : indexes) {
+                index.remove(resource);
+            }
+        });
+    }
+
+    /**
+     * The attribute bitmaps hold 32-bit ids; a resource beyond that range stays
+     * out of every index rather than failing the batch it arrived in.
+     */
+    private static boolean indexable(Resource resource) {
+        if (RoaringBitmap.inRange(resource.getId())) return true;
+        log.warn("Not indexing resource {}: id is outside the 32-bit range of the search indexes", resource.getId());
+        return false;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -1,25 +1,35 @@
 package com.studyshare.platform.service;
 
+import com.studyshare.platform.dto.CursorPage;
+import com.studyshare.platform.dto.Facets;
+import com.studyshare.platform.dto.PageCursor;
+import com.studyshare.platform.dto.ResourceCard;
+import com.studyshare.platform.dto.SearchResults;
 import com.studyshare.platform.exception.ResourceNotFoundException;
+import com.studyshare.platform.model.DerivativeStatus;
 import com.studyshare.platform.model.Resource;
 import com.studyshare.platform.model.User;
 import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.repository.ResourceTextRepository;
+import com.studyshare.platform.storage.ContentDigest;
+import com.studyshare.platform.storage.KeyLayout;
+import com.studyshare.platform.storage.StorageBackend;
+import com.studyshare.platform.storage.StoredObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -27,6 +37,7 @@ import java.util.UUID;
 public class ResourceService {
 
     private static final Logger log = LoggerFactory.getLogger(ResourceService.class);
+    private static final int MAX_TITLE_LENGTH = 200;
     private static final Set<String> ALLOWED_TYPES = Set.of(
             "application/pdf", "image/jpeg", "image/png", "image/gif",
             "image/webp", "application/msword",
@@ -36,69 +47,192 @@ public class ResourceService {
             "text/plain"
     );
 
-    private final S3Client s3Client;
     private final ResourceRepository resourceRepository;
+    private final ResourceTextRepository textRepository;
+    private final ResourceIndexer resourceIndexer;
+    private final SearchService searchService;
+    private final TagService tagService;
+    private final TrendingService trendingService;
+    private final ResourceCounterService counterService;
+    private final BlobService blobService;
+    private final StorageBackend storage;
+    private final DeletionQueueService deletionQueue;
+    private final KeyLayout keyLayout;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Value("${aws.s3.bucketName}")
-    private String bucketName;
-
-    @Value("${aws.s3.region}")
-    private String region;
-
-    public ResourceService(S3Client s3Client, ResourceRepository resourceRepository) {
-        this.s3Client = s3Client;
+    public ResourceService(ResourceRepository resourceRepository, ResourceTextRepository textRepository,
+                           ResourceIndexer resourceIndexer, SearchService searchService, TagService tagService,
+                           TrendingService trendingService,
+                           ResourceCounterService counterService, BlobService blobService,
+                           StorageBackend storage, DeletionQueueService deletionQueue,
+                           KeyLayout keyLayout, ApplicationEventPublisher eventPublisher) {
         this.resourceRepository = resourceRepository;
+        this.textRepository = textRepository;
+        this.resourceIndexer = resourceIndexer;
+        this.searchService = searchService;
+        this.tagService = tagService;
+        this.trendingService = trendingService;
+        this.counterService = counterService;
+        this.blobService = blobService;
+        this.storage = storage;
+        this.deletionQueue = deletionQueue;
+        this.keyLayout = keyLayout;
+        this.eventPublisher = eventPublisher;
     }
 
     public Resource uploadResource(MultipartFile file, String title, String description, String tags, User uploader) throws IOException {
         validateFile(file);
+        validateMetadata(title, tags);
 
-        String originalFilename = file.getOriginalFilename();
-        String extension = originalFilename != null && originalFilename.contains(".")
-                ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                : "";
-        String s3Key = "uploads/" + UUID.randomUUID() + extension;
-
+        StoredObject stored;
         try {
-            PutObjectRequest putRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(s3Key)
-                    .contentType(file.getContentType())
-                    .build();
-
-            s3Client.putObject(putRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
-            log.info("Uploaded file to S3: {}", s3Key);
+            stored = storeContent(file, file.getOriginalFilename(), file.getContentType(), file.getSize());
         } catch (Exception e) {
-            throw new IOException("Failed to upload file to S3: " + e.getMessage(), e);
+            throw new IOException("Failed to store file: " + e.getMessage(), e);
+        }
+        return saveMetadata(stored, title, description, tags, uploader);
+    }
+
+    /**
+     * Hashes re-readable content first and writes it only if no other resource
+     * already stores the same bytes. Each stored generation of a hash gets its
+     * own key ({@code blobs/<sha256>/<uuid>}), so a delete still queued for a
+     * released generation can never remove the object of a later re-upload.
+     */
+    public StoredObject storeContent(InputStreamSource source, String fileName, String contentType, long size) throws IOException {
+        String sha256;
+        try (InputStream in = source.getInputStream()) {
+            sha256 = ContentDigest.sha256(in);
+        }
+        Optional<String> existing = blobService.acquire(sha256);
+        if (existing.isPresent()) {
+            log.info("Duplicate content {}, reusing {}", sha256, existing.get());
+            return new StoredObject(existing.get(), fileName, contentType, size, sha256);
+        }
+
+        String s3Key = keyLayout.newKey("blobs", sha256 + "/" + UUID.randomUUID());
+        try (InputStream in = source.getInputStream()) {
+            storage.write(s3Key, contentType, in, Long.MAX_VALUE);
+        }
+        String registered = blobService.register(sha256, s3Key, size);
+        if (!registered.equals(s3Key)) {
+            // A concurrent upload of the same bytes registered first; share its object.
+            log.info("Duplicate content {}, reusing {}", sha256, registered);
+            deleteObject(s3Key);
+        }
+        return new StoredObject(registered, fileName, contentType, size, sha256);
+    }
+
+    /**
+     * Registers content that was hashed while streaming to {@code uploadedKey}.
+     * If identical content already exists the new object is dropped and the
+     * existing one shared.
+     */
+    public StoredObject adoptContent(String uploadedKey, String sha256, String fileName, String contentType, long size) {
+        String s3Key = blobService.register(sha256, uploadedKey, size);
+        if (!s3Key.equals(uploadedKey)) {
+            log.info("Duplicate content {}, reusing {}", sha256, s3Key);
+            deleteObject(uploadedKey);
         }
+        return new StoredObject(s3Key, fileName, contentType, size, sha256);
+    }
+
+    /**
+     * Creates the resource row for stored content. Content from
+     * {@link #storeContent} or {@link #adoptContent} already holds a blob
+     * reference; if the save fails that reference is released again, and the
+     * object queued for deletion when it was the last one.
+     */
+    public Resource saveMetadata(StoredObject stored, String title, String description, String tags, User uploader) {
+        try {
+            return createResource(stored, title, description, tags, uploader);
+        } catch (RuntimeException e) {
+            if (stored.sha256() != null) {
+                blobService.release(stored.sha256()).ifPresent(this::deleteObject);
+            }
+            throw e;
+        }
+    }
+
+    private Resource createResource(StoredObject stored, String title, String description, String tags, User uploader) {
+        List<String> tagNames = TagService.parse(tags);
 
         Resource resource = new Resource();
         resource.setTitle(title.trim());
         resource.setDescription(description != null ? description.trim() : "");
-        resource.setTags(tags.trim().toLowerCase());
-        resource.setFileName(originalFilename);
-        resource.setFileType(file.getContentType());
-        resource.setFileSize(file.getSize());
-        resource.setS3Key(s3Key);
-        resource.setS3Url(buildS3Url(s3Key));
+        resource.setTags(String.join(",", tagNames));
+        resource.setTagSet(tagService.resolve(tagNames));
+        resource.setFileName(stored.fileName());
+        resource.setFileType(stored.contentType());
+        resource.setFileSize(stored.size());
+        resource.setS3Key(stored.key());
+        resource.setS3Url(storage.location(stored.key()));
+        resource.setContentHash(stored.sha256());
         resource.setUploadDate(LocalDateTime.now());
         resource.setUploader(uploader);
+        resource.setThumbnailStatus(DerivativeStatus.PENDING);
+        resource.setTextStatus(DerivativeStatus.PENDING);
+
+        Resource saved = resourceRepository.save(resource);
+        resourceIndexer.indexed(saved);
+        eventPublisher.publishEvent(new ResourceStoredEvent(saved.getId()));
+        return saved;
+    }
+
+    public void validateMetadata(String title, String tags) {
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("Title is required");
+        }
+        if (title.trim().length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("Title must be at most " + MAX_TITLE_LENGTH + " characters");
+        }
+        if (TagService.parse(tags).isEmpty()) {
+            throw new IllegalArgumentException("Please add at least one tag");
+        }
+    }
+
+    public void validateContentType(String contentType) {
+        if (contentType == null || !ALLOWED_TYPES.contains(contentType)) {
+            throw new IllegalArgumentException(
+                "Invalid file type: " + contentType + ". Allowed types: PDF, images, Word, PowerPoint, plain text.");
+        }
+    }
+
+    public String newObjectKey(String originalFilename) {
+        String extension = originalFilename != null && originalFilename.contains(".")
+                ? originalFilename.substring(originalFilename.lastIndexOf("."))
+                : "";
+        return keyLayout.newKey("uploads", UUID.randomUUID() + extension);
+    }
+
+    public CursorPage<ResourceCard> getAllResources(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ResourceCard> rows = after == null
+                ? resourceRepository.findNewestCards(limit)
+                : resourceRepository.findNewestCardsBefore(after.keyAsDateTime(), after.id(), limit);
+        return CursorPage.of(rows, size, card -> PageCursor.of(card.getUploadDate(), card.getId()),
+                counterService.totalResources());
+    }
 
-        return resourceRepository.save(resource);
+    public SearchResults searchResources(String query, String cursor, int size) {
+        return searchService.search(query.trim(), PageCursor.decode(cursor), size);
     }
 
-    public Page<Resource> getAllResources(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return resourceRepository.findAllByOrderByUploadDateDesc(pageable);
+    public String didYouMean(String query) {
+        return searchService.didYouMean(query.trim());
     }
 
-    public Page<Resource> searchResources(String query, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return resourceRepository.search(query.trim(), pageable);
+    public Facets getFacets(String query) {
+        return searchService.facets(query.trim());
     }
 
-    public Page<Resource> getResourcesByTag(String tag, int page, int size) {
-        return resourceRepository.findByTag(tag.trim(), PageRequest.of(page, size));
+    public CursorPage<ResourceCard> getResourcesByTag(String tag, String cursor, int size) {
+        return tagService.getResourcesByTag(tag, PageCursor.decode(cursor), size);
+    }
+
+    public CursorPage<ResourceCard> getTrendingResources(String cursor, int size) {
+        return trendingService.trending(PageCursor.decode(cursor), size);
     }
 
     public Resource getResourceById(Long id) {
@@ -106,41 +240,40 @@ public class ResourceService {
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found with ID: " + id));
     }
 
-    public List<Resource> getResourcesByUser(User user) {
-        return resourceRepository.findByUploaderOrderByUploadDateDesc(user);
+    public List<ResourceCard> getResourcesByUser(User user) {
+        return resourceRepository.findCardsByUploader(user.getId());
     }
 
+    @Transactional
     public void deleteResource(Long id, User currentUser) {
         Resource resource = getResourceById(id);
         if (!resource.getUploader().getId().equals(currentUser.getId())) {
             throw new SecurityException("You can only delete your own resources");
         }
 
-        try {
-            s3Client.deleteObject(DeleteObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(resource.getS3Key())
-                    .build());
-            log.info("Deleted file from S3: {}", resource.getS3Key());
-        } catch (Exception e) {
-            log.error("Failed to delete S3 object: {}", e.getMessage());
+        resourceRepository.delete(resource);
+        textRepository.deleteByResourceId(id);
+        resourceIndexer.removed(resource);
+
+        if (resource.getContentHash() == null) {
+            deleteObject(resource.getS3Key());
+            ThumbnailService.thumbnailKeys(resource).forEach(this::deleteObject);
+        } else {
+            blobService.release(resource.getContentHash()).ifPresent(key -> {
+                deleteObject(key);
+                ThumbnailService.thumbnailKeys(resource).forEach(this::deleteObject);
+            });
         }
+    }
 
-        resourceRepository.delete(resource);
+    public void deleteObject(String s3Key) {
+        deletionQueue.enqueue(s3Key);
     }
 
-    private void validateFile(MultipartFile file) {
+    public void validateFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("File cannot be empty");
         }
-        String contentType = file.getContentType();
-        if (contentType == null || !ALLOWED_TYPES.contains(contentType)) {
-            throw new IllegalArgumentException(
-                "Invalid file type: " + contentType + ". Allowed types: PDF, images, Word, PowerPoint, plain text.");
-        }
-    }
-
-    private String buildS3Url(String s3Key) {
-        return String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, s3Key);
+        validateContentType(file.getContentType());
     }
 }
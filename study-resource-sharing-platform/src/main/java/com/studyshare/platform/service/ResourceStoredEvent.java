@@ -0,0 +1,7 @@
+package com.studyshare.platform.service;
+
+/**
+ * Published after a resource row is saved, for work derived from its file.
+ */
+public record ResourceStoredEvent(Long resourceId) {
+}
@@ -0,0 +1,186 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.exception.ResourceNotFoundException;
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.model.UploadSession;
+import com.studyshare.platform.model.User;
+import com.studyshare.platform.repository.UploadSessionRepository;
+import com.studyshare.platform.storage.StorageBackend;
+import com.studyshare.platform.storage.StoredObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resumable uploads: a client creates a session, PUTs fixed-size chunks at the
+ * offset the server reports, and completes the session. Every chunk is streamed
+ * into one multipart part, so a dropped connection only costs the chunk in flight.
+ */
+@Service
+public class ResumableUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumableUploadService.class);
+
+    private final UploadSessionRepository sessionRepository;
+    private final StorageBackend storage;
+    private final ResourceService resourceService;
+
+    @Value("${spring.servlet.multipart.max-file-size}")
+    private DataSize maxFileSize;
+
+    @Value("${aws.s3.partSize:8MB}")
+    private DataSize chunkSize;
+
+    @Value("${uploads.session-ttl:24h}")
+    private Duration sessionTtl;
+
+    public ResumableUploadService(UploadSessionRepository sessionRepository,
+                                  StorageBackend storage,
+                                  ResourceService resourceService) {
+        this.sessionRepository = sessionRepository;
+        this.storage = storage;
+        this.resourceService = resourceService;
+    }
+
+    public UploadSession create(String title, String description, String tags,
+                                String fileName, String contentType, long fileSize, User uploader) {
+        resourceService.validateMetadata(title, tags);
+        resourceService.validateContentType(contentType);
+        if (fileSize <= 0) {
+            throw new IllegalArgumentException("File cannot be empty");
+        }
+        if (fileSize > maxFileSize.toBytes()) {
+            throw new IllegalArgumentException("File too large! Maximum upload size is " + maxFileSize.toMegabytes() + "MB.");
+        }
+
+        String s3Key = resourceService.newObjectKey(fileName);
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setUploaderId(uploader.getId());
+        session.setTitle(title.trim());
+        session.setDescription(description != null ? description.trim() : "");
+        session.setTags(tags);
+        session.setFileName(fileName);
+        session.setFileType(contentType);
+        session.setFileSize(fileSize);
+        session.setChunkSize(chunkSize.toBytes());
+        session.setS3Key(s3Key);
+        session.setS3UploadId(storage.beginMultipart(s3Key, contentType));
+        return sessionRepository.save(session);
+    }
+
+    public UploadSession get(String id, User uploader) {
+        UploadSession session = sessionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session not found: " + id));
+        if (!session.getUploaderId().equals(uploader.getId())) {
+            throw new SecurityException("Not authorized to access this upload");
+        }
+        return session;
+    }
+
+    /**
+     * Stores the chunk starting at {@code offset}. Chunks must arrive in order and,
+     * apart from the last one, be exactly the session's chunk size (S3 requires
+     * every part but the last to be at least 5MB).
+     */
+    public UploadSession appendChunk(String id, long offset, InputStream in, long length, User uploader) throws IOException {
+        UploadSession session = get(id, uploader);
+        if (offset != session.getReceivedBytes()) {
+            throw new OffsetMismatchException(session.getReceivedBytes());
+        }
+        long remaining = session.getFileSize() - offset;
+        long expected = Math.min(session.getChunkSize(), remaining);
+        if (remaining == 0 || length != expected) {
+            throw new IllegalArgumentException("Chunk at offset " + offset + " must be " + expected + " bytes");
+        }
+
+        int partNumber = (int) (offset / session.getChunkSize()) + 1;
+        String eTag = storage.writePart(session.getS3Key(), session.getS3UploadId(), partNumber, in, length);
+        session.getParts().add(new UploadSession.UploadPart(partNumber, eTag));
+        session.setReceivedBytes(offset + length);
+        session.setUpdatedAt(LocalDateTime.now());
+        try {
+            return sessionRepository.save(session);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new OffsetMismatchException(get(id, uploader).getReceivedBytes());
+        }
+    }
+
+    public Resource complete(String id, User uploader) throws IOException {
+        UploadSession session = get(id, uploader);
+        if (!session.isComplete()) {
+            throw new IllegalArgumentException("Upload is incomplete: received "
+                    + session.getReceivedBytes() + " of " + session.getFileSize() + " bytes");
+        }
+        // Concurrent completes of one session would each create a resource; only the claimant proceeds.
+        if (sessionRepository.claim(id) == 0) {
+            throw new IllegalArgumentException("This upload is already being completed");
+        }
+        List<String> parts = session.getParts().stream()
+                .map(UploadSession.UploadPart::getETag)
+                .toList();
+        Resource saved;
+        try {
+            storage.completeMultipart(session.getS3Key(), session.getS3UploadId(), parts);
+            StoredObject stored = new StoredObject(session.getS3Key(), session.getFileName(),
+                    session.getFileType(), session.getFileSize());
+            saved = resourceService.saveMetadata(stored, session.getTitle(), session.getDescription(),
+                    session.getTags(), uploader);
+        } catch (IOException | RuntimeException e) {
+            sessionRepository.unclaim(id);
+            throw e;
+        }
+        sessionRepository.delete(session);
+        log.info("Completed resumable upload {} in {} parts: {}", id, parts.size(), session.getS3Key());
+        return saved;
+    }
+
+    public void cancel(String id, User uploader) {
+        UploadSession session = get(id, uploader);
+        if (session.isCompleting()) {
+            throw new IllegalArgumentException("This upload is already being completed");
+        }
+        storage.abortMultipart(session.getS3Key(), session.getS3UploadId());
+        sessionRepository.delete(session);
+    }
+
+    @Scheduled(fixedDelayString = "${uploads.cleanup-interval-ms:3600000}")
+    public void expireStaleSessions() {
+        List<UploadSession> stale = sessionRepository.findByUpdatedAtBefore(LocalDateTime.now().minus(sessionTtl));
+        for (UploadSession session : stale) {
+            storage.abortMultipart(session.getS3Key(), session.getS3UploadId());
+            sessionRepository.delete(session);
+        }
+        if (!stale.isEmpty()) {
+            log.info("Expired {} stale upload sessions", stale.size());
+        }
+    }
+
+    /**
+     * Thrown when a chunk does not start at the offset the server has received up to.
+     */
+    public static class OffsetMismatchException extends RuntimeException {
+
+        private final long expectedOffset;
+
+        public OffsetMismatchException(long expectedOffset) {
+            super("Expected chunk at offset " + expectedOffset);
+            this.expectedOffset = expectedOffset;
+        }
+
+        public long getExpectedOffset() {
+            return expectedOffset;
+        }
+    }
+}
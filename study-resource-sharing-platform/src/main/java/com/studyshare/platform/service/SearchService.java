@@ -0,0 +1,222 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.dto.CursorPage;
+import com.studyshare.platform.dto.Facets;
+import com.studyshare.platform.dto.PageCursor;
+import com.studyshare.platform.dto.ResourceCard;
+import com.studyshare.platform.dto.SearchResults;
+import com.studyshare.platform.model.DerivativeStatus;
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.model.ResourceText;
+import com.studyshare.platform.model.User;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.repository.ResourceTextRepository;
+import com.studyshare.platform.repository.UserRepository;
+import com.studyshare.platform.search.AttributeIndex;
+import com.studyshare.platform.search.FacetCount;
+import com.studyshare.platform.search.InvertedIndex;
+import com.studyshare.platform.search.Query;
+import com.studyshare.platform.search.QueryParser;
+import com.studyshare.platform.search.QueryPlanner;
+import com.studyshare.platform.search.RoaringBitmap;
+import com.studyshare.platform.search.SearchField;
+import com.studyshare.platform.search.ScoredDoc;
+import com.studyshare.platform.search.SearchHits;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text and structured search. Plain text goes straight to the ranked
+ * inverted index; queries with fields or operators (see {@link QueryParser})
+ * are planned over the attribute index first, then ranked by their free-text
+ * terms, or listed newest first when they have none. Either way free-text
+ * words match any of them and fields must all match, and facet counts come
+ * from the same candidates, so a facet link narrows the result it counted. Facet counts for the
+ * browse page are bitmap intersections over the same attribute index.
+ */
+@Service
+public class SearchService implements ResourceIndex {
+
+    private static final int FACET_LIMIT = 8;
+    private static final Map<String, String> TYPE_LABELS = Map.of(
+            "pdf", "PDF", "image", "Image", "word", "Word", "powerpoint", "PowerPoint", "text", "Text");
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final AttributeIndex attributes = new AttributeIndex();
+    private final QueryPlanner planner;
+    private final ResourceRepository resourceRepository;
+    private final ResourceTextRepository textRepository;
+    private final UserRepository userRepository;
+
+    public SearchService(ResourceRepository resourceRepository, ResourceTextRepository textRepository,
+                         UserRepository userRepository) {
+        this.resourceRepository = resourceRepository;
+        this.textRepository = textRepository;
+        this.userRepository = userRepository;
+        this.planner = new QueryPlanner(index, attributes,
+                username -> userRepository.findByUsername(username).map(User::getId));
+    }
+
+    @Override
+    public void add(Resource resource) {
+        String text = resource.getTextStatus() == DerivativeStatus.READY
+                ? textRepository.findById(resource.getId()).map(ResourceText::text).orElse(null)
+                : null;
+        add(resource, text);
+    }
+
+    /**
+     * Loads the extracted text of the whole page with one query instead of one
+     * lookup per resource.
+     */
+    @Override
+    public void addAll(List<Resource> resources) {
+        List<Long> ready = resources.stream()
+                .filter(resource -> resource.getTextStatus() == DerivativeStatus.READY)
+                .map(Resource::getId)
+                .toList();
+        Map<Long, ResourceText> texts = ready.isEmpty() ? Map.of() : textRepository.findAllById(ready).stream()
+                .collect(Collectors.toMap(ResourceText::getResourceId, Function.identity()));
+        for (Resource resource : resources) {
+            ResourceText text = texts.get(resource.getId());
+            add(resource, text == null ? null : text.text());
+        }
+    }
+
+    private void add(Resource resource, String text) {
+        Map<SearchField, String> fields = new EnumMap<>(SearchField.class);
+        fields.put(SearchField.TITLE, resource.getTitle());
+        fields.put(SearchField.TAGS, resource.getTags());
+        fields.put(SearchField.DESCRIPTION, resource.getDescription());
+        if (text != null) {
+            fields.put(SearchField.CONTENT, text);
+        }
+        index.add(resource.getId(), fields);
+        attributes.add(resource.getId(), attributesOf(resource));
+    }
+
+    @Override
+    public void remove(Resource resource) {
+        index.remove(resource.getId());
+        attributes.remove(resource.getId(), attributesOf(resource));
+    }
+
+    /**
+     * Ranks or lists the matches of {@code query} and counts facets over the
+     * same candidate set. Throws {@link IllegalArgumentException} when the
+     * query does not parse.
+     */
+    public SearchResults search(String query, PageCursor cursor, int size) {
+        Query parsed = QueryParser.parse(query);
+        if (QueryParser.isPlainText(parsed)) {
+            SearchHits hits = index.search(query, scoredAfter(cursor), size + 1);
+            return new SearchResults(scoredPage(hits, size), facets(hits.matches()));
+        }
+
+        long[] candidates = planner.execute(parsed);
+        List<String> terms = QueryPlanner.rankingTerms(parsed);
+        if (!terms.isEmpty()) {
+            SearchHits hits = index.rank(terms, candidates, scoredAfter(cursor), size + 1);
+            return new SearchResults(scoredPage(hits, size), facets(hits.matches()));
+        }
+        List<Long> ids = newestFirst(candidates, cursor == null ? Long.MAX_VALUE : cursor.id(), size + 1);
+        CursorPage<ResourceCard> page = CursorPage.of(ids, size, id -> new PageCursor(id, id), candidates.length)
+                .map(resourceRepository::findCardsInOrder);
+        return new SearchResults(page, facets(RoaringBitmap.of(candidates)));
+    }
+
+    /**
+     * A spelling correction for plain-text queries with unknown terms, else null.
+     */
+    public String didYouMean(String query) {
+        try {
+            return QueryParser.isPlainText(QueryParser.parse(query)) ? index.correct(query) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Counts per file type, top tags and top uploaders among the resources
+     * matching {@code query}, or the whole catalog when it is blank. Searches
+     * get theirs from {@link #search}; this serves browsing. Throws
+     * {@link IllegalArgumentException} when the query does not parse.
+     */
+    public Facets facets(String query) {
+        return facets(query.isBlank() ? null : RoaringBitmap.of(planner.execute(QueryParser.parse(query))));
+    }
+
+    /**
+     * Facet counts within {@code within}, or over every resource when null.
+     */
+    private Facets facets(RoaringBitmap within) {
+        Map<String, Integer> types = new LinkedHashMap<>();
+        for (FacetCount count : attributes.facet("type:", within, Integer.MAX_VALUE)) {
+            String name = QueryParser.typeName(count.value());
+            if (name != null) types.merge(name, count.count(), Integer::sum);
+        }
+        List<Facets.Facet> typeFacets = types.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(e -> new Facets.Facet(TYPE_LABELS.get(e.getKey()), "type:" + e.getKey(), e.getValue()))
+                .toList();
+
+        List<Facets.Facet> tagFacets = attributes.facet("tag:", within, FACET_LIMIT).stream()
+                .map(c -> new Facets.Facet(c.value(), "tag:" + quoted(c.value()), c.count()))
+                .toList();
+
+        List<FacetCount> uploaderCounts = attributes.facet("by:", within, FACET_LIMIT);
+        Map<Long, User> uploaders = userRepository.findAllById(
+                        uploaderCounts.stream().map(c -> Long.valueOf(c.value())).toList()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<Facets.Facet> uploaderFacets = new ArrayList<>();
+        for (FacetCount count : uploaderCounts) {
+            User user = uploaders.get(Long.valueOf(count.value()));
+            if (user == null) continue;
+            String label = user.getDisplayName() != null ? user.getDisplayName() : user.getUsername();
+            uploaderFacets.add(new Facets.Facet(label, "by:" + quoted(user.getUsername()), count.count()));
+        }
+        return new Facets(typeFacets, tagFacets, uploaderFacets);
+    }
+
+    private static String quoted(String value) {
+        return value.contains(" ") ? "\"" + value + "\"" : value;
+    }
+
+    private CursorPage<ResourceCard> scoredPage(SearchHits hits, int size) {
+        return CursorPage.of(hits.hits(), size, SearchService::cursorOf, hits.totalHits())
+                .map(page -> resourceRepository.findCardsInOrder(page.stream().map(ScoredDoc::id).toList()));
+    }
+
+    private static ScoredDoc scoredAfter(PageCursor cursor) {
+        return cursor == null ? null : new ScoredDoc(cursor.id(), Float.intBitsToFloat((int) cursor.key()));
+    }
+
+    private static List<Long> newestFirst(long[] ascending, long beforeId, int limit) {
+        int pos = Arrays.binarySearch(ascending, beforeId);
+        int from = (pos >= 0 ? pos : -pos - 1) - 1;
+        int count = Math.max(0, Math.min(limit, from + 1));
+        Long[] page = new Long[count];
+        for (int i = 0; i < count; i++) {
+            page[i] = ascending[from - i];
+        }
+        return Arrays.asList(page);
+    }
+
+    private static AttributeIndex.Attributes attributesOf(Resource resource) {
+        return new AttributeIndex.Attributes(resource.getFileType(), resource.getUploader().getId(),
+                resource.getTagList(), resource.getUploadDate().toLocalDate(),
+                resource.getFileSize() == null ? 0 : resource.getFileSize());
+    }
+
+    private static PageCursor cursorOf(ScoredDoc doc) {
+        return new PageCursor(Float.floatToIntBits(doc.score()), doc.id());
+    }
+}
@@ -0,0 +1,100 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.model.User;
+import com.studyshare.platform.storage.ContentDigest;
+import com.studyshare.platform.storage.StorageBackend;
+import com.studyshare.platform.storage.StoredObject;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses a multipart upload incrementally and pipes the file part straight into
+ * storage, without Spring spooling it to memory or disk first. The form fields must
+ * precede the file part so metadata can be validated before any bytes are sent.
+ * The content is hashed on the way through; a duplicate of existing content is
+ * dropped after the transfer and the existing object shared.
+ */
+@Service
+public class StreamingUploadService {
+
+    private static final int MAX_FIELD_BYTES = 8 * 1024;
+
+    private final ResourceService resourceService;
+    private final StorageBackend storage;
+
+    @Value("${spring.servlet.multipart.max-file-size}")
+    private DataSize maxFileSize;
+
+    public StreamingUploadService(ResourceService resourceService, StorageBackend storage) {
+        this.resourceService = resourceService;
+        this.storage = storage;
+    }
+
+    public Resource upload(HttpServletRequest request, User uploader) throws IOException {
+        if (!JakartaServletFileUpload.isMultipartContent(request)) {
+            throw new IllegalArgumentException("Expected a multipart/form-data upload");
+        }
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setFileSizeMax(maxFileSize.toBytes());
+
+        Map<String, String> fields = new HashMap<>();
+        try {
+            FileItemInputIterator items = upload.getItemIterator(request);
+            while (items.hasNext()) {
+                FileItemInput item = items.next();
+                if (item.isFormField()) {
+                    fields.put(item.getFieldName(), readField(item));
+                } else if ("file".equals(item.getFieldName())) {
+                    return store(item, fields, uploader);
+                }
+            }
+        } catch (FileUploadSizeException e) {
+            throw new IllegalArgumentException("File too large! Maximum upload size is " + maxFileSize.toMegabytes() + "MB.");
+        }
+        throw new IllegalArgumentException("Please choose a file to upload");
+    }
+
+    private Resource store(FileItemInput item, Map<String, String> fields, User uploader) throws IOException {
+        String title = fields.get("title");
+        String tags = fields.get("tags");
+        resourceService.validateMetadata(title, tags);
+        resourceService.validateContentType(item.getContentType());
+
+        String s3Key = resourceService.newObjectKey(item.getName());
+        long size;
+        MessageDigest digest = ContentDigest.newSha256();
+        try (InputStream in = new DigestInputStream(item.getInputStream(), digest)) {
+            size = storage.write(s3Key, item.getContentType(), in, maxFileSize.toBytes());
+        }
+        StoredObject stored = resourceService.adoptContent(s3Key, ContentDigest.hex(digest),
+                item.getName(), item.getContentType(), size);
+        return resourceService.saveMetadata(stored, title, fields.get("description"), tags, uploader);
+    }
+
+    private static String readField(FileItemInput item) throws IOException {
+        try (InputStream in = item.getInputStream()) {
+            byte[] value = in.readNBytes(MAX_FIELD_BYTES + 1);
+            if (value.length > MAX_FIELD_BYTES) {
+                throw new IllegalArgumentException("Form field '" + item.getFieldName() + "' is too long");
+            }
+            return new String(value, StandardCharsets.UTF_8);
+        }
+    }
+}
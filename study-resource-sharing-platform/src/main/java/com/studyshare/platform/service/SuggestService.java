@@ -0,0 +1,82 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.search.SuggestTrie;
+import com.studyshare.platform.search.Suggestion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Typeahead over resource titles and tags. Each resource adds its popularity
+ * at load or upload time to its title and each of its tags, so a tag shared by
+ * many well-used resources ranks above a one-off title.
+ */
+@Service
+public class SuggestService implements ResourceIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestService.class);
+    public static final int MAX_LIMIT = 20;
+    private static final int MAX_POPULARITY = 100_000;
+
+    private final SuggestTrie trie;
+    // What each resource actually added to its title and tags, in that order;
+    // a refused or saturated term contributes less than the resource's weight.
+    private final Map<Long, int[]> contributions = new ConcurrentHashMap<>();
+
+    public SuggestService(@Value("${suggest.max-terms:500000}") int maxTerms) {
+        this.trie = new SuggestTrie(maxTerms);
+    }
+
+    @Override
+    public void add(Resource resource) {
+        List<String> terms = terms(resource);
+        int[] added = new int[terms.size()];
+        if (contributions.putIfAbsent(resource.getId(), added) != null) return;
+        int weight = popularity(resource);
+        for (int i = 0; i < terms.size(); i++) {
+            added[i] = trie.add(terms.get(i), weight);
+        }
+    }
+
+    @Override
+    public void remove(Resource resource) {
+        int[] added = contributions.remove(resource.getId());
+        if (added == null) return;
+        List<String> terms = terms(resource);
+        for (int i = 0; i < Math.min(terms.size(), added.length); i++) {
+            if (added[i] > 0) {
+                trie.remove(terms.get(i), added[i]);
+            }
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @Scheduled(initialDelayString = "${suggest.report-interval-ms:3600000}",
+               fixedDelayString = "${suggest.report-interval-ms:3600000}")
+    public void report() {
+        log.info("Suggest index holds {} terms in about {} KB", trie.size(), trie.estimatedBytes() / 1024);
+    }
+
+    private static List<String> terms(Resource resource) {
+        List<String> terms = new ArrayList<>();
+        terms.add(resource.getTitle());
+        terms.addAll(TagService.parse(resource.getTags()));
+        return terms;
+    }
+
+    private static int popularity(Resource resource) {
+        long score = 1 + (long) resource.getDownloadCount() + resource.getViewCount() / 10;
+        return (int) Math.min(score, MAX_POPULARITY);
+    }
+}
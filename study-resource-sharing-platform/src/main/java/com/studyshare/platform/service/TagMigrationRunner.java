@@ -0,0 +1,37 @@
+package com.studyshare.platform.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Splits legacy comma-separated {@code resources.tags} strings into rows of the
+ * {@code tags} and {@code resource_tags} tables. Runs before the in-memory
+ * indexes are loaded and is a no-op once every resource has been migrated.
+ */
+@Component
+public class TagMigrationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TagMigrationRunner.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final TagService tagService;
+
+    public TagMigrationRunner(TagService tagService) {
+        this.tagService = tagService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long lastId = 0;
+        int batches = 0;
+        while ((lastId = tagService.migrateBatch(lastId, BATCH_SIZE)) >= 0) {
+            batches++;
+        }
+        if (batches > 0) {
+            log.info("Migrated tags for {} batch(es) of legacy resources", batches);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.dto.CursorPage;
+import com.studyshare.platform.dto.PageCursor;
+import com.studyshare.platform.dto.ResourceCard;
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.model.Tag;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.repository.TagRepository;
+import com.studyshare.platform.search.TagIndex;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class TagService implements ResourceIndex {
+
+    private static final int MAX_TAGS = 20;
+    private static final int MAX_TAG_LENGTH = 50;
+
+    private final TagIndex index = new TagIndex();
+    private final TagRepository tagRepository;
+    private final ResourceRepository resourceRepository;
+    private final TransactionTemplate newTransaction;
+
+    public TagService(TagRepository tagRepository, ResourceRepository resourceRepository,
+                      PlatformTransactionManager transactionManager) {
+        this.tagRepository = tagRepository;
+        this.resourceRepository = resourceRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public static List<String> parse(String raw) {
+        if (raw == null) return List.of();
+        Set<String> names = new LinkedHashSet<>();
+        for (String part : raw.split(",")) {
+            String name = normalize(part);
+            if (!name.isEmpty() && names.size() < MAX_TAGS) {
+                names.add(name);
+            }
+        }
+        return List.copyOf(names);
+    }
+
+    public static String normalize(String tag) {
+        String name = tag.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        return name.length() > MAX_TAG_LENGTH ? name.substring(0, MAX_TAG_LENGTH) : name;
+    }
+
+    public Set<Tag> resolve(List<String> names) {
+        if (names.isEmpty()) return new HashSet<>();
+        Map<String, Tag> existing = tagRepository.findByNameIn(names).stream()
+                .collect(Collectors.toMap(Tag::getName, Function.identity()));
+        Set<Tag> tags = new HashSet<>();
+        for (String name : names) {
+            Tag tag = existing.get(name);
+            tags.add(tag != null ? tag : create(name));
+        }
+        return tags;
+    }
+
+    @Transactional
+    public long migrateBatch(long afterId, int batchSize) {
+        List<Resource> batch = resourceRepository.findUntaggedAfter(afterId, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) return -1;
+        for (Resource resource : batch) {
+            List<String> names = parse(resource.getTags());
+            resource.setTags(String.join(",", names));
+            resource.setTagSet(resolve(names));
+        }
+        return batch.get(batch.size() - 1).getId();
+    }
+
+    public CursorPage<ResourceCard> getResourcesByTag(String tag, PageCursor cursor, int size) {
+        String name = normalize(tag);
+        long beforeId = cursor == null ? Long.MAX_VALUE : cursor.id();
+        List<Long> ids = Arrays.stream(index.newestFirst(name, beforeId, size + 1)).boxed().toList();
+        return CursorPage.of(ids, size, id -> new PageCursor(id, id), index.count(name))
+                .map(resourceRepository::findCardsInOrder);
+    }
+
+    @Override
+    public void add(Resource resource) {
+        index.add(resource.getId(), resource.getTagList());
+    }
+
+    @Override
+    public void remove(Resource resource) {
+        index.remove(resource.getId(), resource.getTagList());
+    }
+
+    /**
+     * Inserts a missing tag in its own transaction, so losing a race with a
+     * concurrent insert of the same name cannot mark a caller's transaction
+     * (such as {@link #migrateBatch}) rollback-only. The winner's row is then
+     * read in a fresh transaction, whose snapshot includes it.
+     */
+    private Tag create(String name) {
+        try {
+            return newTransaction.execute(status -> tagRepository.saveAndFlush(new Tag(name)));
+        } catch (DataIntegrityViolationException e) {
+            return newTransaction.execute(status -> tagRepository.findByName(name)).orElseThrow(() -> e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.media.CompressedText;
+import com.studyshare.platform.media.TextExtractor;
+import com.studyshare.platform.model.DerivativeStatus;
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.model.ResourceText;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.repository.ResourceTextRepository;
+import com.studyshare.platform.storage.ObjectContent;
+import com.studyshare.platform.storage.StorageBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Extracts the text of uploaded documents in the background and adds it to the
+ * search index. The original is streamed to a temp file, read a page at a time
+ * and kept deflated in {@code resource_texts}, capped at
+ * {@code text-extraction.max-chars}. Follows the same queue-plus-backfill
+ * scheme as {@link ThumbnailService}.
+ */
+@Service
+public class TextExtractionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TextExtractionService.class);
+    private static final int BACKFILL_BATCH = 100;
+
+    private final ResourceRepository resourceRepository;
+    private final ResourceTextRepository textRepository;
+    private final StorageBackend storage;
+    private final SearchService searchService;
+    private final ResourceIndexer resourceIndexer;
+    private final ThreadPoolTaskExecutor executor;
+    private final int maxChars;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public TextExtractionService(ResourceRepository resourceRepository, ResourceTextRepository textRepository,
+                                 StorageBackend storage, SearchService searchService, ResourceIndexer resourceIndexer,
+                                 @Qualifier("textExtractionExecutor") ThreadPoolTaskExecutor executor,
+                                 @Value("${text-extraction.max-chars:100000}") int maxChars) {
+        this.resourceRepository = resourceRepository;
+        this.textRepository = textRepository;
+        this.storage = storage;
+        this.searchService = searchService;
+        this.resourceIndexer = resourceIndexer;
+        this.executor = executor;
+        this.maxChars = maxChars;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResourceStored(ResourceStoredEvent event) {
+        submit(event.resourceId());
+    }
+
+    @Scheduled(initialDelayString = "${text-extraction.backfill-interval-ms:300000}",
+               fixedDelayString = "${text-extraction.backfill-interval-ms:300000}")
+    public void backfill() {
+        long afterId = 0;
+        List<Long> batch;
+        do {
+            batch = resourceRepository.findIdsByTextStatusAfter(DerivativeStatus.PENDING, afterId,
+                    PageRequest.of(0, BACKFILL_BATCH));
+            for (Long id : batch) {
+                if (!submit(id)) return;
+                afterId = id;
+            }
+        } while (batch.size() == BACKFILL_BATCH);
+    }
+
+    boolean submit(Long resourceId) {
+        if (!inFlight.add(resourceId)) return true;
+        try {
+            executor.execute(() -> {
+                try {
+                    extract(resourceId);
+                } finally {
+                    inFlight.remove(resourceId);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            inFlight.remove(resourceId);
+            log.debug("Text extraction queue full, resource {} left for the backfill", resourceId);
+            return false;
+        }
+    }
+
+    void extract(Long resourceId) {
+        Resource resource = resourceRepository.findById(resourceId).orElse(null);
+        if (resource == null) return;
+        if (!TextExtractor.supports(resource.getFileType())) {
+            resourceRepository.updateTextStatus(resourceId, DerivativeStatus.UNSUPPORTED);
+            return;
+        }
+
+        Path source = null;
+        try {
+            source = Files.createTempFile("text-", ".src");
+            try (ObjectContent content = storage.read(resource.getS3Key(), 0, resource.getFileSize());
+                 OutputStream out = Files.newOutputStream(source)) {
+                content.transferTo(out);
+            }
+            CompressedText text = new CompressedText(maxChars);
+            TextExtractor.extract(source, resource.getFileType(), text);
+            textRepository.save(new ResourceText(resourceId, text));
+            if (resourceRepository.updateTextStatus(resourceId, DerivativeStatus.READY) == 0) {
+                // deleted while we were reading it
+                textRepository.deleteByResourceId(resourceId);
+                return;
+            }
+            resource.setTextStatus(DerivativeStatus.READY);
+            resourceIndexer.reindexed(resource, searchService);
+            if (!resourceRepository.existsById(resourceId)) {
+                // Deleted after the status update: its index removal may already
+                // have run, so take back the entry just added.
+                searchService.remove(resource);
+                return;
+            }
+            log.debug("Extracted {} pages, {} chars{} from resource {}", text.pageCount(), text.charCount(),
+                    text.isTruncated() ? " (truncated)" : "", resourceId);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Text extraction failed for resource {}: {}", resourceId, e.getMessage());
+            resourceRepository.updateTextStatus(resourceId, DerivativeStatus.FAILED);
+        } finally {
+            if (source != null) {
+                try {
+                    Files.deleteIfExists(source);
+                } catch (IOException e) {
+                    log.warn("Could not delete {}: {}", source, e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.media.Thumbnails;
+import com.studyshare.platform.model.DerivativeStatus;
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.storage.ObjectContent;
+import com.studyshare.platform.storage.StorageBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Generates JPEG thumbnails of PDFs (first page) and images in the background,
+ * stored next to the original as {@code <key>.thumb-<width>.jpg} and recorded on
+ * the resource. Thumbnails belong to the stored object, so a resource sharing
+ * content with another reuses the existing ones instead of rendering again.
+ * New resources are queued when saved; a periodic backfill picks up older rows
+ * and anything a full queue or a restart dropped.
+ */
+@Service
+public class ThumbnailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+    static final int[] WIDTHS = {320, 640};
+    private static final int BACKFILL_BATCH = 100;
+    private static final Pattern THUMBNAIL_KEY = Pattern.compile("(.+)\\.thumb-\\d+\\.jpg");
+
+    private final ResourceRepository resourceRepository;
+    private final StorageBackend storage;
+    private final ThreadPoolTaskExecutor executor;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ThumbnailService(ResourceRepository resourceRepository, StorageBackend storage,
+                            @Qualifier("thumbnailExecutor") ThreadPoolTaskExecutor executor) {
+        this.resourceRepository = resourceRepository;
+        this.storage = storage;
+        this.executor = executor;
+    }
+
+    public static String thumbnailKey(String key, int width) {
+        return key + ".thumb-" + width + ".jpg";
+    }
+
+    /**
+     * The original object key a thumbnail key belongs to, or null for other keys.
+     */
+    public static String originalKey(String key) {
+        Matcher matcher = THUMBNAIL_KEY.matcher(key);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    public static List<String> thumbnailKeys(Resource resource) {
+        List<String> keys = new ArrayList<>();
+        if (resource.getThumbnailWidths() != null && !resource.getThumbnailWidths().isEmpty()) {
+            for (String width : resource.getThumbnailWidths().split(",")) {
+                keys.add(thumbnailKey(resource.getS3Key(), Integer.parseInt(width)));
+            }
+        }
+        return keys;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResourceStored(ResourceStoredEvent event) {
+        submit(event.resourceId());
+    }
+
+    @Scheduled(initialDelayString = "${thumbnails.backfill-interval-ms:300000}",
+               fixedDelayString = "${thumbnails.backfill-interval-ms:300000}")
+    public void backfill() {
+        long afterId = 0;
+        List<Long> batch;
+        do {
+            batch = resourceRepository.findIdsByThumbnailStatusAfter(DerivativeStatus.PENDING, afterId,
+                    PageRequest.of(0, BACKFILL_BATCH));
+            for (Long id : batch) {
+                if (!submit(id)) return;
+                afterId = id;
+            }
+        } while (batch.size() == BACKFILL_BATCH);
+    }
+
+    boolean submit(Long resourceId) {
+        if (!inFlight.add(resourceId)) return true;
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(resourceId);
+                } finally {
+                    inFlight.remove(resourceId);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            inFlight.remove(resourceId);
+            log.debug("Thumbnail queue full, resource {} left for the backfill", resourceId);
+            return false;
+        }
+    }
+
+    void generate(Long resourceId) {
+        Resource resource = resourceRepository.findById(resourceId).orElse(null);
+        if (resource == null) return;
+        if (!resource.isPdf() && !resource.isImage()) {
+            resourceRepository.updateThumbnails(resourceId, DerivativeStatus.UNSUPPORTED, null);
+            return;
+        }
+
+        if (thumbnailsExist(resource.getS3Key())) {
+            // Shared content: another resource with the same blob already has them.
+            resourceRepository.updateThumbnails(resourceId, DerivativeStatus.READY, allWidths());
+            return;
+        }
+
+        Path source = null;
+        try {
+            source = Files.createTempFile("thumbnail-", ".src");
+            try (ObjectContent content = storage.read(resource.getS3Key(), 0, resource.getFileSize());
+                 OutputStream out = Files.newOutputStream(source)) {
+                content.transferTo(out);
+            }
+            BufferedImage image = resource.isPdf()
+                    ? Thumbnails.renderFirstPage(source, WIDTHS[WIDTHS.length - 1])
+                    : Thumbnails.readImage(source, WIDTHS[WIDTHS.length - 1]);
+
+            List<Integer> written = new ArrayList<>();
+            for (int width : WIDTHS) {
+                byte[] jpeg = Thumbnails.encodeJpeg(Thumbnails.scaleToWidth(image, width));
+                storage.write(thumbnailKey(resource.getS3Key(), width), "image/jpeg",
+                        new ByteArrayInputStream(jpeg), jpeg.length);
+                written.add(width);
+            }
+            resourceRepository.updateThumbnails(resourceId, DerivativeStatus.READY,
+                    written.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            log.debug("Generated {} thumbnails for resource {}", written.size(), resourceId);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Thumbnail generation failed for resource {}: {}", resourceId, e.getMessage());
+            resourceRepository.updateThumbnails(resourceId, DerivativeStatus.FAILED, null);
+        } finally {
+            if (source != null) {
+                try {
+                    Files.deleteIfExists(source);
+                } catch (IOException e) {
+                    log.warn("Could not delete {}: {}", source, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private boolean thumbnailsExist(String key) {
+        for (int width : WIDTHS) {
+            if (storage.stat(thumbnailKey(key, width)).isEmpty()) return false;
+        }
+        return true;
+    }
+
+    private static String allWidths() {
+        return Arrays.stream(WIDTHS).mapToObj(String::valueOf).collect(Collectors.joining(","));
+    }
+}
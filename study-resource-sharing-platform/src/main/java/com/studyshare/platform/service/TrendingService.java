@@ -0,0 +1,155 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.dto.CursorPage;
+import com.studyshare.platform.dto.PageCursor;
+import com.studyshare.platform.dto.ResourceCard;
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.repository.ResourceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exponentially decayed popularity. Every view or download adds its weight
+ * scaled by {@code e^(λ·t)} (forward decay), so all scores decay at the same
+ * rate and their order never changes between events; scores are kept as
+ * logarithms so the growing scale factor cannot overflow. Ranked entries live
+ * in a skip list, which serves any page of the ranking without sorting.
+ * At startup each resource is seeded with its stored counts as if they
+ * happened on its upload date.
+ */
+@Service
+public class TrendingService implements ResourceIndex {
+
+    static final double VIEW_WEIGHT = 1;
+    static final double DOWNLOAD_WEIGHT = 3;
+    private static final double MIN_SCORE = 0.01;
+
+    static final Comparator<Ranked> RANKING = Comparator
+            .comparingDouble(Ranked::logScore).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::id).reversed());
+
+    private final ResourceRepository resourceRepository;
+    private final Clock clock;
+    private final double lambda;
+    private final NavigableSet<Ranked> ranking = new ConcurrentSkipListSet<>(RANKING);
+    private final Map<Long, Ranked> byId = new HashMap<>();
+    // ConcurrentSkipListSet.size() walks the whole set, so the count is kept alongside it.
+    private final AtomicInteger rankedCount = new AtomicInteger();
+
+    @Autowired
+    public TrendingService(ResourceRepository resourceRepository,
+                           @Value("${trending.half-life:24h}") Duration halfLife) {
+        this(resourceRepository, halfLife, Clock.systemUTC());
+    }
+
+    TrendingService(ResourceRepository resourceRepository, Duration halfLife, Clock clock) {
+        this.resourceRepository = resourceRepository;
+        this.clock = clock;
+        this.lambda = Math.log(2) / halfLife.toSeconds();
+    }
+
+    @Override
+    public void add(Resource resource) {
+        double weight = resource.getViewCount() * VIEW_WEIGHT + resource.getDownloadCount() * DOWNLOAD_WEIGHT;
+        if (weight > 0) {
+            record(resource.getId(), weight, resource.getUploadDate().atZone(ZoneId.systemDefault()).toEpochSecond());
+        }
+    }
+
+    @Override
+    public synchronized void remove(Resource resource) {
+        Ranked existing = byId.remove(resource.getId());
+        if (existing != null) {
+            ranking.remove(existing);
+            rankedCount.decrementAndGet();
+        }
+    }
+
+    public void recordView(Long resourceId) {
+        record(resourceId, VIEW_WEIGHT, now());
+    }
+
+    public void recordDownload(Long resourceId) {
+        record(resourceId, DOWNLOAD_WEIGHT, now());
+    }
+
+    public CursorPage<ResourceCard> trending(PageCursor cursor, int size) {
+        List<Ranked> rows = top(cursor == null ? null : new Ranked(cursor.id(), Double.longBitsToDouble(cursor.key())), size + 1);
+        return CursorPage.of(rows, size, r -> new PageCursor(Double.doubleToLongBits(r.logScore()), r.id()), rankedCount.get())
+                .map(page -> resourceRepository.findCardsInOrder(page.stream().map(Ranked::id).toList()));
+    }
+
+    List<Ranked> top(Ranked after, int limit) {
+        Iterator<Ranked> it = (after == null ? ranking : ranking.tailSet(after, false)).iterator();
+        List<Ranked> rows = new ArrayList<>(limit);
+        while (rows.size() < limit && it.hasNext()) {
+            rows.add(it.next());
+        }
+        return rows;
+    }
+
+    /**
+     * Drops resources whose decayed score has fallen below {@value MIN_SCORE}; they
+     * sit at the tail of the skip list.
+     */
+    @Scheduled(fixedDelayString = "${trending.prune-interval-ms:3600000}")
+    public synchronized void prune() {
+        double floor = Math.log(MIN_SCORE) + lambda * now();
+        Ranked last;
+        while ((last = ranking.isEmpty() ? null : ranking.last()) != null && last.logScore() < floor) {
+            ranking.remove(last);
+            byId.remove(last.id());
+            rankedCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * The score of the resource as of now, or 0 when it has no recent activity.
+     */
+    public synchronized double score(Long resourceId) {
+        Ranked ranked = byId.get(resourceId);
+        return ranked == null ? 0 : Math.exp(ranked.logScore() - lambda * now());
+    }
+
+    private synchronized void record(Long resourceId, double weight, long epochSecond) {
+        double added = Math.log(weight) + lambda * epochSecond;
+        Ranked existing = byId.get(resourceId);
+        double logScore = added;
+        if (existing != null) {
+            ranking.remove(existing);
+            logScore = logAddExp(existing.logScore(), added);
+        } else {
+            rankedCount.incrementAndGet();
+        }
+        Ranked updated = new Ranked(resourceId, logScore);
+        byId.put(resourceId, updated);
+        ranking.add(updated);
+    }
+
+    private long now() {
+        return clock.instant().getEpochSecond();
+    }
+
+    private static double logAddExp(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    record Ranked(long id, double logScore) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.studyshare.platform.service;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Progress of a background upload, polled by the uploader.
+ */
+@Getter
+public class UploadJob {
+
+    public enum Status { QUEUED, UPLOADING, DONE, FAILED }
+
+    private final String id;
+    private final Long uploaderId;
+    private final String title;
+    private final long totalBytes;
+    private final Instant createdAt = Instant.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile long transferredBytes;
+    private volatile Long resourceId;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    UploadJob(String id, Long uploaderId, String title, long totalBytes) {
+        this.id = id;
+        this.uploaderId = uploaderId;
+        this.title = title;
+        this.totalBytes = totalBytes;
+    }
+
+    public int getPercent() {
+        return totalBytes == 0 ? 0 : (int) (transferredBytes * 100 / totalBytes);
+    }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+
+    void started() {
+        status = Status.UPLOADING;
+    }
+
+    void progress(long bytes) {
+        transferredBytes = bytes;
+    }
+
+    void succeeded(Long resourceId) {
+        this.resourceId = resourceId;
+        this.transferredBytes = totalBytes;
+        this.finishedAt = Instant.now();
+        this.status = Status.DONE;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+}
@@ -0,0 +1,224 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.exception.ResourceNotFoundException;
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.model.User;
+import com.studyshare.platform.storage.StoredObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Accepts form uploads without holding the request thread for the S3 transfer.
+ * The request only moves the already-spooled multipart file into the spool
+ * directory; a bounded worker pool then streams it to S3 and saves the metadata.
+ * When the pool and its queue are full the upload is refused straight away.
+ * Spool files left behind by a crash are swept once they are older than the
+ * spool retention and no longer belong to a job of this process.
+ */
+@Service
+public class UploadJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadJobService.class);
+    private static final int MAX_TRACKED_JOBS = 10_000;
+
+    private final ResourceService resourceService;
+    private final ThreadPoolTaskExecutor uploadExecutor;
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+    private final Set<Path> activeSpools = ConcurrentHashMap.newKeySet();
+
+    @Value("${uploads.async.spool-dir:${java.io.tmpdir}/studyshare-uploads}")
+    private String spoolDir;
+
+    @Value("${uploads.async.job-retention:1h}")
+    private Duration jobRetention;
+
+    @Value("${uploads.async.spool-retention:6h}")
+    private Duration spoolRetention;
+
+    public UploadJobService(ResourceService resourceService,
+                            @Qualifier("uploadExecutor") ThreadPoolTaskExecutor uploadExecutor) {
+        this.resourceService = resourceService;
+        this.uploadExecutor = uploadExecutor;
+    }
+
+    public UploadJob submit(MultipartFile file, String title, String description, String tags, User uploader) throws IOException {
+        resourceService.validateFile(file);
+        resourceService.validateMetadata(title, tags);
+        if (jobs.size() >= MAX_TRACKED_JOBS && evictFinishedJobs() >= MAX_TRACKED_JOBS) {
+            throw new TaskRejectedException("Too many uploads in progress");
+        }
+
+        Path dir = Files.createDirectories(Paths.get(spoolDir));
+        Path spooled = Files.createTempFile(dir, "upload-", ".part");
+        activeSpools.add(spooled);
+        try {
+            file.transferTo(spooled);
+        } catch (IOException | RuntimeException e) {
+            discard(spooled);
+            throw e;
+        }
+
+        UploadJob job = new UploadJob(UUID.randomUUID().toString(), uploader.getId(), title.trim(), file.getSize());
+        String fileName = file.getOriginalFilename();
+        String contentType = file.getContentType();
+        jobs.put(job.getId(), job);
+        try {
+            uploadExecutor.execute(() -> process(job, spooled, fileName, contentType, description, tags, uploader));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            discard(spooled);
+            throw e;
+        }
+        return job;
+    }
+
+    public UploadJob getJob(String id, User uploader) {
+        UploadJob job = jobs.get(id);
+        if (job == null || !job.getUploaderId().equals(uploader.getId())) {
+            throw new ResourceNotFoundException("Upload job not found: " + id);
+        }
+        return job;
+    }
+
+    public List<UploadJob> getJobsByUser(User uploader) {
+        return jobs.values().stream()
+                .filter(job -> job.getUploaderId().equals(uploader.getId()))
+                .sorted(Comparator.comparing(UploadJob::getCreatedAt).reversed())
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${uploads.cleanup-interval-ms:3600000}")
+    public void forgetFinishedJobs() {
+        Instant cutoff = Instant.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    /**
+     * Finished jobs only serve status pages, so once the job table is full the
+     * oldest of them make room down to 90% of the cap before any upload is
+     * turned away. Returns the number of jobs still tracked.
+     */
+    private int evictFinishedJobs() {
+        int excess = jobs.size() - MAX_TRACKED_JOBS * 9 / 10;
+        jobs.values().stream()
+                .filter(UploadJob::isFinished)
+                .sorted(Comparator.comparing(UploadJob::getFinishedAt))
+                .limit(Math.max(0, excess))
+                .toList()
+                .forEach(job -> jobs.remove(job.getId()));
+        return jobs.size();
+    }
+
+    /**
+     * Deletes spool files that no job of this process is working on and that
+     * are older than the spool retention. The first run happens at startup, so
+     * files from uploads interrupted by a crash or restart do not pile up.
+     */
+    @Scheduled(fixedDelayString = "${uploads.cleanup-interval-ms:3600000}")
+    public void sweepSpool() {
+        Path dir = Paths.get(spoolDir);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(spoolRetention);
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (!name.startsWith("upload-") || !name.endsWith(".part") || activeSpools.contains(file)) {
+                    continue;
+                }
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.warn("Could not delete stale spool file {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not sweep spool directory {}: {}", dir, e.getMessage());
+            return;
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} stale spool file(s) from {}", deleted, dir);
+        }
+    }
+
+    private void process(UploadJob job, Path spooled, String fileName, String contentType,
+                         String description, String tags, User uploader) {
+        job.started();
+        try {
+            StoredObject stored = resourceService.storeContent(
+                    () -> new ProgressInputStream(Files.newInputStream(spooled), job),
+                    fileName, contentType, job.getTotalBytes());
+            Resource saved = resourceService.saveMetadata(stored, job.getTitle(), description, tags, uploader);
+            job.succeeded(saved.getId());
+        } catch (Exception e) {
+            log.error("Background upload {} failed: {}", job.getId(), e.getMessage(), e);
+            job.failed("Upload failed. Please try again.");
+        } finally {
+            try {
+                discard(spooled);
+            } catch (IOException e) {
+                log.warn("Could not delete spooled upload {}: {}", spooled, e.getMessage());
+            }
+        }
+    }
+
+    private void discard(Path spooled) throws IOException {
+        try {
+            Files.deleteIfExists(spooled);
+        } finally {
+            activeSpools.remove(spooled);
+        }
+    }
+
+    private static class ProgressInputStream extends FilterInputStream {
+
+        private final UploadJob job;
+        private long read;
+
+        ProgressInputStream(InputStream in, UploadJob job) {
+            super(in);
+            this.job = job;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) job.progress(++read);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int n = super.read(buffer, off, len);
+            if (n > 0) job.progress(read += n);
+            return n;
+        }
+    }
+}
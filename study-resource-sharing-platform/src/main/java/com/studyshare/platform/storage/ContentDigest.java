@@ -0,0 +1,33 @@
+package com.studyshare.platform.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class ContentDigest {
+
+    private ContentDigest() {
+    }
+
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static String sha256(InputStream in) throws IOException {
+        DigestInputStream digesting = new DigestInputStream(in, newSha256());
+        digesting.transferTo(OutputStream.nullOutputStream());
+        return hex(digesting.getMessageDigest());
+    }
+
+    public static String hex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
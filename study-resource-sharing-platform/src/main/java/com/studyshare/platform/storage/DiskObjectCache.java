@@ -0,0 +1,218 @@
+package com.studyshare.platform.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache of whole objects on local disk, evicting the least
+ * recently used files once {@code storage.cache.max-size} bytes are held.
+ * Concurrent misses for one key share a single fill from the backend; hits are
+ * served from a {@link FileChannel}-backed range opened before the response
+ * is written. They are never handed to sendfile: eviction may unlink the file
+ * before the container would reopen it by name.
+ * Objects are immutable per key, so entries never need invalidating.
+ */
+@Component
+public class DiskObjectCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DiskObjectCache.class);
+
+    private final StorageBackend storage;
+    private final Path dir;
+    private final long maxBytes;
+    private final long maxObjectBytes;
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> fills = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    public DiskObjectCache(StorageBackend storage,
+                           @Value("${storage.cache.dir:${java.io.tmpdir}/studyshare-cache}") Path dir,
+                           @Value("${storage.cache.max-size:0}") DataSize maxSize,
+                           @Value("${storage.cache.max-object-size:64MB}") DataSize maxObjectSize) throws IOException {
+        this.storage = storage;
+        this.dir = dir.toAbsolutePath().normalize();
+        this.maxBytes = maxSize.toBytes();
+        this.maxObjectBytes = Math.min(maxObjectSize.toBytes(), maxBytes);
+        if (isEnabled()) {
+            Files.createDirectories(this.dir);
+            loadExisting();
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * Reads a range of an object of {@code size} bytes, filling the cache on a
+     * miss. Objects larger than {@code storage.cache.max-object-size} bypass it.
+     */
+    public ObjectContent read(String key, long size, long offset, long length) throws IOException {
+        if (!isEnabled() || size > maxObjectBytes) {
+            return storage.read(key, offset, length);
+        }
+        String name = fileName(key);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Path file = touch(name) ? dir.resolve(name) : fill(key, name, size);
+            try {
+                return new FileObjectContent(file, offset, length, false);
+            } catch (NoSuchFileException e) {
+                // evicted between lookup and open; fill again
+            }
+        }
+        return storage.read(key, offset, length);
+    }
+
+    /**
+     * Reads a whole object whose size is not known up front; a miss costs one
+     * extra metadata request to the backend.
+     */
+    public ObjectContent read(String key) throws IOException {
+        if (isEnabled()) {
+            Long cached = cachedSize(fileName(key));
+            if (cached != null) {
+                try {
+                    return new FileObjectContent(dir.resolve(fileName(key)), 0, cached, false);
+                } catch (NoSuchFileException e) {
+                    // evicted since the lookup; fall through to the backend
+                }
+            }
+        }
+        long size = storage.stat(key)
+                .orElseThrow(() -> new NoSuchFileException(key))
+                .size();
+        return read(key, size, 0, size);
+    }
+
+    public synchronized long size() {
+        return totalBytes;
+    }
+
+    private Path fill(String key, String name, long size) throws IOException {
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> running = fills.putIfAbsent(name, mine);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            Path file = download(key, name, size);
+            mine.complete(file);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            fills.remove(name, mine);
+        }
+    }
+
+    private Path download(String key, String name, long size) throws IOException {
+        Path file = dir.resolve(name);
+        Path temp = Files.createTempFile(dir, ".", ".tmp");
+        try {
+            try (ObjectContent content = storage.read(key, 0, size);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                content.transferTo(out);
+            }
+            long written = Files.size(temp);
+            if (written != size) {
+                throw new IOException("Expected " + size + " bytes for " + key + " but read " + written);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        admit(name, size);
+        return file;
+    }
+
+    private static Path await(CompletableFuture<Path> fill) throws IOException {
+        try {
+            return fill.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private synchronized Long cachedSize(String name) {
+        return entries.get(name);
+    }
+
+    private synchronized boolean touch(String name) {
+        return entries.get(name) != null;
+    }
+
+    private synchronized void admit(String name, long size) {
+        Long previous = entries.put(name, size);
+        totalBytes += size - (previous != null ? previous : 0);
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(name)) continue;
+            eldest.remove();
+            totalBytes -= entry.getValue();
+            // Open reads keep their channel; cached files are never reopened by name.
+            try {
+                Files.deleteIfExists(dir.resolve(entry.getKey()));
+            } catch (IOException e) {
+                log.warn("Could not evict cached object {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private void loadExisting() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.filter(Files::isRegularFile).toList();
+        }
+        List<Cached> cached = new ArrayList<>();
+        for (Path file : files) {
+            if (file.getFileName().toString().startsWith(".")) {
+                Files.deleteIfExists(file);
+                continue;
+            }
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            cached.add(new Cached(file, attributes.size(), attributes.lastModifiedTime().toMillis()));
+        }
+        cached.sort(Comparator.comparingLong(Cached::lastModified));
+        for (Cached entry : cached) {
+            admit(entry.file().getFileName().toString(), entry.size());
+        }
+        log.info("Object cache at {} holds {} objects, {} bytes", dir, entries.size(), totalBytes);
+    }
+
+    private static String fileName(String key) {
+        MessageDigest digest = ContentDigest.newSha256();
+        digest.update(key.getBytes(StandardCharsets.UTF_8));
+        return ContentDigest.hex(digest);
+    }
+
+    private record Cached(Path file, long size, long lastModified) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.studyshare.platform.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * A range of a local file, copied with {@link FileChannel#transferTo} so the
+ * kernel can move the bytes without staging them in the JVM. The channel is
+ * opened eagerly, so the range stays readable even if the file is unlinked.
+ * Only files that stay at their path while the response is sent are offered
+ * as {@link #localFile()}, because sendfile reopens the file by name.
+ */
+class FileObjectContent implements ObjectContent {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long offset;
+    private final long length;
+    private final boolean stablePath;
+
+    FileObjectContent(Path file, long offset, long length, boolean stablePath) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.offset = offset;
+        this.length = length;
+        this.stablePath = stablePath;
+    }
+
+    @Override
+    public long offset() {
+        return offset;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public void transferTo(OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        long position = offset;
+        long remaining = length;
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, target);
+            if (sent <= 0) break;
+            position += sent;
+            remaining -= sent;
+        }
+    }
+
+    @Override
+    public Optional<Path> localFile() {
+        return stablePath ? Optional.of(file) : Optional.empty();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,61 @@
+package com.studyshare.platform.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Compact membership set of object keys stored as sorted 64-bit hashes, about
+ * 8 bytes per key. A hash collision can only make an absent key look present,
+ * so callers must treat "contains" as "probably referenced" and never delete on it.
+ * Build with {@link #add}, then {@link #seal} before querying. Not thread-safe.
+ */
+public class KeyHashSet {
+
+    private long[] hashes = new long[1024];
+    private int size;
+    private boolean sealed;
+
+    public void add(String key) {
+        if (sealed) throw new IllegalStateException("Set is sealed");
+        if (size == hashes.length) {
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        hashes[size++] = hash(key);
+    }
+
+    public void seal() {
+        Arrays.sort(hashes, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || hashes[unique - 1] != hashes[i]) {
+                hashes[unique++] = hashes[i];
+            }
+        }
+        size = unique;
+        hashes = Arrays.copyOf(hashes, size);
+        sealed = true;
+    }
+
+    public boolean contains(String key) {
+        if (!sealed) throw new IllegalStateException("Set is not sealed");
+        return Arrays.binarySearch(hashes, 0, size, hash(key)) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes followed by a SplitMix64 finalizer.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,141 @@
+package com.studyshare.platform.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decides where new objects go and which bucket an existing key lives in.
+ * <p>
+ * With {@code storage.layout.partitions} above 1, keys start with a hashed
+ * two-hex-digit prefix ({@code 3f/uploads/<uuid>.pdf}) so request load spreads
+ * over many S3 prefixes. With more than one entry in {@code storage.layout.buckets},
+ * keys also carry the bucket index ({@code bk2/3f/uploads/...}). Keys are
+ * self-describing, so changing the partitions never affects existing objects;
+ * keys without a bucket marker, including all legacy {@code uploads/...} keys,
+ * live in {@code aws.s3.bucketName}. Buckets may only be appended: removing one
+ * would orphan the keys that name it, which the startup check refuses.
+ */
+@Component
+public class KeyLayout {
+
+    private static final String BUCKET_MARKER = "bk";
+    private static final int MAX_PARTITIONS = 256;
+    static final int MAX_BUCKETS = 64;
+
+    private final String defaultBucket;
+    private final List<String> buckets;
+    private final int partitions;
+
+    public KeyLayout(@Value("${aws.s3.bucketName}") String defaultBucket,
+                     @Value("${storage.layout.buckets:}") List<String> buckets,
+                     @Value("${storage.layout.partitions:1}") int partitions) {
+        if (partitions < 1 || partitions > MAX_PARTITIONS) {
+            throw new IllegalArgumentException("storage.layout.partitions must be between 1 and " + MAX_PARTITIONS);
+        }
+        this.defaultBucket = defaultBucket;
+        this.buckets = buckets.stream().filter(b -> !b.isBlank()).toList();
+        this.partitions = partitions;
+        if (this.buckets.size() == 1) {
+            throw new IllegalArgumentException("storage.layout.buckets lists a single bucket; list two or more, "
+                    + "or leave it empty and set aws.s3.bucketName");
+        }
+        if (this.buckets.size() > MAX_BUCKETS) {
+            throw new IllegalArgumentException("storage.layout.buckets may list at most " + MAX_BUCKETS + " buckets");
+        }
+    }
+
+    public String newKey(String kind, String name) {
+        long hash = KeyHashSet.hash(name);
+        StringBuilder key = new StringBuilder();
+        if (buckets.size() > 1) {
+            key.append(BUCKET_MARKER).append(Math.floorMod(hash >>> 32, buckets.size())).append('/');
+        }
+        if (partitions > 1) {
+            key.append(String.format("%02x", Math.floorMod(hash, partitions))).append('/');
+        }
+        return key.append(kind).append('/').append(name).toString();
+    }
+
+    public String bucketFor(String key) {
+        int index = bucketIndex(key);
+        return index < 0 ? defaultBucket : buckets.get(index);
+    }
+
+    /**
+     * Bucket/prefix pairs that together cover every hashed key any setting can
+     * have written, for jobs that list the whole store: all 256 hashed prefixes
+     * under every {@linkplain #roots() root}, whatever the current partition
+     * count, so keys written before a layout change are still visited.
+     */
+    public List<Partition> partitions() {
+        List<Partition> result = new ArrayList<>();
+        for (String root : roots()) {
+            for (int p = 0; p < MAX_PARTITIONS; p++) {
+                String prefix = root + String.format("%02x/", p);
+                result.add(new Partition(bucketFor(prefix), prefix));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Prefixes under which keys start: the empty root of {@code aws.s3.bucketName}
+     * and the marker of every configured bucket.
+     */
+    public List<String> roots() {
+        List<String> roots = new ArrayList<>();
+        roots.add("");
+        for (int b = 0; b < buckets.size(); b++) {
+            roots.add(bucketMarker(b));
+        }
+        return roots;
+    }
+
+    public String defaultBucket() {
+        return defaultBucket;
+    }
+
+    public int bucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * The key prefix of every key stored in the bucket at {@code index}.
+     */
+    public static String bucketMarker(int index) {
+        return BUCKET_MARKER + index + "/";
+    }
+
+    /**
+     * Markers of bucket indexes beyond the configured list, which existing keys
+     * must not use.
+     */
+    public List<String> unconfiguredBucketMarkers() {
+        List<String> markers = new ArrayList<>();
+        for (int b = buckets.size(); b < MAX_BUCKETS; b++) {
+            markers.add(bucketMarker(b));
+        }
+        return markers;
+    }
+
+    private int bucketIndex(String key) {
+        if (!key.startsWith(BUCKET_MARKER)) return -1;
+        int slash = key.indexOf('/');
+        if (slash <= BUCKET_MARKER.length()) return -1;
+        try {
+            int index = Integer.parseInt(key.substring(BUCKET_MARKER.length(), slash));
+            if (index >= buckets.size()) {
+                throw new IllegalStateException("Key " + key + " refers to bucket " + index + " which is not configured");
+            }
+            return index;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public record Partition(String bucket, String prefix) {
+    }
+}
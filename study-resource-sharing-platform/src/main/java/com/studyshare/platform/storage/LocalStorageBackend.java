@@ -0,0 +1,266 @@
+package com.studyshare.platform.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Stores objects as files under {@code storage.local.root}, one file per key.
+ * Writes go through a {@link FileChannel} into a temporary file that is moved
+ * into place atomically, so readers never see a partial object; reads use
+ * {@link FileChannel#transferTo}, which the kernel can serve without copying
+ * the bytes through the JVM.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local")
+public class LocalStorageBackend implements StorageBackend {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalStorageBackend.class);
+    private static final String MULTIPART_DIR = ".multipart";
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    private final Path root;
+
+    public LocalStorageBackend(@Value("${storage.local.root:./data/objects}") Path root) throws IOException {
+        this.root = Files.createDirectories(root.toAbsolutePath().normalize());
+    }
+
+    @Override
+    public long write(String key, String contentType, InputStream in, long maxBytes) throws IOException {
+        Path target = resolve(key);
+        Path temp = tempFileFor(target);
+        try {
+            long total = 0;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 ReadableByteChannel source = Channels.newChannel(in)) {
+                long copied;
+                while ((copied = out.transferFrom(source, total, TRANSFER_CHUNK)) > 0) {
+                    total += copied;
+                    if (total > maxBytes) {
+                        throw new IllegalArgumentException("File exceeds the maximum upload size");
+                    }
+                }
+                out.force(false);
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("File cannot be empty");
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            log.info("Stored {} bytes locally: {}", total, key);
+            return total;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public ObjectContent read(String key, long offset, long length) throws IOException {
+        return new FileObjectContent(resolve(key), offset, length, true);
+    }
+
+    @Override
+    public Optional<ObjectInfo> stat(String key) {
+        Path file = resolve(key);
+        try {
+            return Optional.of(info(key, Files.readAttributes(file, BasicFileAttributes.class)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Map<String, String> delete(Collection<String> keys) {
+        Map<String, String> errors = new HashMap<>();
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(resolve(key));
+            } catch (IOException | RuntimeException e) {
+                errors.put(key, String.valueOf(e.getMessage()));
+            }
+        }
+        return errors;
+    }
+
+    @Override
+    public void list(String prefix, Consumer<ObjectInfo> visitor) {
+        Path multipart = root.resolve(MULTIPART_DIR);
+        Path start = listingRoot(prefix);
+        if (!Files.isDirectory(start)) return;
+        try (Stream<Path> files = Files.walk(start)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> !file.startsWith(multipart))
+                    .forEach(file -> {
+                        String key = keyOf(file);
+                        if (!key.startsWith(prefix) || isTemp(file)) return;
+                        try {
+                            visitor.accept(info(key, Files.readAttributes(file, BasicFileAttributes.class)));
+                        } catch (NoSuchFileException e) {
+                            // deleted while walking
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String location(String key) {
+        return resolve(key).toUri().toString();
+    }
+
+    @Override
+    public Optional<SignedUrl> signedGetUrl(String key, Duration ttl) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<SignedUrl> signedPutUrl(String key, String contentType, long size, Duration ttl) {
+        return Optional.empty();
+    }
+
+    @Override
+    public String beginMultipart(String key, String contentType) {
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Files.createDirectories(partsDir(uploadId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return uploadId;
+    }
+
+    @Override
+    public String writePart(String key, String uploadId, int partNumber, InputStream in, long length) throws IOException {
+        Path part = partsDir(uploadId).resolve(String.valueOf(partNumber));
+        long written;
+        try (FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            written = out.transferFrom(Channels.newChannel(in), 0, length);
+            out.force(false);
+        }
+        if (written != length) {
+            Files.deleteIfExists(part);
+            throw new IllegalArgumentException("Part " + partNumber + " ended after " + written + " of " + length + " bytes");
+        }
+        return partNumber + "-" + written;
+    }
+
+    @Override
+    public void completeMultipart(String key, String uploadId, List<String> partETags) throws IOException {
+        Path dir = partsDir(uploadId);
+        Path target = resolve(key);
+        Path temp = tempFileFor(target);
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                for (int i = 0; i < partETags.size(); i++) {
+                    Path part = dir.resolve(String.valueOf(i + 1));
+                    if (!partETags.get(i).equals((i + 1) + "-" + Files.size(part))) {
+                        throw new IllegalArgumentException("Part " + (i + 1) + " does not match its ETag");
+                    }
+                    try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                        long position = 0;
+                        long size = in.size();
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                }
+                out.force(false);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        deleteParts(dir);
+    }
+
+    @Override
+    public void abortMultipart(String key, String uploadId) {
+        try {
+            deleteParts(partsDir(uploadId));
+        } catch (IOException e) {
+            log.error("Failed to abort multipart upload {} for {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    private Path resolve(String key) {
+        Path file = root.resolve(key).normalize();
+        if (!file.startsWith(root) || file.equals(root) || file.startsWith(root.resolve(MULTIPART_DIR))) {
+            throw new IllegalArgumentException("Invalid object key: " + key);
+        }
+        return file;
+    }
+
+    private Path partsDir(String uploadId) {
+        UUID.fromString(uploadId);
+        return root.resolve(MULTIPART_DIR).resolve(uploadId);
+    }
+
+    private Path tempFileFor(Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        return Files.createTempFile(target.getParent(), ".", ".tmp");
+    }
+
+    /**
+     * The deepest directory that holds every key starting with {@code prefix},
+     * so a listing walks only that subtree rather than the whole root.
+     */
+    private Path listingRoot(String prefix) {
+        int slash = prefix.lastIndexOf('/');
+        if (slash < 0) return root;
+        Path dir = root.resolve(prefix.substring(0, slash)).normalize();
+        return dir.startsWith(root) ? dir : root;
+    }
+
+    private String keyOf(Path file) {
+        return root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    private static boolean isTemp(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(".") && name.endsWith(".tmp");
+    }
+
+    private static ObjectInfo info(String key, BasicFileAttributes attributes) {
+        return new ObjectInfo(key, attributes.size(), attributes.lastModifiedTime().toInstant(), null,
+                Long.toHexString(attributes.size()) + "-" + Long.toHexString(attributes.lastModifiedTime().toMillis()));
+    }
+
+    private static void deleteParts(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return;
+        try (Stream<Path> parts = Files.list(dir)) {
+            for (Path part : (Iterable<Path>) parts::iterator) {
+                Files.deleteIfExists(part);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+}
@@ -0,0 +1,27 @@
+package com.studyshare.platform.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * An open read of part or all of a stored object.
+ */
+public interface ObjectContent extends Closeable {
+
+    long offset();
+
+    long length();
+
+    void transferTo(OutputStream out) throws IOException;
+
+    /**
+     * The backing file when the bytes are on local disk, so the container can
+     * send them with sendfile instead of copying through the JVM.
+     */
+    default Optional<Path> localFile() {
+        return Optional.empty();
+    }
+}
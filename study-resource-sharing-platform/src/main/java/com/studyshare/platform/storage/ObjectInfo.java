@@ -0,0 +1,6 @@
+package com.studyshare.platform.storage;
+
+import java.time.Instant;
+
+public record ObjectInfo(String key, long size, Instant lastModified, String contentType, String eTag) {
+}
@@ -0,0 +1,300 @@
+package com.studyshare.platform.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * S3 storage. Streams of unknown length are copied through one reusable part
+ * buffer of {@code aws.s3.partSize}, so memory per upload stays constant
+ * regardless of file size; the bucket of every key comes from {@link KeyLayout}.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "s3", matchIfMissing = true)
+public class S3StorageBackend implements StorageBackend {
+
+    private static final Logger log = LoggerFactory.getLogger(S3StorageBackend.class);
+    private static final int MAX_KEYS_PER_DELETE = 1000;
+
+    private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    private final KeyLayout keyLayout;
+
+    @Value("${aws.s3.region}")
+    private String region;
+
+    @Value("${aws.s3.partSize:8MB}")
+    private DataSize partSize;
+
+    public S3StorageBackend(S3Client s3Client, S3Presigner s3Presigner, KeyLayout keyLayout) {
+        this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
+        this.keyLayout = keyLayout;
+    }
+
+    @Override
+    public long write(String key, String contentType, InputStream in, long maxBytes) throws IOException {
+        byte[] buffer = new byte[(int) partSize.toBytes()];
+        int filled = fill(in, buffer);
+        if (filled == 0) {
+            throw new IllegalArgumentException("File cannot be empty");
+        }
+        if (filled < buffer.length) {
+            putSingle(key, contentType, buffer, filled);
+            return filled;
+        }
+
+        String uploadId = beginMultipart(key, contentType);
+        try {
+            List<String> eTags = new ArrayList<>();
+            long total = 0;
+            while (filled > 0) {
+                total += filled;
+                if (total > maxBytes) {
+                    throw new IllegalArgumentException("File exceeds the maximum upload size");
+                }
+                eTags.add(writePart(key, uploadId, eTags.size() + 1, new ByteArrayInputStream(buffer, 0, filled), filled));
+                filled = fill(in, buffer);
+            }
+            completeMultipart(key, uploadId, eTags);
+            log.info("Streamed {} bytes to S3 in {} parts: {}", total, eTags.size(), key);
+            return total;
+        } catch (IOException | RuntimeException e) {
+            abortMultipart(key, uploadId);
+            throw e;
+        }
+    }
+
+    @Override
+    public ObjectContent read(String key, long offset, long length) {
+        ResponseInputStream<GetObjectResponse> in = s3Client.getObject(GetObjectRequest.builder()
+                .bucket(keyLayout.bucketFor(key))
+                .key(key)
+                .range("bytes=" + offset + "-" + (offset + length - 1))
+                .build());
+        return new ObjectContent() {
+            @Override
+            public long offset() {
+                return offset;
+            }
+
+            @Override
+            public long length() {
+                return length;
+            }
+
+            @Override
+            public void transferTo(OutputStream out) throws IOException {
+                in.transferTo(out);
+            }
+
+            @Override
+            public void close() throws IOException {
+                in.close();
+            }
+        };
+    }
+
+    @Override
+    public Optional<ObjectInfo> stat(String key) {
+        try {
+            HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(keyLayout.bucketFor(key))
+                    .key(key)
+                    .build());
+            return Optional.of(new ObjectInfo(key, head.contentLength(), head.lastModified(),
+                    head.contentType(), head.eTag()));
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<String, String> delete(Collection<String> keys) {
+        Map<String, List<ObjectIdentifier>> objectsByBucket = keys.stream()
+                .collect(Collectors.groupingBy(keyLayout::bucketFor,
+                        Collectors.mapping(key -> ObjectIdentifier.builder().key(key).build(), Collectors.toList())));
+
+        Map<String, String> errors = new HashMap<>();
+        for (Map.Entry<String, List<ObjectIdentifier>> bucket : objectsByBucket.entrySet()) {
+            List<ObjectIdentifier> objects = bucket.getValue();
+            for (int from = 0; from < objects.size(); from += MAX_KEYS_PER_DELETE) {
+                List<ObjectIdentifier> batch = objects.subList(from, Math.min(from + MAX_KEYS_PER_DELETE, objects.size()));
+                try {
+                    DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                            .bucket(bucket.getKey())
+                            .delete(Delete.builder().objects(batch).quiet(true).build())
+                            .build());
+                    for (S3Error error : response.errors()) {
+                        errors.put(error.key(), error.code() + ": " + error.message());
+                    }
+                } catch (Exception e) {
+                    log.error("DeleteObjects failed for {} keys in {}: {}", batch.size(), bucket.getKey(), e.getMessage());
+                    for (ObjectIdentifier object : batch) {
+                        errors.put(object.key(), String.valueOf(e.getMessage()));
+                    }
+                }
+            }
+        }
+        return errors;
+    }
+
+    @Override
+    public void list(String prefix, Consumer<ObjectInfo> visitor) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(keyLayout.bucketFor(prefix))
+                .prefix(prefix)
+                .build();
+        for (S3Object object : s3Client.listObjectsV2Paginator(request).contents()) {
+            visitor.accept(new ObjectInfo(object.key(), object.size(), object.lastModified(), null, object.eTag()));
+        }
+    }
+
+    @Override
+    public String location(String key) {
+        return String.format("https://%s.s3.%s.amazonaws.com/%s", keyLayout.bucketFor(key), region, key);
+    }
+
+    @Override
+    public Optional<SignedUrl> signedGetUrl(String key, Duration ttl) {
+        PresignedGetObjectRequest presigned = s3Presigner.presignGetObject(GetObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .getObjectRequest(GetObjectRequest.builder()
+                        .bucket(keyLayout.bucketFor(key))
+                        .key(key)
+                        .build())
+                .build());
+        return Optional.of(new SignedUrl(presigned.url().toString(), presigned.expiration()));
+    }
+
+    @Override
+    public Optional<SignedUrl> signedPutUrl(String key, String contentType, long size, Duration ttl) {
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(keyLayout.bucketFor(key))
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength(size)
+                        .build())
+                .build());
+        return Optional.of(new SignedUrl(presigned.url().toString(), presigned.expiration()));
+    }
+
+    @Override
+    public String beginMultipart(String key, String contentType) {
+        return s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(keyLayout.bucketFor(key))
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+    }
+
+    @Override
+    public String writePart(String key, String uploadId, int partNumber, InputStream in, long length) {
+        UploadPartResponse response = s3Client.uploadPart(UploadPartRequest.builder()
+                        .bucket(keyLayout.bucketFor(key))
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength(length)
+                        .build(),
+                RequestBody.fromInputStream(in, length));
+        return response.eTag();
+    }
+
+    @Override
+    public void completeMultipart(String key, String uploadId, List<String> partETags) {
+        List<CompletedPart> parts = new ArrayList<>(partETags.size());
+        for (int i = 0; i < partETags.size(); i++) {
+            parts.add(CompletedPart.builder().partNumber(i + 1).eTag(partETags.get(i)).build());
+        }
+        s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(keyLayout.bucketFor(key))
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                .build());
+    }
+
+    @Override
+    public void abortMultipart(String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(keyLayout.bucketFor(key))
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to abort multipart upload {} for {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    private void putSingle(String key, String contentType, byte[] buffer, int length) {
+        s3Client.putObject(PutObjectRequest.builder()
+                        .bucket(keyLayout.bucketFor(key))
+                        .key(key)
+                        .contentType(contentType)
+                        .build(),
+                RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, length), length));
+        log.info("Uploaded file to S3: {}", key);
+    }
+
+    private static int fill(InputStream in, byte[] buffer) throws IOException {
+        int filled = 0;
+        while (filled < buffer.length) {
+            int read = in.read(buffer, filled, buffer.length - filled);
+            if (read < 0) break;
+            filled += read;
+        }
+        return filled;
+    }
+}
@@ -0,0 +1,6 @@
+package com.studyshare.platform.storage;
+
+import java.time.Instant;
+
+public record SignedUrl(String url, Instant expiration) {
+}
@@ -0,0 +1,73 @@
+package com.studyshare.platform.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Where file bytes live. Selected with {@code storage.backend} ({@code s3} or
+ * {@code local}); everything above this interface deals only in object keys.
+ */
+public interface StorageBackend {
+
+    /**
+     * Writes a stream of unknown length under {@code key} and returns its size.
+     *
+     * @throws IllegalArgumentException if the stream is empty or longer than {@code maxBytes}
+     */
+    long write(String key, String contentType, InputStream in, long maxBytes) throws IOException;
+
+    /**
+     * Opens {@code length} bytes of the object starting at {@code offset}.
+     */
+    ObjectContent read(String key, long offset, long length) throws IOException;
+
+    Optional<ObjectInfo> stat(String key);
+
+    /**
+     * Deletes the keys and returns an error message for each key that could not be deleted.
+     */
+    Map<String, String> delete(Collection<String> keys);
+
+    /**
+     * Visits every object whose key starts with {@code prefix}.
+     */
+    void list(String prefix, Consumer<ObjectInfo> visitor);
+
+    /**
+     * Human-readable location of the object, stored with the resource.
+     */
+    String location(String key);
+
+    /**
+     * A URL the browser can GET directly, or empty when the content must be served by the application.
+     */
+    Optional<SignedUrl> signedGetUrl(String key, Duration ttl);
+
+    /**
+     * A URL the browser can PUT exactly {@code size} bytes of {@code contentType} to,
+     * or empty when the backend does not accept direct uploads.
+     */
+    Optional<SignedUrl> signedPutUrl(String key, String contentType, long size, Duration ttl);
+
+    // Multipart writes: parts are numbered from 1 and may arrive on different nodes.
+
+    String beginMultipart(String key, String contentType);
+
+    /**
+     * Stores one part and returns its ETag.
+     */
+    String writePart(String key, String uploadId, int partNumber, InputStream in, long length) throws IOException;
+
+    /**
+     * Assembles the parts; {@code partETags.get(i)} belongs to part {@code i + 1}.
+     */
+    void completeMultipart(String key, String uploadId, List<String> partETags) throws IOException;
+
+    void abortMultipart(String key, String uploadId);
+}
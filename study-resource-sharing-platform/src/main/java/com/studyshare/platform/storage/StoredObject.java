@@ -0,0 +1,12 @@
+package com.studyshare.platform.storage;
+
+/**
+ * An object written to storage. {@code sha256} is set when the content was
+ * hashed on the way in and the object is shared through a {@code ContentBlob}.
+ */
+public record StoredObject(String key, String fileName, String contentType, long size, String sha256) {
+
+    public StoredObject(String key, String fileName, String contentType, long size) {
+        this(key, fileName, contentType, size, null);
+    }
+}
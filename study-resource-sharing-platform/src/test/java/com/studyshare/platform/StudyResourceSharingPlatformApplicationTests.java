@@ -7,13 +7,22 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 /**
  * Unit test class for {@link StudyResourceSharingPlatformApplication}.
  * <p>
- * This class contains basic tests to verify that the application context loads correctly.
+ * This class contains basic tests to verify that the application context loads correctly,
+ * against an in-memory H2 database and local file storage instead of MySQL and S3.
  * </p>
  *
  * @see StudyResourceSharingPlatformApplication
  * @since 1.0
  */
-@SpringBootTest
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:contextLoads;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "storage.backend=local",
+        "storage.local.root=${java.io.tmpdir}/studyshare-test-objects",
+        "storage.cache.max-size=0"
+})
 class StudyResourceSharingPlatformApplicationTests {
 
     /**
@@ -0,0 +1,178 @@
+package com.studyshare.platform.controller;
+
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.service.ContentService;
+import com.studyshare.platform.service.ResourceActivityService;
+import com.studyshare.platform.storage.ObjectContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit test class for {@link ContentController}.
+ * <p>
+ * This class tests full and ranged responses, If-Range fallback to the full
+ * file, unsatisfiable ranges, 304 responses for matching validators and
+ * that only explicit downloads are counted.
+ * </p>
+ *
+ * @see ContentController
+ * @since 1.0
+ */
+class ContentControllerTest {
+
+    private static final String BODY = "0123456789";
+    private static final String ETAG = "\"abc\"";
+
+    /**
+     * Mock content service serving a ten-byte resource.
+     */
+    @Mock
+    private ContentService contentService;
+
+    /**
+     * Mock activity service counting downloads.
+     */
+    @Mock
+    private ResourceActivityService activityService;
+
+    private MockMvc mockMvc;
+
+    /**
+     * Initializes mocks, a ten-byte resource and a standalone MockMvc.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        Resource resource = new Resource();
+        resource.setId(1L);
+        resource.setFileName("notes.pdf");
+        resource.setFileType("application/pdf");
+        resource.setFileSize((long) BODY.length());
+        resource.setContentHash("abc");
+        resource.setUploadDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+
+        when(contentService.getResource(1L)).thenReturn(resource);
+        when(contentService.open(any(Resource.class), anyLong(), anyLong()))
+                .thenAnswer(i -> stored(i.getArgument(1), i.getArgument(2)));
+        mockMvc = MockMvcBuilders.standaloneSetup(new ContentController(contentService, activityService)).build();
+    }
+
+    /**
+     * Tests that a plain GET returns the whole file with validators.
+     */
+    @Test
+    void testFullContent() throws Exception {
+        mockMvc.perform(get("/resources/1/content"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().string(BODY));
+
+        verifyNoInteractions(activityService);
+    }
+
+    /**
+     * Tests that a download is served as an attachment and counted once.
+     */
+    @Test
+    void testDownloadCounted() throws Exception {
+        mockMvc.perform(get("/resources/1/content").param("download", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        startsWith("attachment")));
+
+        verify(activityService).recordDownload(1L);
+    }
+
+    /**
+     * Tests that a single range is read from storage and returned as 206.
+     */
+    @Test
+    void testRange() throws Exception {
+        mockMvc.perform(get("/resources/1/content").header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+
+        verify(contentService).open(any(Resource.class), eq(2L), eq(4L));
+    }
+
+    /**
+     * Tests that a stale If-Range validator returns the whole file.
+     */
+    @Test
+    void testIfRangeMismatch() throws Exception {
+        mockMvc.perform(get("/resources/1/content")
+                        .header(HttpHeaders.RANGE, "bytes=2-5")
+                        .header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BODY));
+    }
+
+    /**
+     * Tests that a range beyond the end is rejected without reading storage.
+     */
+    @Test
+    void testUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/resources/1/content").header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+
+        verify(contentService, never()).open(any(), anyLong(), anyLong());
+    }
+
+    /**
+     * Tests that a matching If-None-Match is answered with 304 without reading storage.
+     */
+    @Test
+    void testNotModified() throws Exception {
+        mockMvc.perform(get("/resources/1/content").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified());
+
+        verify(contentService, never()).open(any(), anyLong(), anyLong());
+    }
+
+    private static ObjectContent stored(long offset, long length) {
+        return new ObjectContent() {
+            @Override
+            public long offset() {
+                return offset;
+            }
+
+            @Override
+            public long length() {
+                return length;
+            }
+
+            @Override
+            public void transferTo(OutputStream out) throws IOException {
+                out.write(BODY.getBytes(StandardCharsets.UTF_8), (int) offset, (int) length);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
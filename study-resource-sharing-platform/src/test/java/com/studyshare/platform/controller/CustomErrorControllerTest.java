@@ -1,14 +1,14 @@
 package com.studyshare.platform.controller;
 
-import org.junit.jupiter.api.BeforeEach;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.MockitoAnnotations;
-
-import javax.servlet.http.HttpServletRequest;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.ui.Model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Unit test class for {@link CustomErrorController}.
@@ -23,36 +23,33 @@ import static org.mockito.Mockito.mock;
 class CustomErrorControllerTest {
 
     /**
-     * The instance of {@link CustomErrorController} to be tested, injected with mocks.
+     * The instance of {@link CustomErrorController} to be tested.
      */
-    @InjectMocks
-    private CustomErrorController customErrorController;
+    private final CustomErrorController customErrorController = new CustomErrorController();
 
     /**
-     * Initializes mocks before each test.
-     * <p>
-     * This setup method opens mocks for dependency injection, preparing the test environment.
-     * </p>
+     * Tests that a known status code renders the error view with its title and message.
      */
-    @BeforeEach
-    void setUp() {
-        MockitoAnnotations.openMocks(this);
+    @Test
+    void testHandleError_NotFound() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getAttribute(RequestDispatcher.ERROR_STATUS_CODE)).thenReturn(404);
+        Model model = new ExtendedModelMap();
+
+        assertEquals("error", customErrorController.handleError(request, model));
+        assertEquals("Page Not Found", model.getAttribute("errorTitle"));
     }
 
     /**
-     * Tests the {@code handleError} method to ensure it returns the correct error view name.
-     * <p>
-     * This test verifies that the {@link CustomErrorController#handleError(HttpServletRequest)} method
-     * returns the expected view name {@code "customError"} when an error occurs.
-     * </p>
+     * Tests that a request without a status code falls back to the generic message.
      */
     @Test
-    void testHandleError() {
-        HttpServletRequest mockRequest = mock(HttpServletRequest.class);
-
-        String viewName = customErrorController.handleError(mockRequest);
+    void testHandleError_WithoutStatus() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        Model model = new ExtendedModelMap();
 
-        // Assert that it returns the expected error view name
-        assertEquals("customError", viewName, "Should return the custom error view name");
+        assertEquals("error", customErrorController.handleError(request, model));
+        assertEquals("Something Went Wrong", model.getAttribute("errorTitle"));
+        assertEquals("An unexpected error occurred.", model.getAttribute("errorMessage"));
     }
 }
@@ -1,107 +1,92 @@
 package com.studyshare.platform.controller;
 
+import com.studyshare.platform.exception.GlobalExceptionHandler;
+import com.studyshare.platform.exception.ResourceNotFoundException;
+import com.studyshare.platform.model.Resource;
 import com.studyshare.platform.service.PreviewService;
+import com.studyshare.platform.service.ResourceActivityService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
 /**
  * Unit test class for {@link PreviewController}.
  * <p>
- * This class tests the functionality of the {@link PreviewController} endpoints, including successful
- * and error scenarios for file preview requests.
+ * This class tests the preview page for an existing resource, which links to
+ * the content endpoint and counts a view, and the 404 for a missing one.
  * </p>
  *
  * @see PreviewController
  * @since 1.0
  */
-@WebMvcTest(PreviewController.class)
-public class PreviewControllerTest {
-
-    /**
-     * MockMvc for simulating HTTP requests to the controller.
-     */
-    @Autowired
-    private MockMvc mockMvc;
+class PreviewControllerTest {
 
     /**
      * Mock service for managing preview operations.
      */
-    @MockBean
+    @Mock
     private PreviewService previewService;
 
     /**
-     * The instance of {@link PreviewController} to be tested.
+     * Mock activity service counting views.
      */
-    @InjectMocks
-    private PreviewController previewController;
+    @Mock
+    private ResourceActivityService activityService;
+
+    private MockMvc mockMvc;
 
     /**
-     * Sets up the test environment by initializing mocks and setting up MockMvc.
+     * Initializes mocks and a standalone MockMvc with the application's exception handler.
      */
     @BeforeEach
-    public void setup() {
-        MockitoAnnotations.initMocks(this);
-        this.mockMvc = MockMvcBuilders.standaloneSetup(previewController).build();
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(new PreviewController(previewService, activityService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
     }
 
     /**
-     * Tests the {@code previewResourceFile} endpoint for a successful response.
-     * <p>
-     * This test mocks the necessary service methods to simulate a successful file retrieval,
-     * returning a predefined URL and view name.
-     * </p>
-     * 
+     * Tests that the preview page gets the resource and its content URL and records a view.
+     *
      * @throws Exception if an error occurs during request processing.
      */
     @Test
-    public void testPreviewResourceFile_Success() throws Exception {
-        
-        String expectedView = "preview";
-        String mockFileUrl = "https://s3.us-east-2.amazonaws.com/test-bucket/mockfile.pdf";
-        when(previewService.getFileKeyById(any(Long.class))).thenReturn("mockfile.pdf");
-        when(previewService.generatePresignedUrl("mockfile.pdf")).thenReturn(mockFileUrl);
+    void testPreviewResource_Success() throws Exception {
+        Resource resource = new Resource();
+        resource.setId(1L);
+        when(previewService.getResourceById(1L)).thenReturn(resource);
+        when(previewService.contentUrl(1L)).thenReturn("/resources/1/content");
 
-        // Act
-        MvcResult result = mockMvc.perform(get("/preview/1"))
+        mockMvc.perform(get("/preview/1"))
                 .andExpect(status().isOk())
-                .andReturn();
-
-        // Assert
-        assertEquals(expectedView, result.getModelAndView().getViewName());
-        assertEquals(mockFileUrl, result.getModelAndView().getModel().get("pdfUrl"));
+                .andExpect(view().name("preview"))
+                .andExpect(model().attribute("resource", resource))
+                .andExpect(model().attribute("fileUrl", "/resources/1/content"));
+        verify(activityService).recordView(1L);
     }
 
     /**
-     * Tests the {@code previewResourceFile} endpoint for a not found error.
-     * <p>
-     * This test simulates a scenario where the requested resource does not exist, resulting
-     * in a 4xx client error.
-     * </p>
-     * 
+     * Tests that a missing resource renders the error page with a 404 and records no view.
+     *
      * @throws Exception if an error occurs during request processing.
      */
     @Test
-    public void testPreviewResourceFile_NotFound() throws Exception {
-        
-        when(previewService.getFileKeyById(any(Long.class))).thenThrow(new RuntimeException("Resource not found"));
+    void testPreviewResource_NotFound() throws Exception {
+        when(previewService.getResourceById(999L)).thenThrow(new ResourceNotFoundException("Resource not found with ID: 999"));
 
-        // Act & Assert
         mockMvc.perform(get("/preview/999"))
-                .andExpect(status().is4xxClientError());
+                .andExpect(status().isNotFound())
+                .andExpect(view().name("error"));
+        verify(activityService, never()).recordView(anyLong());
     }
 }
@@ -1,30 +1,52 @@
 package com.studyshare.platform.controller;
 
-import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.dto.CursorPage;
+import com.studyshare.platform.dto.Facets;
+import com.studyshare.platform.dto.ResourceCard;
+import com.studyshare.platform.dto.SearchResults;
+import com.studyshare.platform.model.User;
+import com.studyshare.platform.search.AttributeIndex;
+import com.studyshare.platform.search.InvertedIndex;
+import com.studyshare.platform.search.QueryParser;
+import com.studyshare.platform.search.QueryPlanner;
+import com.studyshare.platform.search.SearchField;
+import com.studyshare.platform.service.PreviewService;
 import com.studyshare.platform.service.ResourceService;
+import com.studyshare.platform.service.StreamingUploadService;
+import com.studyshare.platform.service.SuggestService;
+import com.studyshare.platform.service.UploadJobService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.ui.ExtendedModelMap;
 import org.springframework.ui.Model;
-import org.springframework.web.multipart.MaxUploadSizeExceededException;
-import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
 
-import java.io.IOException;
-import java.util.Arrays;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
  * Unit test class for {@link ResourceController}.
  * <p>
- * This class contains tests for each endpoint and method within the {@link ResourceController},
- * including scenarios for successful and unsuccessful resource uploads, retrieval of all resources,
- * and file size exception handling.
+ * This class tests the upload page, accepted and refused asynchronous uploads,
+ * and the resource listing.
  * </p>
  *
  * @see ResourceController
@@ -39,22 +61,28 @@ class ResourceControllerTest {
     private ResourceService resourceService;
 
     /**
-     * Mock model for passing attributes to views.
+     * Mock service generating file URLs for listed cards.
      */
     @Mock
-    private Model model;
+    private PreviewService previewService;
 
     /**
-     * Mock file for testing file upload functionality.
+     * Mock service for streamed uploads.
      */
     @Mock
-    private MultipartFile file;
+    private StreamingUploadService streamingUploadService;
 
     /**
-     * Mock attributes for redirect scenarios.
+     * Mock service queueing form uploads.
      */
     @Mock
-    private RedirectAttributes redirectAttributes;
+    private UploadJobService uploadJobService;
+
+    /**
+     * Mock typeahead service.
+     */
+    @Mock
+    private SuggestService suggestService;
 
     /**
      * The instance of {@link ResourceController} to be tested, injected with mocks.
@@ -62,6 +90,10 @@ class ResourceControllerTest {
     @InjectMocks
     private ResourceController resourceController;
 
+    private final MockMultipartFile file =
+            new MockMultipartFile("file", "notes.pdf", "application/pdf", new byte[]{1, 2, 3});
+    private final User user = new User("alice", "alice@example.com", "secret");
+
     /**
      * Sets up the test environment by initializing mocks before each test.
      */
@@ -71,94 +103,150 @@ class ResourceControllerTest {
     }
 
     /**
-     * Tests the {@code uploadPage} method to ensure it returns the correct view name for the upload page.
+     * Tests that the upload page renders and says whether direct uploads are enabled.
      */
     @Test
     void testUploadPage() {
-        String viewName = resourceController.uploadPage();
-        assertEquals("upload", viewName);
+        Model model = new ExtendedModelMap();
+        assertEquals("upload", resourceController.uploadPage(model));
+        assertEquals(false, model.getAttribute("directUploads"));
     }
 
     /**
-     * Tests the {@code uploadResource} method for a successful upload.
-     * <p>
-     * This test verifies that the upload process completes without errors,
-     * and that a success message is added to the redirect attributes.
-     * </p>
+     * Tests that an accepted upload is queued and redirects to the user's files.
      *
      * @throws Exception if an error occurs during the upload process.
      */
     @Test
     void testUploadResource_Success() throws Exception {
-        String title = "Test Title";
-        String description = "Test Description";
-        String tags = "test, tags";
-
-        doNothing().when(resourceService).uploadResource(file, title, description, tags);
+        RedirectAttributesModelMap redirectAttributes = new RedirectAttributesModelMap();
 
-        String result = resourceController.uploadResource(file, title, description, tags, redirectAttributes);
+        String result = resourceController.uploadResource(file, "Notes", "desc", "math", user, redirectAttributes);
 
-        verify(resourceService, times(1)).uploadResource(file, title, description, tags);
-        verify(redirectAttributes, times(1)).addFlashAttribute("message", "File uploaded successfully!");
-        assertEquals("redirect:/resources", result);
+        verify(uploadJobService).submit(file, "Notes", "desc", "math", user);
+        assertEquals("redirect:/my-resources", result);
+        assertNotNull(redirectAttributes.getFlashAttributes().get("success"));
     }
 
     /**
-     * Tests the {@code uploadResource} method for an upload failure.
-     * <p>
-     * This test simulates a file upload error and verifies that an error message
-     * is added to the redirect attributes.
-     * </p>
+     * Tests that invalid metadata sends the user back to the upload page with the reason.
      *
      * @throws Exception if an error occurs during the upload process.
      */
     @Test
-    void testUploadResource_Failure() throws Exception {
-        String title = "Test Title";
-        String description = "Test Description";
-        String tags = "test, tags";
-
-        doThrow(new IOException("File upload error")).when(resourceService).uploadResource(file, title, description, tags);
+    void testUploadResource_Invalid() throws Exception {
+        RedirectAttributesModelMap redirectAttributes = new RedirectAttributesModelMap();
+        when(uploadJobService.submit(any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Title is required"));
 
-        String result = resourceController.uploadResource(file, title, description, tags, redirectAttributes);
+        String result = resourceController.uploadResource(file, "", "desc", "math", user, redirectAttributes);
 
-        verify(resourceService, times(1)).uploadResource(file, title, description, tags);
-        verify(redirectAttributes, times(1)).addFlashAttribute("message", "File upload failed: File upload error");
-        assertEquals("redirect:/resources", result);
+        assertEquals("redirect:/upload", result);
+        assertEquals("Title is required", redirectAttributes.getFlashAttributes().get("error"));
     }
 
     /**
-     * Tests the {@code getAllResources} method to ensure it retrieves and sets the correct resources
-     * in the model and returns the correct view name.
+     * Tests that an upload refused by a full worker pool asks the user to retry.
+     *
+     * @throws Exception if an error occurs during the upload process.
      */
     @Test
-    void testGetAllResources() {
-        Resource resource1 = new Resource();
-        resource1.setTitle("Resource 1");
-        Resource resource2 = new Resource();
-        resource2.setTitle("Resource 2");
+    void testUploadResource_Busy() throws Exception {
+        RedirectAttributesModelMap redirectAttributes = new RedirectAttributesModelMap();
+        when(uploadJobService.submit(any(), any(), any(), any(), any()))
+                .thenThrow(new TaskRejectedException("full"));
 
-        List<Resource> resources = Arrays.asList(resource1, resource2);
+        String result = resourceController.uploadResource(file, "Notes", "desc", "math", user, redirectAttributes);
 
-        when(resourceService.getAllResources()).thenReturn(resources);
+        assertEquals("redirect:/upload", result);
+        assertNotNull(redirectAttributes.getFlashAttributes().get("error"));
+    }
 
-        String viewName = resourceController.getAllResources(model);
+    /**
+     * Tests that the default listing shows the newest resources and the total.
+     */
+    @Test
+    void testListResources() {
+        ResourceCard card = new ResourceCard(1L, "Notes", "", "math", "application/pdf", 3L, "k",
+                LocalDateTime.now(), 0, "alice", null);
+        when(resourceService.getAllResources("", 12)).thenReturn(new CursorPage<>(List.of(card), null, 1));
+        Model model = new ExtendedModelMap();
+
+        assertEquals("resources", resourceController.listResources("", "", "", "", model));
+        assertEquals(List.of(card), model.getAttribute("resources"));
+        assertEquals(1L, model.getAttribute("totalItems"));
+        verify(previewService).generateFileUrls(List.of(card));
+    }
 
-        verify(resourceService, times(1)).getAllResources();
-        verify(model, times(1)).addAttribute("resources", resources);
-        assertEquals("uploads", viewName);
+    /**
+     * Tests that a spelling suggestion is only looked up when the search found nothing.
+     */
+    @Test
+    void testListResources_DidYouMeanOnlyWithoutResults() {
+        ResourceCard card = new ResourceCard(1L, "Calculus", "", "math", "application/pdf", 3L, "k",
+                LocalDateTime.now(), 0, "alice", null);
+        Facets none = new Facets(List.of(), List.of(), List.of());
+        when(resourceService.searchResources("calculus", "", 12))
+                .thenReturn(new SearchResults(new CursorPage<>(List.of(card), null, 1), none));
+        when(resourceService.searchResources("xyzzy", "", 12))
+                .thenReturn(new SearchResults(new CursorPage<>(List.of(), null, 0), none));
+        when(resourceService.didYouMean("xyzzy")).thenReturn("xyz");
+
+        resourceController.listResources("", "calculus", "", "", new ExtendedModelMap());
+        verify(resourceService, never()).didYouMean(anyString());
+
+        Model model = new ExtendedModelMap();
+        resourceController.listResources("", "xyzzy", "", "", model);
+        assertEquals("xyz", model.getAttribute("didYouMean"));
     }
 
     /**
-     * Tests the {@code handleMaxSizeException} method to ensure it handles file size exceptions
-     * appropriately by adding an error message to the redirect attributes.
+     * Tests that a search shows the facets counted with its results rather than
+     * asking for them again.
      */
     @Test
-    void testHandleMaxSizeException() {
-        MaxUploadSizeExceededException exception = new MaxUploadSizeExceededException(100000L);
-        String result = resourceController.handleMaxSizeException(exception, redirectAttributes);
+    void testListResources_SearchFacetsComeWithResults() {
+        Facets facets = new Facets(List.of(new Facets.Facet("PDF", "type:pdf", 1)), List.of(), List.of());
+        when(resourceService.searchResources("(calculus) tag:\"math\"", "", 12))
+                .thenReturn(new SearchResults(new CursorPage<>(List.of(), null, 1), facets));
 
-        verify(redirectAttributes, times(1)).addFlashAttribute("message", "File too large! Maximum upload size is 100MB.");
-        assertEquals("redirect:/upload", result);
+        Model model = new ExtendedModelMap();
+        resourceController.listResources("", "calculus", "math", "", model);
+
+        assertEquals(facets, model.getAttribute("facets"));
+        verify(resourceService, never()).getFacets(anyString());
+    }
+
+    /**
+     * Tests that an OR search inside a tag keeps the tag filter on every
+     * alternative, by running the query the controller builds over a small
+     * catalog, and that a stray parenthesis cannot escape the group.
+     */
+    @Test
+    void testListResources_OrSearchStaysWithinTag() {
+        Facets none = new Facets(List.of(), List.of(), List.of());
+        ArgumentCaptor<String> query = ArgumentCaptor.forClass(String.class);
+        when(resourceService.searchResources(query.capture(), eq(""), eq(12)))
+                .thenReturn(new SearchResults(new CursorPage<>(List.of(), null, 0), none));
+
+        resourceController.listResources("", "notes OR slides", "calc", "", new ExtendedModelMap());
+
+        InvertedIndex text = new InvertedIndex();
+        AttributeIndex attributes = new AttributeIndex();
+        List<List<String>> tags = List.of(List.of("calc"), List.of("physics"), List.of("calc"), List.of("physics"));
+        List<String> titles = List.of("Calc Notes", "Physics Notes", "Calc Slides", "Physics Slides");
+        for (int id = 1; id <= titles.size(); id++) {
+            text.add(id, Map.of(SearchField.TITLE, titles.get(id - 1)));
+            attributes.add(id, new AttributeIndex.Attributes("application/pdf", 1L, tags.get(id - 1),
+                    LocalDate.of(2026, 1, id), 1000));
+        }
+        long[] hits = new QueryPlanner(text, attributes, name -> Optional.empty())
+                .execute(QueryParser.parse(query.getValue()));
+        assertArrayEquals(new long[]{1, 3}, hits);
+
+        Model model = new ExtendedModelMap();
+        resourceController.listResources("", "notes) OR (slides", "calc", "", model);
+        assertNotNull(model.getAttribute("error"));
+        verify(resourceService).searchResources(anyString(), anyString(), anyInt());
     }
 }
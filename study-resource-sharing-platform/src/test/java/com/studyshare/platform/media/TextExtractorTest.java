@@ -0,0 +1,106 @@
+package com.studyshare.platform.media;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link TextExtractor} and {@link CompressedText}.
+ * <p>
+ * This class tests page splitting for Word and PowerPoint files, slide
+ * ordering, the character limit, and that pages survive compression.
+ * </p>
+ *
+ * @see TextExtractor
+ * @since 1.0
+ */
+class TextExtractorTest {
+
+    private static final String W = "xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"";
+    private static final String A = "xmlns:a=\"http://schemas.openxmlformats.org/drawingml/2006/main\"";
+
+    /**
+     * Temporary directory for the generated documents.
+     */
+    @TempDir
+    Path dir;
+
+    /**
+     * Tests that Word paragraphs become lines and page breaks start new pages.
+     */
+    @Test
+    void testDocxPages() throws IOException {
+        Path docx = zip("a.docx", Map.of("word/document.xml",
+                "<w:document " + W + "><w:body>"
+                + "<w:p><w:r><w:t>Linear</w:t><w:tab/><w:t>Algebra</w:t></w:r></w:p>"
+                + "<w:p><w:r><w:t>Chapter one</w:t><w:br w:type=\"page\"/><w:t>Chapter two</w:t></w:r></w:p>"
+                + "</w:body></w:document>"));
+
+        assertEquals(List.of("Linear\tAlgebra\nChapter one", "Chapter two\n"), extract(docx, TextExtractor.DOCX, 1000));
+    }
+
+    /**
+     * Tests that slides are read in numeric order, one page each.
+     */
+    @Test
+    void testPptxSlidesInOrder() throws IOException {
+        Path pptx = zip("a.pptx", Map.of(
+                "ppt/slides/slide10.xml", slide("Ten"),
+                "ppt/slides/slide2.xml", slide("Two"),
+                "ppt/slides/slide1.xml", slide("One")));
+
+        assertEquals(List.of("One\n", "Two\n", "Ten\n"), extract(pptx, TextExtractor.PPTX, 1000));
+    }
+
+    /**
+     * Tests that reading stops at the character limit and is marked truncated.
+     */
+    @Test
+    void testTextTruncated() throws IOException {
+        Path text = dir.resolve("a.txt");
+        Files.writeString(text, "abcdefghij\n".repeat(2000));
+        CompressedText sink = new CompressedText(5000);
+
+        TextExtractor.extract(text, TextExtractor.TEXT, sink);
+
+        assertTrue(sink.isTruncated());
+        assertEquals(5000, sink.charCount());
+        String inflated = CompressedText.inflate(sink.toByteArray());
+        assertEquals(5000, inflated.length() - (sink.pageCount() - 1));
+    }
+
+    private List<String> extract(Path file, String type, int maxChars) throws IOException {
+        CompressedText sink = new CompressedText(maxChars);
+        TextExtractor.extract(file, type, sink);
+        assertFalse(sink.isTruncated());
+        return CompressedText.pages(CompressedText.inflate(sink.toByteArray()));
+    }
+
+    private static String slide(String text) {
+        return "<p:sld xmlns:p=\"http://schemas.openxmlformats.org/presentationml/2006/main\" " + A + ">"
+                + "<a:p><a:r><a:t>" + text + "</a:t></a:r></a:p></p:sld>";
+    }
+
+    private Path zip(String name, Map<String, String> entries) throws IOException {
+        Path file = dir.resolve(name);
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,62 @@
+package com.studyshare.platform.media;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link Thumbnails}.
+ * <p>
+ * This class tests that large images are subsampled while decoding and that
+ * small ones are decoded at full resolution.
+ * </p>
+ *
+ * @see Thumbnails
+ * @since 1.0
+ */
+class ThumbnailsTest {
+
+    /**
+     * Temporary directory for the generated images.
+     */
+    @TempDir
+    Path dir;
+
+    /**
+     * Tests that a wide image is decoded at roughly twice the target width.
+     */
+    @Test
+    void testReadImageSubsamples() throws IOException {
+        Path file = write(4000, 300);
+
+        BufferedImage image = Thumbnails.readImage(file, 640);
+
+        assertEquals(1334, image.getWidth());
+        assertEquals(100, image.getHeight());
+    }
+
+    /**
+     * Tests that an image narrower than twice the target keeps every pixel.
+     */
+    @Test
+    void testReadImageKeepsSmallImages() throws IOException {
+        Path file = write(1200, 900);
+
+        BufferedImage image = Thumbnails.readImage(file, 640);
+
+        assertEquals(1200, image.getWidth());
+        assertEquals(900, image.getHeight());
+    }
+
+    private Path write(int width, int height) throws IOException {
+        Path file = dir.resolve(width + "x" + height + ".png");
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+        return file;
+    }
+}
@@ -0,0 +1,169 @@
+package com.studyshare.platform.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test class for {@link InvertedIndex}.
+ * <p>
+ * This class tests tokenization, BM25 ranking across weighted fields, and
+ * incremental updates of the in-memory index, and the bounded
+ * weighting of extracted content, and typo-tolerant matching over the
+ * metadata vocabulary.
+ * </p>
+ *
+ * @see InvertedIndex
+ * @since 1.0
+ */
+class InvertedIndexTest {
+
+    /**
+     * The instance of {@link InvertedIndex} under test.
+     */
+    private InvertedIndex index;
+
+    /**
+     * Populates the index with a small catalog before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.add(1L, Map.of(SearchField.TITLE, "Linear Algebra Notes",
+                SearchField.TAGS, "math,linear-algebra",
+                SearchField.DESCRIPTION, "Chapter 3 of the course"));
+        index.add(2L, Map.of(SearchField.TITLE, "Calculus Cheat Sheet",
+                SearchField.TAGS, "math,calculus",
+                SearchField.DESCRIPTION, "Derivatives and a little linear approximation"));
+        index.add(3L, Map.of(SearchField.TITLE, "Operating Systems Midterm",
+                SearchField.TAGS, "cs,os",
+                SearchField.DESCRIPTION, "Past exam"));
+    }
+
+    /**
+     * Tests that the tokenizer lowercases, splits on punctuation and drops stop words.
+     */
+    @Test
+    void testTokenize() {
+        assertEquals(List.of("linear", "algebra", "cs101"), Tokenizer.tokenize("The Linear-Algebra of CS101!"));
+    }
+
+    /**
+     * Tests that a title match ranks above a description-only match.
+     */
+    @Test
+    void testSearch_RanksTitleMatchesFirst() {
+        SearchHits hits = index.search("linear", null, 10);
+
+        assertEquals(2, hits.totalHits());
+        assertEquals(List.of(1L, 2L), ids(hits));
+    }
+
+    /**
+     * Tests that seeking after the last hit of a page continues with the next ranked hit.
+     */
+    @Test
+    void testSearch_SeekAfterCursor() {
+        SearchHits firstPage = index.search("math", null, 1);
+        SearchHits secondPage = index.search("math", firstPage.hits().get(0), 1);
+        SearchHits thirdPage = index.search("math", secondPage.hits().get(0), 1);
+
+        assertEquals(2, firstPage.totalHits());
+        assertEquals(1, firstPage.hits().size());
+        assertEquals(1, secondPage.hits().size());
+        assertTrue(firstPage.hits().get(0).id() != secondPage.hits().get(0).id());
+        assertTrue(thirdPage.hits().isEmpty());
+    }
+
+    /**
+     * Tests that a cursor still continues after its document when indexing
+     * between pages changes every score: the rest of the original hits are
+     * neither repeated nor skipped.
+     */
+    @Test
+    void testSearch_CursorSurvivesIndexChanges() {
+        SearchHits firstPage = index.search("math", null, 1);
+        long first = firstPage.hits().get(0).id();
+        long second = first == 1L ? 2L : 1L;
+        index.add(4L, Map.of(SearchField.TAGS, "math",
+                SearchField.DESCRIPTION, "A much longer description that shifts the average document length"));
+        index.add(5L, Map.of(SearchField.TAGS, "math"));
+
+        List<Long> rest = ids(index.search("math", firstPage.hits().get(0), 10));
+        assertTrue(rest.contains(second));
+        assertTrue(!rest.contains(first));
+    }
+
+    /**
+     * Tests that removing and re-adding a document keeps the postings consistent.
+     */
+    @Test
+    void testRemoveAndUpdate() {
+        index.remove(3L);
+        assertEquals(0, index.search("midterm", null, 10).totalHits());
+
+        index.add(2L, Map.of(SearchField.TITLE, "Calculus Midterm"));
+        assertEquals(List.of(2L), ids(index.search("midterm", null, 10)));
+        assertEquals(List.of(1L), ids(index.search("linear", null, 10)));
+        assertEquals(2, index.size());
+    }
+
+    /**
+     * Tests that extracted text is searchable but neither outranks a title
+     * match by repetition nor dilutes the document's other fields.
+     */
+    @Test
+    void testContentFieldIsBounded() {
+        index.add(4L, Map.of(SearchField.TITLE, "Lecture Slides",
+                SearchField.CONTENT, "eigenvalue ".repeat(500) + "midterm"));
+
+        assertEquals(List.of(4L), ids(index.search("eigenvalue", null, 10)));
+        assertEquals(List.of(3L, 4L), ids(index.search("midterm", null, 10)));
+        index.add(5L, Map.of(SearchField.TITLE, "Eigenvalue Notes"));
+        assertEquals(List.of(5L, 4L), ids(index.search("eigenvalue", null, 10)));
+    }
+
+    /**
+     * Tests that misspelled terms still match and produce a correction.
+     */
+    @Test
+    void testTypoTolerance() {
+        assertEquals(List.of(2L), ids(index.search("calculsu", null, 10)));
+        assertEquals(List.of(3L), ids(index.search("midtrem", null, 10)));
+        assertEquals("operating midterm", index.correct("operatign midterm"));
+        assertNull(index.correct("linear algebra"));
+        assertNull(index.correct("xyzzy"));
+
+        index.remove(2L);
+        assertEquals(0, index.search("calculsu", null, 10).totalHits());
+    }
+
+    /**
+     * Tests that terms found only in extracted content are never offered as
+     * spellings, until the same term appears in some document's metadata.
+     */
+    @Test
+    void testContentTermsAreNotSpellings() {
+        index.add(4L, Map.of(SearchField.TITLE, "Lecture Slides",
+                SearchField.CONTENT, "eigenvalue decomposition"));
+
+        assertEquals(List.of(4L), ids(index.search("eigenvalue", null, 10)));
+        assertEquals(0, index.search("eigenvalu", null, 10).totalHits());
+        assertNull(index.correct("eigenvalu"));
+
+        index.add(5L, Map.of(SearchField.TITLE, "Eigenvalue Notes"));
+        assertEquals("eigenvalue", index.correct("eigenvalu"));
+        index.remove(5L);
+        assertNull(index.correct("eigenvalu"));
+    }
+
+    private static List<Long> ids(SearchHits hits) {
+        return hits.hits().stream().map(ScoredDoc::id).toList();
+    }
+}
@@ -0,0 +1,91 @@
+package com.studyshare.platform.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link QueryParser}.
+ * <p>
+ * This class tests field filters, operator precedence, quoting and the
+ * messages for malformed input.
+ * </p>
+ *
+ * @see QueryParser
+ * @since 1.0
+ */
+class QueryParserTest {
+
+    /**
+     * Tests that fields and free text combine with an implied AND.
+     */
+    @Test
+    void testFieldsAndText() {
+        Query query = QueryParser.parse("Calculus type:pdf tag:\"Linear  Algebra\" by:alice after:2026-01-01 size:>2mb");
+
+        assertEquals(new Query.And(List.of(
+                new Query.Term("calculus"),
+                new Query.FileType(Set.of("application/pdf")),
+                new Query.Tag("linear algebra"),
+                new Query.Uploader("alice"),
+                new Query.Uploaded(LocalDate.of(2026, 1, 2), null),
+                new Query.Size(2L * 1024 * 1024 + 1, Long.MAX_VALUE))), query);
+        assertFalse(QueryParser.isPlainText(query));
+        assertTrue(QueryParser.isPlainText(QueryParser.parse("linear algebra notes")));
+    }
+
+    /**
+     * Tests that loose words match any of them, with or without fields, while
+     * quoted words and words joined by an explicit AND are all required.
+     */
+    @Test
+    void testWordsMatchAny() {
+        Query notes = new Query.Term("notes");
+        Query slides = new Query.Term("slides");
+        Query pdf = new Query.FileType(Set.of("application/pdf"));
+
+        assertEquals(new Query.Or(List.of(notes, slides)), QueryParser.parse("notes slides"));
+        assertEquals(new Query.And(List.of(new Query.Or(List.of(notes, slides)), pdf)),
+                QueryParser.parse("notes type:pdf slides"));
+        assertEquals(new Query.And(List.of(notes, slides, pdf)), QueryParser.parse("notes AND slides type:pdf"));
+        assertEquals(new Query.And(List.of(new Query.And(List.of(notes, slides)), pdf)),
+                QueryParser.parse("\"notes slides\" type:pdf"));
+        assertFalse(QueryParser.isPlainText(QueryParser.parse("notes AND slides")));
+    }
+
+    /**
+     * Tests that NOT binds tighter than AND, which binds tighter than OR.
+     */
+    @Test
+    void testPrecedence() {
+        Query query = QueryParser.parse("notes OR slides type:ppt -tag:draft");
+
+        assertEquals(new Query.Or(List.of(
+                new Query.Term("notes"),
+                new Query.And(List.of(
+                        new Query.Term("slides"),
+                        QueryParser.parse("type:powerpoint"),
+                        new Query.Not(new Query.Tag("draft")))))), query);
+        assertEquals(QueryParser.parse("(notes OR slides) AND on:2026-02"), new Query.And(List.of(
+                new Query.Or(List.of(new Query.Term("notes"), new Query.Term("slides"))),
+                new Query.Uploaded(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 3, 1)))));
+    }
+
+    /**
+     * Tests that malformed queries are rejected and unknown fields read as text.
+     */
+    @Test
+    void testErrors() {
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("type:exe"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("after:yesterday"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("size:big"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("(notes OR slides"));
+        assertEquals(new Query.All(), QueryParser.parse("  the  "));
+        assertEquals(new Query.Or(List.of(new Query.Term("color"), new Query.Term("red"))),
+                QueryParser.parse("color:red"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.studyshare.platform.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit test class for {@link QueryPlanner}.
+ * <p>
+ * This class tests structured queries over a small catalog: conjunctions of
+ * indexed and range clauses, disjunctions, negation, ranking terms and facet
+ * counts over a result set.
+ * </p>
+ *
+ * @see QueryPlanner
+ * @since 1.0
+ */
+class QueryPlannerTest {
+
+    private static final String PDF = "application/pdf";
+    private static final String PNG = "image/png";
+
+    /**
+     * The planner under test, over the indexes filled in {@link #setUp()}.
+     */
+    private QueryPlanner planner;
+
+    /**
+     * The attribute index behind {@link #planner}, for facet counts.
+     */
+    private AttributeIndex attributes;
+
+    /**
+     * Indexes five resources from two uploaders: alice (1) and bob (2).
+     */
+    @BeforeEach
+    void setUp() {
+        InvertedIndex text = new InvertedIndex();
+        attributes = new AttributeIndex();
+        add(text, attributes, 1, "Calculus Notes", PDF, 1, List.of("calculus"), "2025-12-20", 500_000);
+        add(text, attributes, 2, "Calculus Midterm", PDF, 2, List.of("calculus", "exam"), "2026-01-05", 3_000_000);
+        add(text, attributes, 3, "Derivative Diagram", PNG, 1, List.of("calculus"), "2026-01-20", 200_000);
+        add(text, attributes, 4, "Algebra Notes", PDF, 1, List.of("algebra"), "2026-02-02", 8_000_000);
+        add(text, attributes, 5, "Draft Calculus Notes", PDF, 2, List.of("calculus", "draft"), "2026-02-10", 100_000);
+        planner = new QueryPlanner(text, attributes,
+                name -> Optional.ofNullable(Map.of("alice", 1L, "bob", 2L).get(name)));
+    }
+
+    /**
+     * Tests conjunctions mixing text, attributes, dates and sizes.
+     */
+    @Test
+    void testConjunctions() {
+        assertArrayEquals(new long[]{1, 2, 5}, run("calculus type:pdf"));
+        assertArrayEquals(new long[]{2, 4}, run("algebra midterm type:pdf"));
+        assertArrayEquals(new long[0], run("algebra AND midterm type:pdf"));
+        assertArrayEquals(new long[]{3, 4}, run("by:alice after:2026-01-01"));
+        assertArrayEquals(new long[]{2, 3}, run("tag:calculus on:2026-01"));
+        assertArrayEquals(new long[]{2, 4}, run("size:>=1mb"));
+        assertArrayEquals(new long[]{1}, run("before:2026-01-01"));
+        assertArrayEquals(new long[0], run("by:carol"));
+    }
+
+    /**
+     * Tests disjunctions and negations.
+     */
+    @Test
+    void testOrAndNot() {
+        assertArrayEquals(new long[]{2, 4}, run("tag:exam OR tag:algebra"));
+        assertArrayEquals(new long[]{1, 2}, run("tag:calculus type:pdf -tag:draft"));
+        assertArrayEquals(new long[]{4}, run("NOT by:bob -calculus"));
+        assertArrayEquals(new long[]{1, 2, 3, 4, 5}, run(""));
+    }
+
+    /**
+     * Tests that only terms outside a NOT are used for ranking.
+     */
+    @Test
+    void testRankingTerms() {
+        assertEquals(List.of("notes", "midterm"),
+                QueryPlanner.rankingTerms(QueryParser.parse("(notes OR midterm) -draft type:pdf")));
+    }
+
+    /**
+     * Tests facet counts within a result set and over the whole index, and that
+     * removals are reflected.
+     */
+    @Test
+    void testFacets() {
+        RoaringBitmap pdfs = RoaringBitmap.of(run("type:pdf"));
+        assertEquals(List.of(new FacetCount("calculus", 3), new FacetCount("algebra", 1)),
+                attributes.facet("tag:", pdfs, 2));
+        assertEquals(List.of(new FacetCount("1", 3), new FacetCount("2", 2)), attributes.facet("by:", null, 10));
+
+        attributes.remove(5, new AttributeIndex.Attributes(PDF, 2, List.of("calculus", "draft"),
+                LocalDate.parse("2026-02-10"), 100_000));
+        assertEquals(List.of(new FacetCount(PDF, 3), new FacetCount(PNG, 1)), attributes.facet("type:", null, 10));
+        assertEquals(List.of(), attributes.facet("tag:", RoaringBitmap.of(run("tag:draft")), 10));
+        assertEquals(List.of(new FacetCount("algebra", 1), new FacetCount("calculus", 1), new FacetCount("exam", 1)),
+                attributes.facet("tag:", RoaringBitmap.of(run("algebra midterm")), 10));
+    }
+
+    private long[] run(String query) {
+        return planner.execute(QueryParser.parse(query));
+    }
+
+    private static void add(InvertedIndex text, AttributeIndex attributes, long id, String title, String type,
+                            long uploader, List<String> tags, String uploaded, long size) {
+        text.add(id, Map.of(SearchField.TITLE, title, SearchField.TAGS, String.join(",", tags)));
+        attributes.add(id, new AttributeIndex.Attributes(type, uploader, tags, LocalDate.parse(uploaded), size));
+    }
+}
@@ -0,0 +1,101 @@
+package com.studyshare.platform.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test class for {@link RoaringBitmap}.
+ * <p>
+ * This class tests adds, removes and set operations against a sorted set,
+ * across sparse and dense chunks and the switch between the two layouts.
+ * </p>
+ *
+ * @see RoaringBitmap
+ * @since 1.0
+ */
+class RoaringBitmapTest {
+
+    /**
+     * Tests that a chunk changes layout past 4096 values and back, keeping its contents.
+     */
+    @Test
+    void testContainerConversion() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (long id = 0; id < 10_000; id += 2) {
+            assertTrue(bitmap.add(id));
+        }
+        assertFalse(bitmap.add(0));
+        assertEquals(5_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(9_998));
+        assertFalse(bitmap.contains(9_999));
+
+        for (long id = 0; id < 2_000; id += 2) {
+            assertTrue(bitmap.remove(id));
+        }
+        assertFalse(bitmap.remove(0));
+        assertEquals(4_000, bitmap.cardinality());
+        assertEquals(2_000, bitmap.toArray()[0]);
+        assertTrue(bitmap.contains(2_000));
+    }
+
+    /**
+     * Tests and, or and intersection cardinality against sorted sets over
+     * random ids spanning several chunks of mixed density.
+     */
+    @Test
+    void testSetOperations() {
+        Random random = new Random(7);
+        TreeSet<Long> a = new TreeSet<>();
+        TreeSet<Long> b = new TreeSet<>();
+        RoaringBitmap left = new RoaringBitmap();
+        RoaringBitmap right = new RoaringBitmap();
+        for (int i = 0; i < 30_000; i++) {
+            // Dense ids in the first chunk, sparse ones up to the 32-bit limit.
+            long id = i % 3 == 0 ? random.nextLong(0xFFFF_FFFFL + 1) : random.nextInt(70_000);
+            if (random.nextBoolean()) {
+                a.add(id);
+                left.add(id);
+            } else {
+                b.add(id);
+                right.add(id);
+            }
+        }
+
+        TreeSet<Long> both = new TreeSet<>(a);
+        both.retainAll(b);
+        TreeSet<Long> either = new TreeSet<>(a);
+        either.addAll(b);
+
+        assertArrayEquals(toArray(a), left.toArray());
+        assertArrayEquals(toArray(both), left.and(right).toArray());
+        assertEquals(both.size(), left.andCardinality(right));
+        assertArrayEquals(toArray(either), left.or(right).toArray());
+        assertEquals(either.size(), right.or(left).cardinality());
+        assertArrayEquals(toArray(a), left.copy().toArray());
+    }
+
+    /**
+     * Tests that ids outside the unsigned 32-bit range are rejected.
+     */
+    @Test
+    void testIdRange() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(1L << 32));
+        assertFalse(bitmap.contains(1L << 32));
+        assertTrue(bitmap.add(0xFFFF_FFFFL));
+        assertArrayEquals(new long[]{0xFFFF_FFFFL}, bitmap.toArray());
+    }
+
+    private static long[] toArray(TreeSet<Long> set) {
+        return set.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,99 @@
+package com.studyshare.platform.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link SuggestTrie}.
+ * <p>
+ * This class tests weighted prefix completion, matching inside compressed
+ * edges, removal with edge merging, and the term cap.
+ * </p>
+ *
+ * @see SuggestTrie
+ * @since 1.0
+ */
+class SuggestTrieTest {
+
+    /**
+     * The instance of {@link SuggestTrie} under test.
+     */
+    private SuggestTrie trie;
+
+    /**
+     * Populates the trie with a few weighted terms before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestTrie(100);
+        trie.add("Calculus Cheat Sheet", 5);
+        trie.add("calculus", 12);
+        trie.add("Calc II Midterm", 3);
+        trie.add("Linear Algebra Notes", 7);
+    }
+
+    /**
+     * Tests that completions come heaviest first and ignore case.
+     */
+    @Test
+    void testSuggestByWeight() {
+        assertEquals(List.of("calculus", "Calculus Cheat Sheet", "Calc II Midterm"), texts(trie.suggest("CALC", 10)));
+        assertEquals(List.of("calculus", "Calculus Cheat Sheet"), texts(trie.suggest("calc", 2)));
+        assertEquals(List.of("Calculus Cheat Sheet"), texts(trie.suggest("calculus  ch", 10)));
+        assertTrue(trie.suggest("physics", 10).isEmpty());
+    }
+
+    /**
+     * Tests that weights accumulate and that removing a term merges its edge back.
+     */
+    @Test
+    void testAddAndRemove() {
+        trie.add("calc ii midterm", 20);
+        assertEquals(new Suggestion("Calc II Midterm", 23), trie.suggest("calc", 1).get(0));
+
+        trie.remove("calculus", 12);
+        trie.remove("Calc II Midterm", 23);
+        assertEquals(List.of("Calculus Cheat Sheet"), texts(trie.suggest("ca", 10)));
+        assertEquals(2, trie.size());
+
+        trie.remove("Calculus Cheat Sheet", 5);
+        trie.remove("Linear Algebra Notes", 7);
+        assertEquals(0, trie.size());
+        assertEquals(trie.estimatedBytes(), new SuggestTrie(1).estimatedBytes());
+    }
+
+    /**
+     * Tests that new terms are refused once the trie is full while existing ones still gain weight.
+     */
+    @Test
+    void testTermCap() {
+        SuggestTrie small = new SuggestTrie(2);
+        assertEquals(1, small.add("alpha", 1));
+        assertEquals(1, small.add("alphabet", 1));
+        assertEquals(0, small.add("alp", 1));
+        assertEquals(4, small.add("alpha", 4));
+        assertEquals(List.of("alpha", "alphabet"), texts(small.suggest("al", 10)));
+    }
+
+    /**
+     * Tests that a saturated term reports only the weight it gained, so
+     * removing that amount leaves the other contributions in place.
+     */
+    @Test
+    void testSaturatedWeight() {
+        SuggestTrie saturating = new SuggestTrie(10);
+        assertEquals(Integer.MAX_VALUE - 1, saturating.add("alpha", Integer.MAX_VALUE - 1));
+        assertEquals(1, saturating.add("alpha", 5));
+
+        saturating.remove("alpha", 1);
+        assertEquals(new Suggestion("alpha", Integer.MAX_VALUE - 1), saturating.suggest("al", 1).get(0));
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::text).toList();
+    }
+}
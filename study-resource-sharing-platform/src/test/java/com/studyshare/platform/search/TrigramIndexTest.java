@@ -0,0 +1,54 @@
+package com.studyshare.platform.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test class for {@link TrigramIndex}.
+ * <p>
+ * This class tests the bounded edit distance, including transpositions, and
+ * lookups of similar terms as the vocabulary changes.
+ * </p>
+ *
+ * @see TrigramIndex
+ * @since 1.0
+ */
+class TrigramIndexTest {
+
+    /**
+     * Tests substitutions, insertions, transpositions and the early cut-off.
+     */
+    @Test
+    void testDistance() {
+        assertEquals(0, TrigramIndex.distance("calculus", "calculus", 2));
+        assertEquals(1, TrigramIndex.distance("calculus", "calculas", 2));
+        assertEquals(1, TrigramIndex.distance("cs101", "cs011", 2));
+        assertEquals(2, TrigramIndex.distance("algebra", "algbera1", 2));
+        assertEquals(3, TrigramIndex.distance("physics", "chemistry", 2));
+    }
+
+    /**
+     * Tests that similar terms are found closest first and forgotten once removed.
+     */
+    @Test
+    void testSimilar() {
+        TrigramIndex index = new TrigramIndex();
+        for (String term : List.of("cs101", "cs110", "cs102", "math101", "eigenvalue", "eigenvalues")) {
+            index.add(term);
+        }
+
+        assertEquals(List.of(new TrigramIndex.Match("cs101", 1)), index.similar("cs011", 1));
+        assertEquals(List.of("cs101", "cs102", "cs110"),
+                index.similar("cs100", 1).stream().map(TrigramIndex.Match::term).toList());
+        assertEquals("eigenvalue", index.similar("eigenvlaue", 2).get(0).term());
+
+        index.remove("cs101");
+        index.add("cs201");
+        assertTrue(index.similar("cs101", 1).stream().noneMatch(match -> match.term().equals("cs101")));
+        assertEquals(6, index.size());
+    }
+}
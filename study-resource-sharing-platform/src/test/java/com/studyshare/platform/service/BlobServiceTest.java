@@ -0,0 +1,87 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.ContentBlob;
+import com.studyshare.platform.repository.ContentBlobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link BlobService}.
+ * <p>
+ * This class tests reference counting of content-addressed objects: duplicates
+ * reuse the stored key and only the last release frees the object.
+ * </p>
+ *
+ * @see BlobService
+ * @since 1.0
+ */
+class BlobServiceTest {
+
+    /**
+     * Mock repository executing the reference count updates.
+     */
+    @Mock
+    private ContentBlobRepository blobRepository;
+
+    /**
+     * The instance of {@link BlobService} to be tested, injected with mocks.
+     */
+    @InjectMocks
+    private BlobService blobService;
+
+    /**
+     * Initializes mocks before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Tests that known content is reused and unknown content is reported missing.
+     */
+    @Test
+    void testAcquire() {
+        when(blobRepository.incrementRefs("known")).thenReturn(1);
+        when(blobRepository.findBySha256("known")).thenReturn(Optional.of(new ContentBlob("known", "blobs/known", 10)));
+
+        assertEquals(Optional.of("blobs/known"), blobService.acquire("known"));
+        assertTrue(blobService.acquire("unknown").isEmpty());
+    }
+
+    /**
+     * Tests that a concurrent registration of the same content shares the winner's key.
+     */
+    @Test
+    void testRegisterRace() {
+        when(blobRepository.saveAndFlush(any(ContentBlob.class))).thenThrow(new DataIntegrityViolationException("dup"));
+        when(blobRepository.incrementRefs("h")).thenReturn(1);
+        when(blobRepository.findBySha256("h")).thenReturn(Optional.of(new ContentBlob("h", "blobs/h", 10)));
+
+        assertEquals("blobs/h", blobService.register("h", "uploads/mine", 10));
+    }
+
+    /**
+     * Tests that the key is returned for deletion only once no references remain.
+     */
+    @Test
+    void testRelease() {
+        when(blobRepository.findBySha256("h")).thenReturn(Optional.of(new ContentBlob("h", "blobs/h", 10)));
+        when(blobRepository.decrementRefs("h")).thenReturn(1);
+        when(blobRepository.deleteIfUnreferenced("h")).thenReturn(0, 1);
+
+        assertTrue(blobService.release("h").isEmpty());
+        assertEquals(Optional.of("blobs/h"), blobService.release("h"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.PendingDelete;
+import com.studyshare.platform.repository.ContentBlobRepository;
+import com.studyshare.platform.repository.PendingDeleteRepository;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.storage.StorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link DeletionQueueService}.
+ * <p>
+ * This class tests that pending deletes are sent to storage as one batch,
+ * that referenced keys are skipped, and that failures are rescheduled.
+ * </p>
+ *
+ * @see DeletionQueueService
+ * @since 1.0
+ */
+class DeletionQueueServiceTest {
+
+    /**
+     * Mock repository holding the pending deletes.
+     */
+    @Mock
+    private PendingDeleteRepository pendingDeleteRepository;
+
+    /**
+     * Mock resource repository used to detect keys still in use.
+     */
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    /**
+     * Mock blob repository used to detect shared content still in use.
+     */
+    @Mock
+    private ContentBlobRepository blobRepository;
+
+    /**
+     * Mock storage backend receiving the batched deletes.
+     */
+    @Mock
+    private StorageBackend storage;
+
+    /**
+     * The instance of {@link DeletionQueueService} to be tested, injected with mocks.
+     */
+    @InjectMocks
+    private DeletionQueueService deletionQueue;
+
+    /**
+     * Initializes mocks before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(resourceRepository.findS3KeysIn(anyCollection())).thenReturn(List.of());
+        when(blobRepository.findS3KeysIn(anyCollection())).thenReturn(List.of());
+    }
+
+    /**
+     * Tests that unreferenced keys go out in one call and failed keys are retried later.
+     */
+    @Test
+    void testDeleteBatch() {
+        PendingDelete a = new PendingDelete("uploads/a");
+        PendingDelete b = new PendingDelete("uploads/b");
+        PendingDelete shared = new PendingDelete("blobs/shared");
+        when(blobRepository.findS3KeysIn(anyCollection())).thenReturn(List.of("blobs/shared"));
+        when(storage.delete(anyCollection())).thenReturn(Map.of("uploads/b", "InternalError: try again"));
+
+        deletionQueue.deleteBatch(List.of(a, b, shared));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> keys = ArgumentCaptor.forClass(Collection.class);
+        verify(storage).delete(keys.capture());
+        assertEquals(List.of("uploads/a", "uploads/b"), keys.getValue().stream().sorted().toList());
+        verify(pendingDeleteRepository).deleteAllInBatch(List.of(a, shared));
+        assertEquals(1, b.getAttempts());
+        assertTrue(b.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals("InternalError: try again", b.getLastError());
+    }
+
+    /**
+     * Tests that a failed call reschedules the whole batch.
+     */
+    @Test
+    void testDeleteBatchCallFails() {
+        PendingDelete a = new PendingDelete("uploads/a");
+        when(storage.delete(anyCollection())).thenReturn(Map.of("uploads/a", "unavailable"));
+
+        deletionQueue.deleteBatch(List.of(a));
+
+        verify(pendingDeleteRepository, never()).deleteAllInBatch(any());
+        verify(pendingDeleteRepository).saveAll(List.of(a));
+        assertEquals(1, a.getAttempts());
+    }
+
+    /**
+     * Tests that the retry delay doubles and is capped at one hour.
+     */
+    @Test
+    void testBackoff() {
+        assertEquals(Duration.ofSeconds(30), DeletionQueueService.backoff(1));
+        assertEquals(Duration.ofSeconds(60), DeletionQueueService.backoff(2));
+        assertEquals(Duration.ofHours(1), DeletionQueueService.backoff(20));
+    }
+}
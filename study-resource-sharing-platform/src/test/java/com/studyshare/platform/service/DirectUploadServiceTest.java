@@ -0,0 +1,158 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.DirectUpload;
+import com.studyshare.platform.model.User;
+import com.studyshare.platform.repository.DirectUploadRepository;
+import com.studyshare.platform.storage.ObjectInfo;
+import com.studyshare.platform.storage.StorageBackend;
+import com.studyshare.platform.storage.StoredObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link DirectUploadService}.
+ * <p>
+ * This class tests that finalizing a browser-to-storage upload verifies the
+ * stored object before saving the resource, and that backends without signed
+ * URLs reject direct uploads.
+ * </p>
+ *
+ * @see DirectUploadService
+ * @since 1.0
+ */
+class DirectUploadServiceTest {
+
+    /**
+     * Mock repository holding pending direct uploads.
+     */
+    @Mock
+    private DirectUploadRepository uploadRepository;
+
+    /**
+     * Mock storage backend answering stat and signing URLs.
+     */
+    @Mock
+    private StorageBackend storage;
+
+    /**
+     * Mock resource service used for the metadata save.
+     */
+    @Mock
+    private ResourceService resourceService;
+
+    /**
+     * The instance of {@link DirectUploadService} to be tested, injected with mocks.
+     */
+    @InjectMocks
+    private DirectUploadService uploadService;
+
+    private User owner;
+    private DirectUpload upload;
+
+    /**
+     * Initializes mocks and a pending 100-byte PDF upload.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        owner = new User();
+        owner.setId(3L);
+
+        upload = new DirectUpload();
+        upload.setId("d1");
+        upload.setUploaderId(3L);
+        upload.setTitle("Notes");
+        upload.setTags("math");
+        upload.setFileName("notes.pdf");
+        upload.setFileType("application/pdf");
+        upload.setFileSize(100);
+        upload.setS3Key("uploads/d1.pdf");
+        when(uploadRepository.findById("d1")).thenReturn(Optional.of(upload));
+        when(uploadRepository.claim("d1")).thenReturn(1);
+    }
+
+    /**
+     * Tests that a matching object is saved as a resource and the pending row removed.
+     */
+    @Test
+    void testCompleteSavesResource() {
+        when(storage.stat("uploads/d1.pdf")).thenReturn(Optional.of(stored(100)));
+
+        uploadService.complete("d1", owner);
+
+        verify(resourceService).saveMetadata(new StoredObject("uploads/d1.pdf", "notes.pdf", "application/pdf", 100),
+                "Notes", null, "math", owner);
+        verify(uploadRepository).delete(upload);
+    }
+
+    /**
+     * Tests that an object with a different size is deleted and rejected.
+     */
+    @Test
+    void testCompleteRejectsMismatch() {
+        when(storage.stat("uploads/d1.pdf")).thenReturn(Optional.of(stored(5000)));
+
+        assertThrows(IllegalArgumentException.class, () -> uploadService.complete("d1", owner));
+
+        verify(resourceService).deleteObject("uploads/d1.pdf");
+        verify(resourceService, never()).saveMetadata(any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Tests that finalizing before the browser has uploaded keeps the pending row.
+     */
+    @Test
+    void testCompleteBeforeUpload() {
+        when(storage.stat("uploads/d1.pdf")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> uploadService.complete("d1", owner));
+
+        verify(uploadRepository, never()).delete(any(DirectUpload.class));
+        verify(uploadRepository).unclaim("d1");
+    }
+
+    /**
+     * Tests that a finalize racing another one for the same upload creates no second resource.
+     */
+    @Test
+    void testCompleteAlreadyClaimed() {
+        when(uploadRepository.claim("d1")).thenReturn(0);
+
+        assertThrows(IllegalArgumentException.class, () -> uploadService.complete("d1", owner));
+
+        verify(storage, never()).stat(any());
+        verify(resourceService, never()).saveMetadata(any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Tests that a backend without signed URLs refuses direct uploads before recording one.
+     */
+    @Test
+    void testCreateUnsupportedByBackend() {
+        ReflectionTestUtils.setField(uploadService, "maxFileSize", DataSize.ofMegabytes(100));
+        when(resourceService.newObjectKey("notes.pdf")).thenReturn("uploads/d2.pdf");
+        when(storage.signedPutUrl(any(), any(), anyLong(), any())).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> uploadService.create("Notes", null, "math",
+                "notes.pdf", "application/pdf", 100, owner));
+
+        verify(uploadRepository, never()).save(any(DirectUpload.class));
+    }
+
+    private static ObjectInfo stored(long size) {
+        return new ObjectInfo("uploads/d1.pdf", size, Instant.now(), "application/pdf", "etag");
+    }
+}
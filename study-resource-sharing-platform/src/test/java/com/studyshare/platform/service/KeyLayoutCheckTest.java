@@ -0,0 +1,71 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.repository.ContentBlobRepository;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.storage.KeyLayout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test class for {@link KeyLayoutCheck}.
+ * <p>
+ * This class tests that startup fails when stored keys name a bucket missing
+ * from the configured list, and passes otherwise.
+ * </p>
+ *
+ * @see KeyLayoutCheck
+ * @since 1.0
+ */
+class KeyLayoutCheckTest {
+
+    /**
+     * Mock resource repository probed for keys with a bucket marker.
+     */
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    /**
+     * Mock blob repository probed for keys with a bucket marker.
+     */
+    @Mock
+    private ContentBlobRepository blobRepository;
+
+    private KeyLayoutCheck check;
+
+    /**
+     * Initializes mocks and a layout of two buckets.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        check = new KeyLayoutCheck(new KeyLayout("main", List.of("b0", "b1"), 16), resourceRepository, blobRepository);
+    }
+
+    /**
+     * Tests that keys in configured buckets only let startup continue.
+     */
+    @Test
+    void testConfiguredBucketsPass() {
+        when(resourceRepository.existsByS3KeyStartingWith("bk1/")).thenReturn(true);
+
+        assertDoesNotThrow(() -> check.run(null));
+    }
+
+    /**
+     * Tests that a key in a removed bucket stops startup.
+     */
+    @Test
+    void testRemovedBucketFails() {
+        when(blobRepository.existsByS3KeyStartingWith("bk2/")).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> check.run(null));
+    }
+}
@@ -1,34 +1,41 @@
 package com.studyshare.platform.service;
 
+import com.studyshare.platform.exception.ResourceNotFoundException;
 import com.studyshare.platform.model.Resource;
 import com.studyshare.platform.repository.ResourceRepository;
-import com.studyshare.platform.service.PreviewService;
+import com.studyshare.platform.storage.SignedUrl;
+import com.studyshare.platform.storage.StorageBackend;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.mockito.junit.jupiter.MockitoExtension;
-import software.amazon.awssdk.services.s3.S3Client;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
  * Unit test class for {@link PreviewService}.
  * <p>
- * This class tests the functionality of {@link PreviewService} methods,
- * including scenarios for retrieving file keys by ID and handling resource not found exceptions.
+ * This class tests resource lookup by ID, reuse of cached presigned URLs and
+ * the fallback to the content endpoint when the backend cannot sign URLs.
  * </p>
  *
  * @see PreviewService
  * @since 1.0
  */
-@ExtendWith(MockitoExtension.class)
 class PreviewServiceTest {
 
+    private static final Duration TTL = Duration.ofMinutes(15);
+
     /**
      * Mock repository for managing resource data access.
      */
@@ -36,10 +43,10 @@ class PreviewServiceTest {
     private ResourceRepository resourceRepository;
 
     /**
-     * Mock AWS S3 client for handling S3 interactions.
+     * Mock storage backend signing GET URLs.
      */
     @Mock
-    private S3Client s3Client;
+    private StorageBackend storage;
 
     /**
      * The instance of {@link PreviewService} to be tested.
@@ -48,54 +55,57 @@ class PreviewServiceTest {
     private PreviewService previewService;
 
     /**
-     * Initializes mocks before each test.
+     * Initializes mocks and the presigned URL lifetime before each test.
      */
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(previewService, "urlTtl", TTL);
     }
 
     /**
-     * Tests the {@code getFileKeyById} method for a successful file key retrieval.
-     * <p>
-     * This test verifies that a valid resource ID retrieves the correct file key from the S3 URL.
-     * </p>
+     * Tests that an existing resource is returned with its uploader.
      */
     @Test
-    void testGetFileKeyById_Success() {
-        // Arrange
-        Long resourceId = 1L;
-        String s3Url = "https://bucket-name.s3.amazonaws.com/mockfile.pdf";
+    void testGetResourceById_Success() {
         Resource resource = new Resource();
-        resource.setId(resourceId);
-        resource.setS3Url(s3Url);
+        resource.setId(1L);
+        when(resourceRepository.findWithUploaderById(1L)).thenReturn(Optional.of(resource));
+
+        assertEquals(resource, previewService.getResourceById(1L));
+    }
+
+    /**
+     * Tests that a missing resource raises {@link ResourceNotFoundException}.
+     */
+    @Test
+    void testGetResourceById_ResourceNotFound() {
+        when(resourceRepository.findWithUploaderById(1L)).thenReturn(Optional.empty());
 
-        when(resourceRepository.findById(resourceId)).thenReturn(Optional.of(resource));
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> previewService.getResourceById(1L));
+        assertEquals("Resource not found with ID: 1", exception.getMessage());
+    }
 
-        // Act
-        String fileKey = previewService.getFileKeyById(resourceId);
+    /**
+     * Tests that a presigned URL is signed once and served from the cache while fresh.
+     */
+    @Test
+    void testGenerateFileUrl_CachesSignedUrl() {
+        SignedUrl signed = new SignedUrl("https://bucket.s3.amazonaws.com/k?sig", Instant.now().plus(TTL));
+        when(storage.signedGetUrl(eq("k"), any(Duration.class))).thenReturn(Optional.of(signed));
 
-        // Assert
-        assertEquals("mockfile.pdf", fileKey);
+        assertEquals(signed.url(), previewService.generateFileUrl(1L, "k"));
+        assertEquals(signed.url(), previewService.generateFileUrl(1L, "k"));
+        verify(storage, times(1)).signedGetUrl("k", TTL);
     }
 
     /**
-     * Tests the {@code getFileKeyById} method for a resource not found scenario.
-     * <p>
-     * This test simulates a scenario where a resource with the specified ID does not exist,
-     * ensuring that a {@link RuntimeException} is thrown with the expected error message.
-     * </p>
+     * Tests that a backend without presigning falls back to the content endpoint.
      */
     @Test
-    void testGetFileKeyById_ResourceNotFound() {
-        // Arrange
-        Long resourceId = 1L;
-        when(resourceRepository.findById(resourceId)).thenReturn(Optional.empty());
-
-        // Act & Assert
-        Exception exception = assertThrows(RuntimeException.class, () -> {
-            previewService.getFileKeyById(resourceId);
-        });
-        assertEquals("Resource not found with ID: " + resourceId, exception.getMessage());
+    void testGenerateFileUrl_WithoutSigning() {
+        when(storage.signedGetUrl(eq("k"), any(Duration.class))).thenReturn(Optional.empty());
+
+        assertEquals("/resources/7/content", previewService.generateFileUrl(7L, "k"));
     }
 }
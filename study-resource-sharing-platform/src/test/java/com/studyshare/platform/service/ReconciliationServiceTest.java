@@ -0,0 +1,167 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.repository.ContentBlobRepository;
+import com.studyshare.platform.repository.DirectUploadRepository;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.repository.UploadSessionRepository;
+import com.studyshare.platform.storage.KeyLayout;
+import com.studyshare.platform.storage.KeyLayout.Partition;
+import com.studyshare.platform.storage.ObjectInfo;
+import com.studyshare.platform.storage.StorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link ReconciliationService}.
+ * <p>
+ * This class tests that a partition reports objects without rows and rows
+ * without objects, sparing recent and in-flight uploads and anything that
+ * changed while the partition was being compared.
+ * </p>
+ *
+ * @see ReconciliationService
+ * @since 1.0
+ */
+class ReconciliationServiceTest {
+
+    /**
+     * Mock storage backend listing the partition.
+     */
+    @Mock
+    private StorageBackend storage;
+
+    /**
+     * Mock resource repository supplying referenced keys.
+     */
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    /**
+     * Mock blob repository supplying shared content keys.
+     */
+    @Mock
+    private ContentBlobRepository blobRepository;
+
+    /**
+     * Mock repository of resumable sessions.
+     */
+    @Mock
+    private UploadSessionRepository sessionRepository;
+
+    /**
+     * Mock repository of direct uploads.
+     */
+    @Mock
+    private DirectUploadRepository directUploadRepository;
+
+    /**
+     * Mock deletion queue receiving orphans when cleanup is enabled.
+     */
+    @Mock
+    private DeletionQueueService deletionQueue;
+
+    /**
+     * Mock key layout; the test reconciles a single explicit partition.
+     */
+    @Mock
+    private KeyLayout keyLayout;
+
+    /**
+     * Mock worker pool; the tests reconcile partitions directly.
+     */
+    @Mock
+    private ThreadPoolTaskExecutor reconcileExecutor;
+
+    /**
+     * Keys that have a resource row when candidates are re-checked.
+     */
+    private Set<String> rows = Set.of("uploads/a1.pdf", "uploads/a2.pdf");
+
+    /**
+     * The instance of {@link ReconciliationService} to be tested, injected with mocks.
+     */
+    @InjectMocks
+    private ReconciliationService reconciliationService;
+
+    /**
+     * Initializes mocks and a listing with kept, orphaned, recent and in-flight objects.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(reconciliationService, "deleteOrphans", true);
+
+        when(resourceRepository.findS3KeysAfter(eq("uploads/a%"), eq(""), any(Pageable.class)))
+                .thenReturn(List.of("uploads/a1.pdf", "uploads/a2.pdf"));
+        when(blobRepository.findS3KeysAfter(anyString(), anyString(), any(Pageable.class))).thenReturn(List.of());
+        when(resourceRepository.findS3KeysIn(anyCollection())).thenAnswer(i ->
+                ((Collection<String>) i.getArgument(0)).stream().filter(key -> rows.contains(key)).toList());
+
+        Instant old = Instant.now().minus(3, ChronoUnit.DAYS);
+        List<ObjectInfo> listing = List.of(
+                new ObjectInfo("uploads/a1.pdf", 1, old, null, "e1"),
+                new ObjectInfo("uploads/a9.pdf", 1, old, null, "e9"),
+                new ObjectInfo("uploads/a8.pdf", 1, Instant.now(), null, "e8"),
+                new ObjectInfo("uploads/a7.pdf", 1, old, null, "e7"));
+        doAnswer(i -> {
+            Consumer<ObjectInfo> visitor = i.getArgument(1);
+            listing.forEach(visitor);
+            return null;
+        }).when(storage).list(eq("uploads/a"), any());
+    }
+
+    /**
+     * Tests that only old, unreferenced, not in-flight objects are orphans and missing rows are reported.
+     */
+    @Test
+    void testReconcilePartition() {
+        ReconciliationService.Report report = new ReconciliationService.Report();
+
+        reconciliationService.reconcilePartition(new Partition("bucket", "uploads/a"), Instant.now().minus(1, ChronoUnit.DAYS),
+                Set.of("uploads/a7.pdf"), report);
+
+        assertEquals(4, report.getObjects());
+        assertEquals(2, report.getKeys());
+        assertEquals(List.of("uploads/a9.pdf"), report.getOrphanSamples());
+        assertEquals(List.of("uploads/a2.pdf"), report.getMissingSamples());
+        verify(deletionQueue).enqueue("uploads/a9.pdf");
+        verifyNoMoreInteractions(deletionQueue);
+    }
+
+    /**
+     * Tests that an object adopted by a row and an object written after the
+     * listing, both mid-run, are not reported.
+     */
+    @Test
+    void testReconcilePartition_RechecksCandidates() {
+        rows = Set.of("uploads/a1.pdf", "uploads/a2.pdf", "uploads/a9.pdf");
+        when(storage.stat("uploads/a2.pdf"))
+                .thenReturn(Optional.of(new ObjectInfo("uploads/a2.pdf", 1, Instant.now(), null, "e2")));
+        ReconciliationService.Report report = new ReconciliationService.Report();
+
+        reconciliationService.reconcilePartition(new Partition("bucket", "uploads/a"), Instant.now().minus(1, ChronoUnit.DAYS),
+                Set.of("uploads/a7.pdf"), report);
+
+        assertEquals(0, report.getOrphans());
+        assertEquals(0, report.getMissing());
+        verifyNoInteractions(deletionQueue);
+    }
+}
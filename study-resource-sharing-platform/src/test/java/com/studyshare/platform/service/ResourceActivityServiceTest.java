@@ -0,0 +1,113 @@
+package com.studyshare.platform.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link ResourceActivityService}.
+ * <p>
+ * This class tests that counts are summed per resource into one batched
+ * UPDATE in one transaction, that an idle flush writes nothing and that a
+ * failed flush is retried.
+ * </p>
+ *
+ * @see ResourceActivityService
+ * @since 1.0
+ */
+class ResourceActivityServiceTest {
+
+    /**
+     * Mock JDBC template receiving the batched updates.
+     */
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Mock trending service fed with every event.
+     */
+    @Mock
+    private TrendingService trendingService;
+
+    /**
+     * Mock transaction template; runs the flush inline.
+     */
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * The instance of {@link ResourceActivityService} to be tested, injected with mocks.
+     */
+    @InjectMocks
+    private ResourceActivityService activityService;
+
+    /**
+     * Initializes mocks before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(i -> ((TransactionCallback<?>) i.getArgument(0)).doInTransaction(null));
+    }
+
+    /**
+     * Tests that deltas are aggregated per resource and written in id order.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushAggregates() {
+        activityService.recordView(2L);
+        activityService.recordView(2L);
+        activityService.recordDownload(2L);
+        activityService.recordView(1L);
+
+        activityService.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(transactionTemplate).execute(any());
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(2, batch.getValue().size());
+        assertArrayEquals(new Object[]{1L, 0L, 1L}, batch.getValue().get(0));
+        assertArrayEquals(new Object[]{2L, 1L, 2L}, batch.getValue().get(1));
+
+        activityService.flush();
+        verifyNoMoreInteractions(jdbcTemplate);
+        verify(trendingService, times(2)).recordView(2L);
+        verify(trendingService).recordDownload(2L);
+    }
+
+    /**
+     * Tests that deltas from a failed flush are written by the next one.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFailedFlushIsRetried() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[]{1});
+        activityService.recordDownload(5L);
+
+        activityService.flush();
+        activityService.recordDownload(5L);
+        activityService.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+        assertArrayEquals(new Object[]{0L, 2L, 5L}, batch.getAllValues().get(1).get(0));
+    }
+}
@@ -0,0 +1,107 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.model.User;
+import com.studyshare.platform.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link ResourceCounterService}.
+ * <p>
+ * This class tests that dashboard counters follow uploads and deletes without
+ * querying the database, and that reconciliation corrects drift.
+ * </p>
+ *
+ * @see ResourceCounterService
+ * @since 1.0
+ */
+class ResourceCounterServiceTest {
+
+    /**
+     * Mock repository used only by reconciliation.
+     */
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    /**
+     * The instance of {@link ResourceCounterService} to be tested, injected with mocks.
+     */
+    @InjectMocks
+    private ResourceCounterService counterService;
+
+    private User alice;
+    private User bob;
+
+    /**
+     * Initializes mocks and test users before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        alice = user(1L);
+        bob = user(2L);
+    }
+
+    /**
+     * Tests that uploads and deletes adjust the global and per-uploader counts.
+     */
+    @Test
+    void testAddAndRemove() {
+        counterService.add(resource(alice));
+        counterService.add(resource(alice));
+        counterService.add(resource(bob));
+        counterService.remove(resource(alice));
+
+        assertEquals(2, counterService.totalResources());
+        assertEquals(1, counterService.resourcesBy(alice));
+        assertEquals(1, counterService.resourcesBy(bob));
+        verifyNoInteractions(resourceRepository);
+    }
+
+    /**
+     * Tests that reconciliation replaces drifted counts with the database values.
+     */
+    @Test
+    void testReconcile() {
+        counterService.add(resource(alice));
+        counterService.add(resource(bob));
+        when(resourceRepository.countGroupedByUploader()).thenReturn(List.of(count(1L, 3L)));
+
+        counterService.reconcile();
+
+        assertEquals(3, counterService.totalResources());
+        assertEquals(3, counterService.resourcesBy(alice));
+        assertEquals(0, counterService.resourcesBy(bob));
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static Resource resource(User uploader) {
+        Resource resource = new Resource();
+        resource.setUploader(uploader);
+        return resource;
+    }
+
+    private static ResourceRepository.UploaderCount count(long uploaderId, long total) {
+        return new ResourceRepository.UploaderCount() {
+            @Override
+            public Long getUploaderId() { return uploaderId; }
+
+            @Override
+            public long getTotal() { return total; }
+        };
+    }
+}
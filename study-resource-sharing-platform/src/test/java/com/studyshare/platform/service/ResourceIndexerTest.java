@@ -0,0 +1,71 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.repository.ResourceRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test class for {@link ResourceIndexer}.
+ * <p>
+ * This class tests that resources whose ids do not fit the search bitmaps are
+ * left out of the indexes instead of failing startup or the save that added them.
+ * </p>
+ *
+ * @see ResourceIndexer
+ * @since 1.0
+ */
+class ResourceIndexerTest {
+
+    /**
+     * Tests that loading skips an out-of-range id and still indexes the rest of its batch.
+     */
+    @Test
+    void testSkipsIdsBeyondBitmapRange() {
+        ResourceRepository resourceRepository = mock(ResourceRepository.class);
+        ResourceIndex index = mock(ResourceIndex.class);
+        Resource small = resource(7L);
+        Resource huge = resource(1L << 32);
+        when(resourceRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(List.of(small, huge));
+        ResourceIndexer indexer = new ResourceIndexer(resourceRepository, List.of(index));
+
+        indexer.loadIndexes();
+        indexer.indexed(huge);
+
+        verify(index).addAll(List.of(small));
+        verify(index, never()).add(any());
+    }
+
+    /**
+     * Tests that re-indexing touches only the given index and applies the same id range check.
+     */
+    @Test
+    void testReindexedOnlyTheGivenIndex() {
+        ResourceIndex search = mock(ResourceIndex.class);
+        ResourceIndex other = mock(ResourceIndex.class);
+        ResourceIndexer indexer = new ResourceIndexer(mock(ResourceRepository.class), List.of(search, other));
+        Resource small = resource(7L);
+
+        indexer.reindexed(small, search);
+        indexer.reindexed(resource(1L << 32), search);
+
+        verify(search).add(small);
+        verify(search, times(1)).add(any());
+        verify(other, never()).add(any());
+    }
+
+    private static Resource resource(long id) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        return resource;
+    }
+}
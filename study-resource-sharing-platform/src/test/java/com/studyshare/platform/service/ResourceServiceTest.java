@@ -1,34 +1,49 @@
 package com.studyshare.platform.service;
 
+import com.studyshare.platform.exception.ResourceNotFoundException;
+import com.studyshare.platform.model.DerivativeStatus;
+import com.studyshare.platform.model.PendingDelete;
 import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.model.User;
+import com.studyshare.platform.repository.ContentBlobRepository;
+import com.studyshare.platform.repository.PendingDeleteRepository;
 import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.repository.ResourceTextRepository;
+import com.studyshare.platform.storage.KeyLayout;
+import com.studyshare.platform.storage.StorageBackend;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Date;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
  * Unit test class for {@link ResourceService}.
  * <p>
- * This class tests the functionality of {@link ResourceService} methods, including resource upload,
- * retrieval of all resources, and fetching a resource by its ID.
+ * This class tests uploads of new and duplicate content, lookup by ID and
+ * deletion by the owner and by other users.
  * </p>
  *
  * @see ResourceService
@@ -37,22 +52,76 @@ import static org.mockito.Mockito.*;
 class ResourceServiceTest {
 
     /**
-     * Mock S3 client for handling AWS S3 interactions.
+     * Mock repository for managing resource data access.
      */
     @Mock
-    private S3Client s3Client;
+    private ResourceRepository resourceRepository;
 
     /**
-     * Mock repository for managing resource data access.
+     * Mock repository for extracted text.
      */
     @Mock
-    private ResourceRepository resourceRepository;
+    private ResourceTextRepository textRepository;
+
+    /**
+     * Mock indexer notified of saved and deleted resources.
+     */
+    @Mock
+    private ResourceIndexer resourceIndexer;
+
+    /**
+     * Mock search service.
+     */
+    @Mock
+    private SearchService searchService;
+
+    /**
+     * Mock tag service resolving tag rows.
+     */
+    @Mock
+    private TagService tagService;
+
+    /**
+     * Mock trending service.
+     */
+    @Mock
+    private TrendingService trendingService;
+
+    /**
+     * Mock counter service.
+     */
+    @Mock
+    private ResourceCounterService counterService;
+
+    /**
+     * Mock reference counting of stored content.
+     */
+    @Mock
+    private BlobService blobService;
+
+    /**
+     * Mock storage backend receiving new content.
+     */
+    @Mock
+    private StorageBackend storage;
+
+    /**
+     * Mock queue of objects to delete.
+     */
+    @Mock
+    private DeletionQueueService deletionQueue;
+
+    /**
+     * Mock key layout for new objects.
+     */
+    @Mock
+    private KeyLayout keyLayout;
 
     /**
-     * Mock file for simulating file uploads.
+     * Mock publisher of stored-resource events.
      */
     @Mock
-    private MultipartFile file;
+    private ApplicationEventPublisher eventPublisher;
 
     /**
      * The instance of {@link ResourceService} to be tested, injected with mocks.
@@ -60,105 +129,166 @@ class ResourceServiceTest {
     @InjectMocks
     private ResourceService resourceService;
 
-    /**
-     * AWS S3 bucket name, injected from application properties.
-     */
-    @Value("${aws.s3.bucketName}")
-    private String bucketName;
+    private final MockMultipartFile file =
+            new MockMultipartFile("file", "notes.pdf", "application/pdf", new byte[]{1, 2, 3});
+    private User owner;
 
     /**
-     * Initializes mocks before each test.
+     * Initializes mocks and an uploader before each test; saved resources get ID 1.
      */
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        owner = new User("alice", "alice@example.com", "secret");
+        ReflectionTestUtils.setField(owner, "id", 10L);
+        when(keyLayout.newKey(anyString(), anyString())).thenAnswer(i -> i.getArgument(0) + "/" + i.getArgument(1));
+        when(blobService.register(anyString(), anyString(), anyLong())).thenAnswer(i -> i.getArgument(1));
+        when(resourceRepository.save(any(Resource.class))).thenAnswer(i -> {
+            Resource saved = i.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
     }
 
     /**
-     * Tests the {@code uploadResource} method for successful file upload and database save.
-     * <p>
-     * This test simulates a file upload to S3 and verifies that the resource metadata is saved
-     * in the database. It checks interactions with both S3 and the database repository.
-     * </p>
+     * Tests that new content is written once, registered and saved with pending derivatives.
      *
-     * @throws IOException if an error occurs during the file upload process.
+     * @throws IOException if an error occurs during the upload process.
      */
     @Test
     void testUploadResource() throws IOException {
-        
-        when(file.getOriginalFilename()).thenReturn("test-file.pdf");
-        when(file.getContentType()).thenReturn("application/pdf");
-        when(file.getSize()).thenReturn(1024L);
-        when(file.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[1024]));
+        Resource saved = resourceService.uploadResource(file, " Notes ", "desc", "Math, Calculus", owner);
 
-        Resource resource = new Resource();
-        resource.setId(1L);
-        resource.setTitle("Test Title");
-        resource.setDescription("Test Description");
-        resource.setTags("Test Tag");
-        resource.setUploadDate(new Date());
-        resource.setS3Url("https://" + bucketName + ".s3.amazonaws.com/test-file.pdf");
+        verify(storage).write(startsWith("blobs/"), eq("application/pdf"), any(InputStream.class), eq(Long.MAX_VALUE));
+        assertEquals("Notes", saved.getTitle());
+        assertEquals("math,calculus", saved.getTags());
+        assertEquals(DerivativeStatus.PENDING, saved.getThumbnailStatus());
+        assertEquals(DerivativeStatus.PENDING, saved.getTextStatus());
+        verify(eventPublisher).publishEvent(new ResourceStoredEvent(1L));
+    }
+
+    /**
+     * Tests that content already stored is shared instead of written again.
+     *
+     * @throws IOException if an error occurs during the upload process.
+     */
+    @Test
+    void testUploadResource_DuplicateContent() throws IOException {
+        when(blobService.acquire(anyString())).thenReturn(Optional.of("blobs/existing"));
 
-        when(resourceRepository.save(any(Resource.class))).thenReturn(resource);
+        Resource saved = resourceService.uploadResource(file, "Notes", "desc", "math", owner);
 
-        // Act
-        resourceService.uploadResource(file, "Test Title", "Test Description", "Test Tag");
+        verify(storage, never()).write(anyString(), anyString(), any(InputStream.class), anyLong());
+        assertEquals("blobs/existing", saved.getS3Key());
+    }
+
+    /**
+     * Tests that an object written while a concurrent upload of the same bytes
+     * registered first is queued for deletion and the registered one is shared.
+     *
+     * @throws IOException if an error occurs during the upload process.
+     */
+    @Test
+    void testUploadResource_LosesRegisterRace() throws IOException {
+        when(blobService.register(anyString(), anyString(), anyLong())).thenReturn("blobs/winner");
 
-        // Assert
-        verify(s3Client, times(1)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
-        verify(resourceRepository, times(1)).save(any(Resource.class));
+        Resource saved = resourceService.uploadResource(file, "Notes", "desc", "math", owner);
 
-        assertEquals(Long.valueOf(1L), resource.getId());
+        ArgumentCaptor<String> written = ArgumentCaptor.forClass(String.class);
+        verify(storage).write(written.capture(), anyString(), any(InputStream.class), anyLong());
+        verify(deletionQueue).enqueue(written.getValue());
+        assertEquals("blobs/winner", saved.getS3Key());
     }
 
     /**
-     * Tests the {@code getAllResources} method to ensure it retrieves all resources.
-     * <p>
-     * This test verifies that the service retrieves a list of resources from the repository
-     * and that the repository method is called once.
-     * </p>
+     * Tests that a failed save releases the blob reference the upload took and
+     * queues the object once nothing else references it.
      */
     @Test
-    public void testGetAllResources() {
-        
-        List<Resource> resources = new ArrayList<>();
-        resources.add(new Resource()); // Adding a single resource to match the expected result
-        when(resourceRepository.findAll()).thenReturn(resources);
-
-        // Act
-        List<Resource> result = resourceService.getAllResources();
-
-        // Assert
-        assertEquals(1, result.size());  // Expecting 1 item in the list
-        verify(resourceRepository, times(1)).findAll();
+    void testUploadResource_SaveFails() {
+        when(resourceRepository.save(any(Resource.class))).thenThrow(new IllegalStateException("connection lost"));
+        when(blobService.release(anyString())).thenReturn(Optional.of("blobs/written"));
+
+        assertThrows(IllegalStateException.class,
+                () -> resourceService.uploadResource(file, "Notes", "desc", "math", owner));
+
+        verify(blobService).release(anyString());
+        verify(deletionQueue).enqueue("blobs/written");
+        verify(resourceIndexer, never()).indexed(any());
     }
 
     /**
-     * Tests the {@code getResourceById} method for a successful resource retrieval by ID.
-     * <p>
-     * This test simulates fetching a resource by ID, verifies the returned resource's properties,
-     * and ensures that the repository method is called once.
-     * </p>
+     * Tests the {@code getResourceById} method for found and missing resources.
      */
     @Test
-    public void testGetResourceById_Success() {
-        
-        Long resourceId = 1L;
+    void testGetResourceById() {
         Resource resource = new Resource();
-        resource.setId(resourceId);
-        resource.setTitle("Sample Title");
-        resource.setDescription("Sample Description");
-        resource.setTags("tag1, tag2");
-        resource.setS3Url("https://bucket.s3.amazonaws.com/mockfile.pdf");
-        
-        when(resourceRepository.findById(resourceId)).thenReturn(Optional.of(resource));
-        
-        // Act
-        Resource result = resourceService.getResourceById(resourceId);
-        
-        // Assert
-        assertEquals(resourceId, result.getId());
-        assertEquals("Sample Title", result.getTitle());
-        verify(resourceRepository, times(1)).findById(resourceId);
+        resource.setId(1L);
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(resource));
+
+        assertEquals(resource, resourceService.getResourceById(1L));
+        assertThrows(ResourceNotFoundException.class, () -> resourceService.getResourceById(2L));
+    }
+
+    /**
+     * Tests that only the owner can delete, and that the last reference queues the object for deletion.
+     */
+    @Test
+    void testDeleteResource() {
+        Resource resource = new Resource();
+        resource.setId(1L);
+        resource.setUploader(owner);
+        resource.setS3Key("blobs/abc");
+        resource.setContentHash("abc");
+        resource.setUploadDate(LocalDateTime.now());
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(resource));
+        when(blobService.release("abc")).thenReturn(Optional.of("blobs/abc"));
+
+        User other = new User("bob", "bob@example.com", "secret");
+        ReflectionTestUtils.setField(other, "id", 11L);
+        assertThrows(SecurityException.class, () -> resourceService.deleteResource(1L, other));
+        verify(resourceRepository, never()).delete(any());
+
+        resourceService.deleteResource(1L, owner);
+        verify(resourceRepository).delete(resource);
+        ArgumentCaptor<String> deleted = ArgumentCaptor.forClass(String.class);
+        verify(deletionQueue).enqueue(deleted.capture());
+        assertEquals("blobs/abc", deleted.getValue());
+    }
+
+    /**
+     * Tests that content released, uploaded again and then drained from the
+     * deletion queue loses only the released generation: the re-upload gets a
+     * new key, so the queued delete cannot remove the live object.
+     *
+     * @throws IOException if an error occurs during the upload process.
+     */
+    @Test
+    void testReleaseReuploadAndDrain() throws IOException {
+        Resource first = resourceService.uploadResource(file, "Notes", "desc", "math", owner);
+        first.setUploader(owner);
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(first));
+        when(blobService.release(first.getContentHash())).thenReturn(Optional.of(first.getS3Key()));
+        resourceService.deleteResource(1L, owner);
+        ArgumentCaptor<String> queued = ArgumentCaptor.forClass(String.class);
+        verify(deletionQueue).enqueue(queued.capture());
+
+        Resource second = resourceService.uploadResource(file, "Notes again", "desc", "math", owner);
+        assertEquals(first.getContentHash(), second.getContentHash());
+        assertNotEquals(first.getS3Key(), second.getS3Key());
+
+        PendingDeleteRepository pendingDeleteRepository = mock(PendingDeleteRepository.class);
+        ContentBlobRepository blobRepository = mock(ContentBlobRepository.class);
+        String live = second.getS3Key();
+        when(blobRepository.findS3KeysIn(anyCollection()))
+                .thenAnswer(i -> ((Collection<String>) i.getArgument(0)).stream().filter(live::equals).toList());
+        when(storage.delete(anyCollection())).thenReturn(Map.of());
+        DeletionQueueService drainer =
+                new DeletionQueueService(pendingDeleteRepository, resourceRepository, blobRepository, storage);
+
+        drainer.deleteBatch(List.of(new PendingDelete(queued.getValue())));
+
+        verify(storage).delete(List.of(first.getS3Key()));
+        verify(storage, never()).delete(List.of(live));
     }
 }
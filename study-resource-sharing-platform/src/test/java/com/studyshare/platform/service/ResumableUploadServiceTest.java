@@ -0,0 +1,183 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.UploadSession;
+import com.studyshare.platform.model.User;
+import com.studyshare.platform.repository.UploadSessionRepository;
+import com.studyshare.platform.service.ResumableUploadService.OffsetMismatchException;
+import com.studyshare.platform.storage.StorageBackend;
+import com.studyshare.platform.storage.StoredObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link ResumableUploadService}.
+ * <p>
+ * This class tests that chunks map to multipart parts in order, that out-of-order
+ * chunks report the expected offset, and that completion saves the resource.
+ * </p>
+ *
+ * @see ResumableUploadService
+ * @since 1.0
+ */
+class ResumableUploadServiceTest {
+
+    private static final long CHUNK = 5;
+
+    /**
+     * Mock repository holding upload sessions.
+     */
+    @Mock
+    private UploadSessionRepository sessionRepository;
+
+    /**
+     * Mock storage backend receiving the multipart parts.
+     */
+    @Mock
+    private StorageBackend storage;
+
+    /**
+     * Mock resource service used for the final metadata save.
+     */
+    @Mock
+    private ResourceService resourceService;
+
+    /**
+     * The instance of {@link ResumableUploadService} to be tested, injected with mocks.
+     */
+    @InjectMocks
+    private ResumableUploadService uploadService;
+
+    private User owner;
+    private UploadSession session;
+
+    /**
+     * Initializes mocks and a 12-byte session with 5-byte chunks.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        owner = new User();
+        owner.setId(7L);
+
+        session = new UploadSession();
+        session.setId("s1");
+        session.setUploaderId(7L);
+        session.setTitle("Notes");
+        session.setTags("math");
+        session.setFileName("notes.pdf");
+        session.setFileType("application/pdf");
+        session.setFileSize(12);
+        session.setChunkSize(CHUNK);
+        session.setS3Key("uploads/x.pdf");
+        session.setS3UploadId("u1");
+
+        when(sessionRepository.findById("s1")).thenReturn(Optional.of(session));
+        when(sessionRepository.save(any(UploadSession.class))).thenAnswer(i -> i.getArgument(0));
+        when(sessionRepository.claim("s1")).thenReturn(1);
+        when(storage.writePart(anyString(), anyString(), anyInt(), any(InputStream.class), anyLong()))
+                .thenAnswer(i -> "etag-" + i.getArgument(2));
+    }
+
+    /**
+     * Tests that each chunk becomes the next numbered part and advances the offset.
+     */
+    @Test
+    void testChunksBecomeParts() throws IOException {
+        uploadService.appendChunk("s1", 0, chunk(5), 5, owner);
+        uploadService.appendChunk("s1", 5, chunk(5), 5, owner);
+        UploadSession result = uploadService.appendChunk("s1", 10, chunk(2), 2, owner);
+
+        assertEquals(12, result.getReceivedBytes());
+        assertTrue(result.isComplete());
+        assertEquals(List.of(1, 2, 3), result.getParts().stream().map(UploadSession.UploadPart::getPartNumber).toList());
+        verify(storage).writePart(eq("uploads/x.pdf"), eq("u1"), eq(3), any(InputStream.class), eq(2L));
+    }
+
+    /**
+     * Tests that a chunk at the wrong offset is rejected with the offset to resume from.
+     */
+    @Test
+    void testOffsetMismatch() throws IOException {
+        uploadService.appendChunk("s1", 0, chunk(5), 5, owner);
+
+        OffsetMismatchException e = assertThrows(OffsetMismatchException.class,
+                () -> uploadService.appendChunk("s1", 0, chunk(5), 5, owner));
+        assertEquals(5, e.getExpectedOffset());
+        verify(storage, times(1)).writePart(anyString(), anyString(), anyInt(), any(InputStream.class), anyLong());
+    }
+
+    /**
+     * Tests that a short chunk other than the last one is rejected.
+     */
+    @Test
+    void testShortChunkRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> uploadService.appendChunk("s1", 0, chunk(3), 3, owner));
+    }
+
+    /**
+     * Tests that only the session owner can access it.
+     */
+    @Test
+    void testOtherUserForbidden() {
+        User other = new User();
+        other.setId(8L);
+        assertThrows(SecurityException.class, () -> uploadService.get("s1", other));
+    }
+
+    /**
+     * Tests that completion requires every byte, then assembles the parts and saves metadata.
+     */
+    @Test
+    void testComplete() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> uploadService.complete("s1", owner));
+
+        uploadService.appendChunk("s1", 0, chunk(5), 5, owner);
+        uploadService.appendChunk("s1", 5, chunk(5), 5, owner);
+        uploadService.appendChunk("s1", 10, chunk(2), 2, owner);
+        uploadService.complete("s1", owner);
+
+        verify(storage).completeMultipart("uploads/x.pdf", "u1", List.of("etag-1", "etag-2", "etag-3"));
+        verify(resourceService).saveMetadata(new StoredObject("uploads/x.pdf", "notes.pdf", "application/pdf", 12),
+                "Notes", null, "math", owner);
+        verify(sessionRepository).delete(session);
+    }
+
+    /**
+     * Tests that a complete racing another one for the same session creates no
+     * second resource, and that a failed complete can be retried.
+     */
+    @Test
+    void testCompleteClaimsSession() throws IOException {
+        uploadService.appendChunk("s1", 0, chunk(5), 5, owner);
+        uploadService.appendChunk("s1", 5, chunk(5), 5, owner);
+        uploadService.appendChunk("s1", 10, chunk(2), 2, owner);
+
+        when(sessionRepository.claim("s1")).thenReturn(0);
+        assertThrows(IllegalArgumentException.class, () -> uploadService.complete("s1", owner));
+        verify(storage, never()).completeMultipart(anyString(), anyString(), any());
+
+        when(sessionRepository.claim("s1")).thenReturn(1);
+        doThrow(new IOException("S3 unavailable")).when(storage).completeMultipart(anyString(), anyString(), any());
+        assertThrows(IOException.class, () -> uploadService.complete("s1", owner));
+        verify(sessionRepository).unclaim("s1");
+        verify(resourceService, never()).saveMetadata(any(), any(), any(), any(), any());
+    }
+
+    private static InputStream chunk(int length) {
+        return new ByteArrayInputStream(new byte[length]);
+    }
+}
@@ -0,0 +1,52 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.search.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit test class for {@link SuggestService}.
+ * <p>
+ * This class tests that removing a resource takes back only what it actually
+ * added, so terms it was refused keep the weight of the resources that hold them.
+ * </p>
+ *
+ * @see SuggestService
+ * @since 1.0
+ */
+class SuggestServiceTest {
+
+    /**
+     * Tests that a term refused while the trie was full is not charged to the
+     * refused resource when another resource later adds it.
+     */
+    @Test
+    void testRemoveTakesBackOnlyContributions() {
+        SuggestService suggestService = new SuggestService(2);
+        Resource first = resource(1L, "alpha", "beta", 0);
+        Resource second = resource(2L, "gamma", "beta", 0);
+        suggestService.add(first);
+        suggestService.add(second);
+
+        suggestService.remove(first);
+        Resource third = resource(3L, "gamma", "delta", 49);
+        suggestService.add(third);
+        suggestService.remove(second);
+
+        assertEquals(List.of(new Suggestion("gamma", 50)), suggestService.suggest("gam", 5));
+        assertEquals(List.of(), suggestService.suggest("beta", 5));
+    }
+
+    private static Resource resource(Long id, String title, String tags, int downloads) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        resource.setTitle(title);
+        resource.setTags(tags);
+        resource.setDownloadCount(downloads);
+        return resource;
+    }
+}
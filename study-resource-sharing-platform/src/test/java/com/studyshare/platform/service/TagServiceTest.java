@@ -0,0 +1,57 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.Tag;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.repository.TagRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TagService}.
+ * <p>
+ * This class tests that missing tags are created in their own transaction, so
+ * a concurrent insert of the same name cannot spoil the caller's transaction.
+ * </p>
+ *
+ * @see TagService
+ * @since 1.0
+ */
+class TagServiceTest {
+
+    /**
+     * Tests that losing the insert race rolls back only the nested insert and
+     * returns the row the other writer committed.
+     */
+    @Test
+    void testResolveSurvivesConcurrentInsert() {
+        TagRepository tagRepository = mock(TagRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(i -> new SimpleTransactionStatus());
+        Tag winner = new Tag("calculus");
+        when(tagRepository.findByNameIn(List.of("calculus"))).thenReturn(List.of());
+        when(tagRepository.saveAndFlush(any(Tag.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(tagRepository.findByName("calculus")).thenReturn(Optional.of(winner));
+        TagService tagService = new TagService(tagRepository, mock(ResourceRepository.class), transactionManager);
+
+        assertEquals(Set.of(winner), tagService.resolve(List.of("calculus")));
+
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(2)).getTransaction(definitions.capture());
+        definitions.getAllValues().forEach(definition ->
+                assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getPropagationBehavior()));
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+}
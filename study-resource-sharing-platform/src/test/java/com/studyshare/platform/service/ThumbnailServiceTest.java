@@ -0,0 +1,179 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.DerivativeStatus;
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.repository.ResourceRepository;
+import com.studyshare.platform.storage.ObjectContent;
+import com.studyshare.platform.storage.ObjectInfo;
+import com.studyshare.platform.storage.StorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link ThumbnailService}.
+ * <p>
+ * This class tests that images are scaled to every thumbnail width and
+ * recorded as ready, that shared content reuses existing thumbnails, that
+ * other file types are marked unsupported, that
+ * unreadable files are marked failed, and the thumbnail key naming.
+ * </p>
+ *
+ * @see ThumbnailService
+ * @since 1.0
+ */
+class ThumbnailServiceTest {
+
+    /**
+     * Mock repository holding the resource under test.
+     */
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    /**
+     * Mock storage serving the original and receiving the thumbnails.
+     */
+    @Mock
+    private StorageBackend storage;
+
+    /**
+     * Mock executor; generation is invoked directly.
+     */
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    private ThumbnailService thumbnailService;
+
+    /**
+     * Initializes mocks and the service.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        thumbnailService = new ThumbnailService(resourceRepository, storage, executor);
+    }
+
+    /**
+     * Tests that an image is written at each width and marked ready.
+     */
+    @Test
+    void testGenerateImageThumbnails() throws IOException {
+        BufferedImage image = new BufferedImage(1200, 900, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        Resource resource = resource("image/png", png.toByteArray());
+
+        thumbnailService.generate(1L);
+
+        ArgumentCaptor<InputStream> body = ArgumentCaptor.forClass(InputStream.class);
+        verify(storage).write(eq("uploads/a.png.thumb-640.jpg"), eq("image/jpeg"), body.capture(), anyLong());
+        BufferedImage thumbnail = ImageIO.read(body.getValue());
+        assertEquals(640, thumbnail.getWidth());
+        assertEquals(480, thumbnail.getHeight());
+        verify(storage).write(eq("uploads/a.png.thumb-320.jpg"), eq("image/jpeg"), any(), anyLong());
+        verify(resourceRepository).updateThumbnails(1L, DerivativeStatus.READY, "320,640");
+        resource.setThumbnailWidths("320,640");
+        assertEquals(2, ThumbnailService.thumbnailKeys(resource).size());
+    }
+
+    /**
+     * Tests that content whose thumbnails already exist is marked ready
+     * without downloading or rendering it again.
+     */
+    @Test
+    void testGenerateReusesSharedThumbnails() throws IOException {
+        resource("image/png", new byte[10]);
+        when(storage.stat(startsWith("uploads/a.png.thumb-")))
+                .thenAnswer(i -> Optional.of(new ObjectInfo(i.getArgument(0), 1, Instant.now(), null, "e")));
+
+        thumbnailService.generate(1L);
+
+        verify(storage, never()).read(anyString(), anyLong(), anyLong());
+        verify(storage, never()).write(anyString(), anyString(), any(), anyLong());
+        verify(resourceRepository).updateThumbnails(1L, DerivativeStatus.READY, "320,640");
+    }
+
+    /**
+     * Tests that documents other than PDFs and images are not downloaded.
+     */
+    @Test
+    void testGenerateUnsupportedType() throws IOException {
+        resource("application/msword", new byte[10]);
+
+        thumbnailService.generate(1L);
+
+        verify(storage, never()).read(anyString(), anyLong(), anyLong());
+        verify(resourceRepository).updateThumbnails(1L, DerivativeStatus.UNSUPPORTED, null);
+    }
+
+    /**
+     * Tests that an unreadable image is marked failed.
+     */
+    @Test
+    void testGenerateCorruptImage() throws IOException {
+        resource("image/png", "not an image".getBytes());
+
+        thumbnailService.generate(1L);
+
+        verify(storage, never()).write(anyString(), anyString(), any(), anyLong());
+        verify(resourceRepository).updateThumbnails(1L, DerivativeStatus.FAILED, null);
+    }
+
+    /**
+     * Tests mapping thumbnail keys back to their original.
+     */
+    @Test
+    void testOriginalKey() {
+        String key = ThumbnailService.thumbnailKey("uploads/a.pdf", 320);
+
+        assertEquals("uploads/a.pdf", ThumbnailService.originalKey(key));
+        assertNull(ThumbnailService.originalKey("uploads/a.pdf"));
+    }
+
+    private Resource resource(String fileType, byte[] bytes) throws IOException {
+        Resource resource = new Resource();
+        resource.setId(1L);
+        resource.setFileType(fileType);
+        resource.setFileSize((long) bytes.length);
+        resource.setS3Key("uploads/a.png");
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(resource));
+        when(storage.read("uploads/a.png", 0, bytes.length)).thenReturn(new ObjectContent() {
+            @Override
+            public long offset() {
+                return 0;
+            }
+
+            @Override
+            public long length() {
+                return bytes.length;
+            }
+
+            @Override
+            public void transferTo(OutputStream out) throws IOException {
+                new ByteArrayInputStream(bytes).transferTo(out);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        return resource;
+    }
+}
@@ -0,0 +1,127 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TrendingService}.
+ * <p>
+ * This class tests that scores halve every half-life, that recent activity
+ * overtakes older activity, that the ranking pages after a cursor and that
+ * fully decayed entries are pruned.
+ * </p>
+ *
+ * @see TrendingService
+ * @since 1.0
+ */
+class TrendingServiceTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    /**
+     * Mock repository; only used to load cards for a page.
+     */
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    /**
+     * Mock clock advanced by the tests.
+     */
+    @Mock
+    private Clock clock;
+
+    private TrendingService trendingService;
+
+    /**
+     * Initializes mocks and a service with a one-hour half-life.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(clock.instant()).thenReturn(START);
+        trendingService = new TrendingService(resourceRepository, Duration.ofHours(1), clock);
+    }
+
+    /**
+     * Tests that a score halves after one half-life.
+     */
+    @Test
+    void testDecay() {
+        trendingService.recordDownload(1L);
+        assertEquals(TrendingService.DOWNLOAD_WEIGHT, trendingService.score(1L), 1e-9);
+
+        advance(Duration.ofHours(1));
+        assertEquals(TrendingService.DOWNLOAD_WEIGHT / 2, trendingService.score(1L), 1e-9);
+    }
+
+    /**
+     * Tests that fresh views overtake older downloads and that pages continue after the cursor.
+     */
+    @Test
+    void testRankingAndPaging() {
+        trendingService.recordDownload(1L);
+        trendingService.recordDownload(1L);
+        trendingService.recordView(2L);
+        trendingService.add(resource(3L, 50, 0, START.minus(Duration.ofHours(10))));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(trendingService.top(null, 10)));
+
+        advance(Duration.ofHours(3));
+        trendingService.recordView(2L);
+        trendingService.recordView(2L);
+
+        List<TrendingService.Ranked> first = trendingService.top(null, 2);
+        assertEquals(List.of(2L, 1L), ids(first));
+        assertEquals(List.of(3L), ids(trendingService.top(first.get(1), 2)));
+    }
+
+    /**
+     * Tests that deleted and fully decayed resources leave the ranking and its total.
+     */
+    @Test
+    void testRemoveAndPrune() {
+        trendingService.recordView(1L);
+        trendingService.recordView(2L);
+        trendingService.remove(resource(2L, 0, 0, START));
+        assertEquals(List.of(1L), ids(trendingService.top(null, 10)));
+        assertEquals(1, trendingService.trending(null, 10).totalItems());
+
+        advance(Duration.ofHours(8));
+        trendingService.recordView(3L);
+        trendingService.prune();
+        assertEquals(List.of(3L), ids(trendingService.top(null, 10)));
+        assertEquals(1, trendingService.trending(null, 10).totalItems());
+    }
+
+    private void advance(Duration by) {
+        Instant now = clock.instant().plus(by);
+        when(clock.instant()).thenReturn(now);
+    }
+
+    private static Resource resource(long id, int views, int downloads, Instant uploaded) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        resource.setViewCount(views);
+        resource.setDownloadCount(downloads);
+        resource.setUploadDate(LocalDateTime.ofInstant(uploaded, ZoneId.systemDefault()));
+        return resource;
+    }
+
+    private static List<Long> ids(List<TrendingService.Ranked> ranked) {
+        return ranked.stream().map(TrendingService.Ranked::id).toList();
+    }
+}
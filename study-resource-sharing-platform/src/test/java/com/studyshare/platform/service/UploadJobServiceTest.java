@@ -0,0 +1,164 @@
+package com.studyshare.platform.service;
+
+import com.studyshare.platform.model.Resource;
+import com.studyshare.platform.model.User;
+import com.studyshare.platform.storage.StoredObject;
+import org.springframework.core.io.InputStreamSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link UploadJobService}.
+ * <p>
+ * This class tests that accepted uploads are processed by the worker pool,
+ * report their outcome, and leave no spooled files behind.
+ * </p>
+ *
+ * @see UploadJobService
+ * @since 1.0
+ */
+class UploadJobServiceTest {
+
+    /**
+     * Mock resource service used for validation and the metadata save.
+     */
+    @Mock
+    private ResourceService resourceService;
+
+    /**
+     * Mock worker pool; runs tasks inline unless a test rejects them.
+     */
+    @Mock
+    private ThreadPoolTaskExecutor uploadExecutor;
+
+    /**
+     * The instance of {@link UploadJobService} to be tested, injected with mocks.
+     */
+    @InjectMocks
+    private UploadJobService uploadJobService;
+
+    @TempDir
+    Path spoolDir;
+
+    private User user;
+    private MockMultipartFile file;
+
+    /**
+     * Initializes mocks, the spool directory and a small PDF upload.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(uploadJobService, "spoolDir", spoolDir.toString());
+        ReflectionTestUtils.setField(uploadJobService, "spoolRetention", Duration.ofHours(6));
+        user = new User();
+        user.setId(1L);
+        file = new MockMultipartFile("file", "notes.pdf", "application/pdf", new byte[]{1, 2, 3});
+    }
+
+    /**
+     * Tests that a processed upload is marked done with the new resource id.
+     */
+    @Test
+    void testSubmitProcessesInBackground() throws Exception {
+        doAnswer(i -> {
+            ((Runnable) i.getArgument(0)).run();
+            return null;
+        }).when(uploadExecutor).execute(any(Runnable.class));
+        when(resourceService.storeContent(any(InputStreamSource.class), eq("notes.pdf"), eq("application/pdf"), eq(3L)))
+                .thenAnswer(i -> {
+                    try (InputStream in = ((InputStreamSource) i.getArgument(0)).getInputStream()) {
+                        in.readAllBytes();
+                    }
+                    return new StoredObject("blobs/abc", "notes.pdf", "application/pdf", 3, "abc");
+                });
+        Resource saved = new Resource();
+        saved.setId(42L);
+        when(resourceService.saveMetadata(any(), eq("Notes"), any(), eq("math"), eq(user))).thenReturn(saved);
+
+        UploadJob job = uploadJobService.submit(file, "Notes", "", "math", user);
+
+        assertEquals(UploadJob.Status.DONE, job.getStatus());
+        assertEquals(42L, job.getResourceId());
+        assertEquals(100, job.getPercent());
+        assertSame(job, uploadJobService.getJob(job.getId(), user));
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * Tests that a full worker queue refuses the upload and cleans up.
+     */
+    @Test
+    void testSubmitRejectedWhenBusy() throws Exception {
+        doThrow(new TaskRejectedException("full")).when(uploadExecutor).execute(any(Runnable.class));
+
+        assertThrows(TaskRejectedException.class, () -> uploadJobService.submit(file, "Notes", "", "math", user));
+
+        assertTrue(uploadJobService.getJobsByUser(user).isEmpty());
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * Tests that a full job table makes room by forgetting finished jobs, and
+     * refuses uploads only while every tracked job is still running.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSubmitEvictsFinishedJobsAtCapacity() throws Exception {
+        Map<String, UploadJob> jobs = (Map<String, UploadJob>) ReflectionTestUtils.getField(uploadJobService, "jobs");
+        for (int i = 0; i < 10_000; i++) {
+            UploadJob job = new UploadJob("running-" + i, 2L, "Old", 1);
+            jobs.put(job.getId(), job);
+        }
+        assertThrows(TaskRejectedException.class, () -> uploadJobService.submit(file, "Notes", "", "math", user));
+
+        jobs.values().forEach(job -> job.failed("gone"));
+        uploadJobService.submit(file, "Notes", "", "math", user);
+
+        assertEquals(9_001, jobs.size());
+        assertEquals(1, uploadJobService.getJobsByUser(user).size());
+    }
+
+    /**
+     * Tests that the sweep deletes old spool files left by a crash but keeps
+     * recent ones and files that are not spool files.
+     */
+    @Test
+    void testSweepSpoolDeletesStaleFiles() throws Exception {
+        Path stale = Files.createFile(spoolDir.resolve("upload-1.part"));
+        Files.setLastModifiedTime(stale, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+        Path recent = Files.createFile(spoolDir.resolve("upload-2.part"));
+        Path other = Files.createFile(spoolDir.resolve("notes.txt"));
+        Files.setLastModifiedTime(other, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+
+        uploadJobService.sweepSpool();
+
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.exists(recent));
+        assertTrue(Files.exists(other));
+    }
+}
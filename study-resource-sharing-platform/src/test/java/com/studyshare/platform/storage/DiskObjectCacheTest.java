@@ -0,0 +1,167 @@
+package com.studyshare.platform.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link DiskObjectCache}.
+ * <p>
+ * This class tests that concurrent misses share one backend read, that hits
+ * are served from disk, that the byte budget evicts the least recently used
+ * object without breaking open reads and that oversized objects bypass the cache.
+ * </p>
+ *
+ * @see DiskObjectCache
+ * @since 1.0
+ */
+class DiskObjectCacheTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Mock storage backend serving ten-byte objects.
+     */
+    @Mock
+    private StorageBackend storage;
+
+    private DiskObjectCache cache;
+
+    /**
+     * Initializes mocks and a cache holding at most two ten-byte objects.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        when(storage.read(anyString(), anyLong(), anyLong())).thenAnswer(i -> stored(i.getArgument(1), i.getArgument(2)));
+        cache = new DiskObjectCache(storage, dir, DataSize.ofBytes(25), DataSize.ofBytes(10));
+    }
+
+    /**
+     * Tests that many concurrent misses for one key cause a single backend read.
+     */
+    @Test
+    void testSingleFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(storage.read(eq("blobs/a"), eq(0L), eq(10L))).thenAnswer(i -> {
+            release.await();
+            return stored(0, 10);
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> reads = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                reads.add(pool.submit(() -> read("blobs/a", 2, 3)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> read : reads) {
+                assertEquals("234", read.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(storage, times(1)).read("blobs/a", 0, 10);
+    }
+
+    /**
+     * Tests that the least recently used object is evicted once the budget is exceeded.
+     */
+    @Test
+    void testEvictsLeastRecentlyUsed() throws IOException {
+        read("blobs/a", 0, 10);
+        read("blobs/b", 0, 10);
+        read("blobs/a", 0, 10);
+        read("blobs/c", 0, 10);
+        assertEquals(20, cache.size());
+
+        read("blobs/a", 0, 10);
+        read("blobs/b", 0, 10);
+
+        verify(storage, times(1)).read("blobs/a", 0, 10);
+        verify(storage, times(2)).read("blobs/b", 0, 10);
+    }
+
+    /**
+     * Tests that a cached object stays readable after eviction unlinks its
+     * file, and is never offered to the container for sendfile.
+     */
+    @Test
+    void testCachedContentSurvivesEviction() throws IOException {
+        try (ObjectContent content = cache.read("blobs/a", 10, 0, 10)) {
+            assertTrue(content.localFile().isEmpty());
+            read("blobs/b", 0, 10);
+            read("blobs/c", 0, 10);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            content.transferTo(out);
+            assertEquals(10, out.size());
+        }
+    }
+
+    /**
+     * Tests that objects larger than the per-object limit are read straight from storage.
+     */
+    @Test
+    void testLargeObjectBypassesCache() throws IOException {
+        try (ObjectContent content = cache.read("blobs/big", 100, 5, 3)) {
+            assertTrue(content.localFile().isEmpty());
+        }
+        verify(storage).read("blobs/big", 5, 3);
+        assertEquals(0, cache.size());
+    }
+
+    private String read(String key, long offset, long length) throws IOException {
+        try (ObjectContent content = cache.read(key, 10, offset, length)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            content.transferTo(out);
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static ObjectContent stored(long offset, long length) {
+        return new ObjectContent() {
+            @Override
+            public long offset() {
+                return offset;
+            }
+
+            @Override
+            public long length() {
+                return length;
+            }
+
+            @Override
+            public void transferTo(OutputStream out) throws IOException {
+                out.write("0123456789".getBytes(StandardCharsets.UTF_8), (int) offset, (int) Math.min(length, 10));
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.studyshare.platform.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link KeyHashSet}.
+ * <p>
+ * This class tests membership after sealing, duplicate handling and the
+ * build-then-query lifecycle.
+ * </p>
+ *
+ * @see KeyHashSet
+ * @since 1.0
+ */
+class KeyHashSetTest {
+
+    /**
+     * Tests that added keys are found and others are not.
+     */
+    @Test
+    void testContains() {
+        KeyHashSet set = new KeyHashSet();
+        for (int i = 0; i < 5000; i++) {
+            set.add("uploads/" + i + ".pdf");
+        }
+        set.add("uploads/1.pdf");
+        set.seal();
+
+        assertEquals(5000, set.size());
+        assertTrue(set.contains("uploads/4999.pdf"));
+        assertFalse(set.contains("uploads/5000.pdf"));
+        assertFalse(set.contains("uploads/1.PDF"));
+    }
+
+    /**
+     * Tests that the set must be sealed before queries and not modified afterwards.
+     */
+    @Test
+    void testLifecycle() {
+        KeyHashSet set = new KeyHashSet();
+        set.add("a");
+        assertThrows(IllegalStateException.class, () -> set.contains("a"));
+        set.seal();
+        assertThrows(IllegalStateException.class, () -> set.add("b"));
+    }
+}
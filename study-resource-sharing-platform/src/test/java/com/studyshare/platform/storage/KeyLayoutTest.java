@@ -0,0 +1,89 @@
+package com.studyshare.platform.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link KeyLayout}.
+ * <p>
+ * This class tests the legacy flat layout, hashed prefixes, bucket markers and
+ * that keys written under one configuration still resolve under another.
+ * </p>
+ *
+ * @see KeyLayout
+ * @since 1.0
+ */
+class KeyLayoutTest {
+
+    /**
+     * Tests that the default configuration keeps the flat legacy keys.
+     */
+    @Test
+    void testFlatLayout() {
+        KeyLayout layout = new KeyLayout("main", List.of(), 1);
+
+        assertEquals("uploads/x.pdf", layout.newKey("uploads", "x.pdf"));
+        assertEquals("main", layout.bucketFor("uploads/x.pdf"));
+        assertEquals(256, layout.partitions().size());
+        assertEquals(List.of(""), layout.roots());
+    }
+
+    /**
+     * Tests that hashed prefixes are deterministic and spread keys over partitions.
+     */
+    @Test
+    void testHashedPrefixes() {
+        KeyLayout layout = new KeyLayout("main", List.of(), 16);
+        Set<String> prefixes = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            String key = layout.newKey("uploads", i + ".pdf");
+            assertTrue(key.matches("[0-9a-f]{2}/uploads/" + i + "\\.pdf"), key);
+            prefixes.add(key.substring(0, 3));
+        }
+
+        assertEquals(16, prefixes.size());
+        assertEquals(layout.newKey("blobs", "abc"), layout.newKey("blobs", "abc"));
+        assertEquals(256, layout.partitions().size());
+        assertEquals("main", layout.bucketFor(layout.newKey("uploads", "x.pdf")));
+    }
+
+    /**
+     * Tests that keys carry their bucket and legacy keys stay in the default bucket.
+     */
+    @Test
+    void testMultipleBuckets() {
+        KeyLayout layout = new KeyLayout("main", List.of("b0", "b1", "b2"), 4);
+        Set<String> buckets = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            String key = layout.newKey("uploads", i + ".pdf");
+            assertTrue(key.matches("bk[0-2]/0[0-3]/uploads/.*"), key);
+            buckets.add(layout.bucketFor(key));
+        }
+
+        assertEquals(Set.of("b0", "b1", "b2"), buckets);
+        assertEquals("main", layout.bucketFor("uploads/old.pdf"));
+        assertEquals("main", layout.bucketFor("0a/uploads/x.pdf"));
+        assertEquals(List.of("", "bk0/", "bk1/", "bk2/"), layout.roots());
+        assertEquals(4 * 256, layout.partitions().size());
+        assertTrue(layout.partitions().contains(new KeyLayout.Partition("b2", "bk2/ff/")));
+        assertTrue(layout.partitions().contains(new KeyLayout.Partition("main", "0a/")));
+
+        KeyLayout shrunk = new KeyLayout("main", List.of("b0", "b1"), 1);
+        assertThrows(IllegalStateException.class, () -> shrunk.bucketFor("bk2/00/uploads/x.pdf"));
+        assertEquals("bk2/", shrunk.unconfiguredBucketMarkers().get(0));
+    }
+
+    /**
+     * Tests that a single bucket entry, which no key would ever use, is rejected.
+     */
+    @Test
+    void testSingleBucketRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyLayout("main", List.of("other"), 1));
+        assertEquals(0, new KeyLayout("main", List.of(" "), 1).bucketCount());
+    }
+}
@@ -0,0 +1,141 @@
+package com.studyshare.platform.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link LocalStorageBackend}.
+ * <p>
+ * This class tests that objects round-trip through the file system, that
+ * ranged reads expose the backing file, that multipart parts are assembled in
+ * order and that keys cannot escape the storage root.
+ * </p>
+ *
+ * @see LocalStorageBackend
+ * @since 1.0
+ */
+class LocalStorageBackendTest {
+
+    @TempDir
+    Path root;
+
+    private LocalStorageBackend storage;
+
+    /**
+     * Creates a backend rooted in a fresh temporary directory.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = new LocalStorageBackend(root);
+    }
+
+    /**
+     * Tests that a written object can be read back in part, listed, stat'ed and deleted.
+     */
+    @Test
+    void testWriteReadDelete() throws IOException {
+        long size = storage.write("uploads/a.txt", "text/plain", stream("hello world"), 100);
+
+        assertEquals(11, size);
+        assertEquals(11, storage.stat("uploads/a.txt").orElseThrow().size());
+        try (ObjectContent content = storage.read("uploads/a.txt", 6, 5)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            content.transferTo(out);
+            assertEquals("world", out.toString(StandardCharsets.UTF_8));
+            assertEquals(root.resolve("uploads/a.txt"), content.localFile().orElseThrow());
+        }
+
+        List<String> listed = new ArrayList<>();
+        storage.list("uploads/", object -> listed.add(object.key()));
+        assertEquals(List.of("uploads/a.txt"), listed);
+
+        assertEquals(Map.of(), storage.delete(List.of("uploads/a.txt", "uploads/missing.txt")));
+        assertTrue(storage.stat("uploads/a.txt").isEmpty());
+    }
+
+    /**
+     * Tests that an oversized or empty stream leaves nothing behind.
+     */
+    @Test
+    void testWriteRejectsBadSize() throws IOException {
+        assertThrows(IllegalArgumentException.class,
+                () -> storage.write("uploads/big.txt", "text/plain", stream("too long"), 3));
+        assertThrows(IllegalArgumentException.class,
+                () -> storage.write("uploads/empty.txt", "text/plain", stream(""), 3));
+
+        assertTrue(storage.stat("uploads/big.txt").isEmpty());
+        try (var files = Files.list(root.resolve("uploads"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * Tests that parts written out of order are concatenated by part number.
+     */
+    @Test
+    void testMultipart() throws IOException {
+        String uploadId = storage.beginMultipart("blobs/m", "text/plain");
+        String second = storage.writePart("blobs/m", uploadId, 2, stream("world"), 5);
+        String first = storage.writePart("blobs/m", uploadId, 1, stream("hello "), 6);
+
+        storage.completeMultipart("blobs/m", uploadId, List.of(first, second));
+
+        assertEquals("hello world", Files.readString(root.resolve("blobs/m")));
+        assertFalse(Files.exists(root.resolve(".multipart").resolve(uploadId)));
+        List<String> listed = new ArrayList<>();
+        storage.list("", object -> listed.add(object.key()));
+        assertEquals(List.of("blobs/m"), listed);
+    }
+
+    /**
+     * Tests that a listing returns only the keys under its prefix, including
+     * a prefix that ends inside a file name or names no directory at all.
+     */
+    @Test
+    void testListPrefix() throws IOException {
+        storage.write("uploads/a1.txt", "text/plain", stream("a"), 10);
+        storage.write("uploads/b1.txt", "text/plain", stream("b"), 10);
+        storage.write("blobs/x", "text/plain", stream("x"), 10);
+
+        List<String> listed = new ArrayList<>();
+        storage.list("uploads/a", object -> listed.add(object.key()));
+        assertEquals(List.of("uploads/a1.txt"), listed);
+
+        listed.clear();
+        storage.list("uploads/", object -> listed.add(object.key()));
+        assertEquals(2, listed.size());
+
+        listed.clear();
+        storage.list("missing/x", object -> listed.add(object.key()));
+        assertTrue(listed.isEmpty());
+    }
+
+    /**
+     * Tests that keys resolving outside the root are rejected and signed URLs are unavailable.
+     */
+    @Test
+    void testKeysStayInsideRoot() {
+        assertThrows(IllegalArgumentException.class,
+                () -> storage.write("../escape.txt", "text/plain", stream("x"), 10));
+        assertTrue(storage.signedGetUrl("uploads/a.txt", Duration.ofMinutes(1)).isEmpty());
+    }
+
+    private static InputStream stream(String value) {
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,112 @@
+package com.studyshare.platform.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link S3StorageBackend}.
+ * <p>
+ * This class tests that deletes go out as one quiet DeleteObjects call per
+ * bucket with per-key errors reported back, and that a missing object stats
+ * as empty.
+ * </p>
+ *
+ * @see S3StorageBackend
+ * @since 1.0
+ */
+class S3StorageBackendTest {
+
+    /**
+     * Mock S3 client receiving the requests.
+     */
+    @Mock
+    private S3Client s3Client;
+
+    /**
+     * Mock presigner; not used by these tests.
+     */
+    @Mock
+    private S3Presigner s3Presigner;
+
+    /**
+     * Key layout placing every key in the default bucket.
+     */
+    @Spy
+    private KeyLayout keyLayout = new KeyLayout("bucket", List.of(), 1);
+
+    /**
+     * The instance of {@link S3StorageBackend} to be tested, injected with mocks.
+     */
+    @InjectMocks
+    private S3StorageBackend storage;
+
+    /**
+     * Initializes mocks before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Tests that keys go out in one call and per-key errors are returned.
+     */
+    @Test
+    void testDelete() {
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(DeleteObjectsResponse.builder()
+                .errors(S3Error.builder().key("uploads/b").code("InternalError").message("try again").build())
+                .build());
+
+        Map<String, String> errors = storage.delete(List.of("uploads/a", "uploads/b"));
+
+        ArgumentCaptor<DeleteObjectsRequest> request = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3Client).deleteObjects(request.capture());
+        assertEquals("bucket", request.getValue().bucket());
+        assertTrue(request.getValue().delete().quiet());
+        assertEquals(List.of("uploads/a", "uploads/b"), request.getValue().delete().objects().stream()
+                .map(ObjectIdentifier::key).sorted().toList());
+        assertEquals(Map.of("uploads/b", "InternalError: try again"), errors);
+    }
+
+    /**
+     * Tests that a failed call reports every key in it.
+     */
+    @Test
+    void testDeleteCallFails() {
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class)))
+                .thenThrow(S3Exception.builder().message("unavailable").build());
+
+        assertEquals(Map.of("uploads/a", "unavailable"), storage.delete(List.of("uploads/a")));
+    }
+
+    /**
+     * Tests that a 404 from HeadObject stats as a missing object.
+     */
+    @Test
+    void testStatMissing() {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().statusCode(404).build());
+
+        assertTrue(storage.stat("uploads/a").isEmpty());
+    }
+}